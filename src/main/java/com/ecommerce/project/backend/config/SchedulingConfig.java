@@ -0,0 +1,13 @@
+package com.ecommerce.project.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 주기 작업(@Scheduled) 활성화
+ * - 좋아요 수 write-behind 등
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -7,8 +7,11 @@ import com.ecommerce.project.backend.repository.CategoryRepository;
 import com.ecommerce.project.backend.service.AdminProductService;
 import com.ecommerce.project.backend.domain.Product;
 import com.ecommerce.project.backend.service.AiDescriptionService;
+import com.ecommerce.project.backend.service.JsonStreamWriter;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.Map;
 
 @RestController
@@ -20,16 +23,19 @@ public class AdminProductController {
     private final AdminProductService adminProductService;
     private final CategoryRepository categoryRepository;  // categoryRepository 추가\
     private final AiDescriptionService aiDescriptionService;
+    private final JsonStreamWriter jsonStreamWriter;
 
     // 생성자 주입
     public AdminProductController(
             AdminProductService adminProductService,
             CategoryRepository categoryRepository,
-            AiDescriptionService aiDescriptionService
+            AiDescriptionService aiDescriptionService,
+            JsonStreamWriter jsonStreamWriter
         ){
         this.adminProductService = adminProductService;
         this.categoryRepository = categoryRepository;
         this.aiDescriptionService = aiDescriptionService;
+        this.jsonStreamWriter = jsonStreamWriter;
     }
 
     /** 상품 등록 */
@@ -82,8 +88,14 @@ public class AdminProductController {
         return ResponseEntity.ok("deleted");
     }
 
+    /** 관리자 상품 목록 (stream=true 면 청크 단위로 바로 써 내려가는 스트리밍 응답) */
     @GetMapping("/list")
-    public ResponseEntity<?> getAdminProductList() {
+    public ResponseEntity<?> getAdminProductList(@RequestParam(defaultValue = "false") boolean stream) {
+        if (stream) {
+            StreamingResponseBody body = out ->
+                    jsonStreamWriter.writeArray(adminProductService.streamAdminProducts(), out);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
         return ResponseEntity.ok(adminProductService.getAdminProductList());
     }
 }
@@ -4,7 +4,9 @@ import com.ecommerce.project.backend.domain.Member;
 import com.ecommerce.project.backend.dto.LoginRequestDto;
 import com.ecommerce.project.backend.dto.MemberDto;
 import com.ecommerce.project.backend.repository.MemberRepository;
+import com.ecommerce.project.backend.service.CartService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -13,12 +15,14 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/auth")
 public class AuthController {
 
     private final MemberRepository memberRepository;
+    private final CartService cartService;
     private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
 
     /** 로그인 */
@@ -39,6 +43,15 @@ public class AuthController {
         HttpSession session = request.getSession(true);
         session.setAttribute("loginMemberId", member.getId());
 
+        // 비회원 때 담은 장바구니를 회원 장바구니로 합침
+        // 병합 실패로 로그인을 실패시키지는 않음: 병합은 한 트랜잭션이라 회원 장바구니는 그대로이고,
+        // 비회원 장바구니도 지우지 않으므로 잃는 것이 없음 → 오류 로그만 남김
+        try {
+            cartService.mergeGuestCart(member.getId(), session.getId());
+        } catch (RuntimeException e) {
+            log.error("비회원 장바구니 병합 실패 (memberId={})", member.getId(), e);
+        }
+
         // ⭐ 로그인 후 user 정보 반환
         return ResponseEntity.ok(MemberDto.fromEntity(member));
     }
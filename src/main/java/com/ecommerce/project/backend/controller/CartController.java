@@ -2,15 +2,18 @@ package com.ecommerce.project.backend.controller;
 
 import com.ecommerce.project.backend.domain.Member;
 import com.ecommerce.project.backend.dto.CartAddRequestDto;
+import com.ecommerce.project.backend.dto.CartBatchRequestDto;
 import com.ecommerce.project.backend.dto.CartChangeOptionDto;
 import com.ecommerce.project.backend.dto.CartUpdateQuantityDto;
 import com.ecommerce.project.backend.service.CartService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/cart")
@@ -18,20 +21,18 @@ public class CartController {
 
     private final CartService cartService;
 
-    /** 세션에서 로그인한 사용자 ID 꺼내기 */
-    private Long getLoginMemberId(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    /** 로그인 회원 ID (세션이 없거나 비회원이면 null) */
+    private Long findLoginMemberId(HttpSession session) {
+        return (session == null) ? null : (Long) session.getAttribute("loginMemberId");
+    }
 
+    /** 비회원 장바구니를 가진 세션 (세션이 없으면 비회원 장바구니도 없음) */
+    private HttpSession getGuestSession(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
         if (session == null) {
             throw new IllegalStateException("NO_SESSION");
         }
-
-        Long memberId = (Long) session.getAttribute("loginMemberId");
-        if (memberId == null) {
-            throw new IllegalStateException("NO_USER");
-        }
-
-        return memberId;
+        return session;
     }
 
     /** 공통 예외 처리 */
@@ -42,20 +43,21 @@ public class CartController {
         } catch (IllegalStateException e) {
             return ResponseEntity.status(401).body(e.getMessage()); // 로그인 안됨
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("장바구니 요청 실패", e);
             return ResponseEntity.status(400).body("BAD_REQUEST");
         }
     }
 
-    /** 장바구니 조회 */
+    /** 장바구니 조회 (비회원은 세션 장바구니, 세션이 없으면 새로 만들지 않고 빈 장바구니) */
     @GetMapping
     public ResponseEntity<?> getCart(HttpServletRequest request) {
-        try {
-            Long memberId = getLoginMemberId(request);
+        HttpSession session = request.getSession(false);
+        Long memberId = findLoginMemberId(session);
+
+        if (memberId != null) {
             return ResponseEntity.ok(cartService.getCart(memberId));
-        } catch (IllegalStateException e) {
-            return ResponseEntity.status(401).body("NO_SESSION");
         }
+        return ResponseEntity.ok(cartService.getGuestCart(session == null ? null : session.getId()));
     }
 
     /** 장바구니 추가 */
@@ -64,8 +66,15 @@ public class CartController {
                                        @RequestBody CartAddRequestDto req) {
 
         return handleAuth(() -> {
-            Long memberId = getLoginMemberId(request);
-            cartService.addToCart(memberId, req); // addToCart 호출
+            // 비회원도 담을 수 있음 → 이때만 세션 생성
+            HttpSession session = request.getSession(true);
+            Long memberId = findLoginMemberId(session);
+
+            if (memberId != null) {
+                cartService.addToCart(memberId, req); // addToCart 호출
+            } else {
+                cartService.addToGuestCart(session.getId(), req);
+            }
         });
     }
 
@@ -76,10 +85,16 @@ public class CartController {
             @RequestBody CartUpdateQuantityDto req) {
 
         try {
-            Long memberId = getLoginMemberId(request);
-            cartService.updateQuantity(memberId, req.getCartId(), req.getQuantity());
+            Long memberId = findLoginMemberId(request.getSession(false));
+            if (memberId != null) {
+                cartService.updateQuantity(memberId, req.getCartId(), req.getQuantity());
+            } else {
+                cartService.updateGuestQuantity(getGuestSession(request).getId(), req.getCartId(), req.getQuantity());
+            }
             return ResponseEntity.ok().build();
 
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(401).body(e.getMessage());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -95,19 +110,47 @@ public class CartController {
                                           @RequestBody CartChangeOptionDto req) {
 
         return handleAuth(() -> {
-            Long memberId = getLoginMemberId(request);
-            cartService.changeOption(memberId, req.getCartId(), req.getNewOptionValue()); // changeOption 호출
+            Long memberId = findLoginMemberId(request.getSession(false));
+            if (memberId != null) {
+                cartService.changeOption(memberId, req.getCartId(), req.getNewOptionId(), req.getNewOptionValue()); // changeOption 호출
+            } else {
+                cartService.changeGuestOption(getGuestSession(request).getId(), req.getCartId(), req.getNewOptionId(), req.getNewOptionValue());
+            }
         });
     }
 
+    /** 여러 줄 담기 / 수량 변경 / 삭제를 한 번에 (회원 전용) → 변경된 장바구니 반환 */
+    @PostMapping("/batch")
+    public ResponseEntity<?> applyBatch(HttpServletRequest request,
+                                        @RequestBody CartBatchRequestDto req) {
+
+        Long memberId = findLoginMemberId(request.getSession(false));
+        if (memberId == null) {
+            return ResponseEntity.status(401).body("NO_USER");
+        }
+
+        try {
+            return ResponseEntity.ok(cartService.applyBatch(memberId, req.getOperations()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("장바구니 일괄 변경 실패 (memberId={})", memberId, e);
+            return ResponseEntity.status(400).body("BAD_REQUEST");
+        }
+    }
+
     /** 장바구니 삭제 */
     @DeleteMapping("/{cartId}")
     public ResponseEntity<?> delete(HttpServletRequest request,
                                     @PathVariable Long cartId) {
 
         return handleAuth(() -> {
-            Long memberId = getLoginMemberId(request);
-            cartService.delete(cartId, memberId); // delete 호출
+            Long memberId = findLoginMemberId(request.getSession(false));
+            if (memberId != null) {
+                cartService.delete(cartId, memberId); // delete 호출
+            } else {
+                cartService.deleteGuest(getGuestSession(request).getId(), cartId);
+            }
         });
     }
 
@@ -117,7 +160,7 @@ public class CartController {
         Long memberId = (Long) session.getAttribute("loginMemberId");
 
         if (memberId == null) {
-            // 비회원은 세션ID로 삭제
+            // 비회원은 세션ID로 삭제 (메모리 장바구니)
             cartService.clearCartBySessionId(session.getId());
         } else {
             cartService.clearCartByMemberId(memberId);
@@ -1,8 +1,10 @@
 package com.ecommerce.project.backend.controller;
 
-import com.ecommerce.project.backend.dto.CategoryTreeResponseDto;
+import com.ecommerce.project.backend.service.CategoryCountService;
 import com.ecommerce.project.backend.service.CategoryTreeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -11,9 +13,21 @@ import org.springframework.web.bind.annotation.*;
 public class CategoryTreeController {
 
     private final CategoryTreeService categoryTreeService;
+    private final CategoryCountService categoryCountService;
 
+    /**
+     * 전체 트리 (미리 직렬화된 바이트 + ETag, If-None-Match 일치 시 304)
+     * - counts=true 면 카테고리 코드별 상품 수(하위 포함)를 같이 내려줌
+     */
     @GetMapping("/tree")
-    public CategoryTreeResponseDto getCategoryTree() {
-        return categoryTreeService.getCategoryTree();
+    public ResponseEntity<byte[]> getCategoryTree(
+            @RequestParam(defaultValue = "false") boolean counts,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        if (counts) {
+            return categoryCountService.getTreeWithCountsResponse().toResponse(ifNoneMatch, acceptEncoding);
+        }
+        return categoryTreeService.getCategoryTreeResponse().toResponse(ifNoneMatch, acceptEncoding);
     }
 }
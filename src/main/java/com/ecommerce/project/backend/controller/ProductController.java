@@ -3,11 +3,19 @@ package com.ecommerce.project.backend.controller;
 import com.ecommerce.project.backend.domain.Member;
 import com.ecommerce.project.backend.dto.ProductDto;
 import com.ecommerce.project.backend.dto.ProductDetailResponseDto;
+import com.ecommerce.project.backend.service.JsonStreamWriter;
+import com.ecommerce.project.backend.service.ProductFacetService;
+import com.ecommerce.project.backend.service.ProductLikeAnnotator;
+import com.ecommerce.project.backend.service.ProductListResponseCache;
 import com.ecommerce.project.backend.service.ProductService;
+import com.ecommerce.project.backend.service.ProductSuggestService;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,23 +25,68 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
-
-    /** 가벼운 상품 목록 조회 (메인 페이지 최적화 버전) */
+    private final ProductSuggestService productSuggestService;
+    private final ProductFacetService productFacetService;
+    private final ProductListResponseCache productListResponseCache;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final ProductLikeAnnotator productLikeAnnotator;
+
+    /**
+     * 가벼운 상품 목록 조회 (메인 페이지 최적화 버전)
+     * - after/size 가 있으면 커서 페이지로 응답
+     * - 전체 목록은 미리 직렬화/압축해 둔 바이트 + ETag (If-None-Match 일치 시 304)
+     */
     @GetMapping("/list")
-    public ResponseEntity<?> getProductListLite() {
-        return ResponseEntity.ok(productService.getProductListLite());
+    public ResponseEntity<?> getProductListLite(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        if (isPaged(after, size)) {
+            return ResponseEntity.ok(productService.getProductListLitePage(after, size));
+        }
+        return productListResponseCache.get().toResponse(ifNoneMatch, acceptEncoding);
     }
 
-    /** 전체 + 카테고리별 상품 조회 */
+    /**
+     * 전체 + 카테고리별 상품 조회 (after/size 가 있으면 커서 페이지)
+     * - stream=true 면 스냅샷 목록을 복사 없이 한 건씩 바로 써 내려감
+     * - sort 가 있으면 정렬된 커서 페이지 (price_asc / price_desc / newest / likes / sales)
+     * - 모든 응답에 좋아요 수 / 로그인 회원의 좋아요 여부를 채움
+     */
     @GetMapping
-    public List<ProductDto> getProducts(
-            @RequestParam(required = false) String category
+    public ResponseEntity<?> getProducts(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean stream,
+            @RequestParam(required = false) String sort,
+            @SessionAttribute(value = "loginMemberId", required = false) Long memberId
     ) {
+        if (sort != null && !sort.isBlank()) {
+            return ResponseEntity.ok(productLikeAnnotator.annotate(
+                    productService.getSortedProductsPage(category, sort, after, size), memberId));
+        }
+
+        boolean paged = isPaged(after, size);
+
+        if (stream && !paged && (category == null || category.isEmpty())) {
+            var annotate = productLikeAnnotator.forMember(memberId);
+            StreamingResponseBody body = out -> jsonStreamWriter.writeArray(
+                    productService.getAllVisibleProducts().stream().map(annotate), out);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+
         if (category != null && !category.isEmpty()) {
-            return productService.getProductsByCategoryCode(category);
+            return ResponseEntity.ok(paged
+                    ? productLikeAnnotator.annotate(productService.getProductsByCategoryCodePage(category, after, size), memberId)
+                    : productLikeAnnotator.annotate(productService.getProductsByCategoryCode(category), memberId));
         }
 
-        return productService.getAllVisibleProducts();
+        return ResponseEntity.ok(paged
+                ? productLikeAnnotator.annotate(productService.getAllVisibleProductsPage(after, size), memberId)
+                : productLikeAnnotator.annotate(productService.getAllVisibleProducts(), memberId));
     }
 
     /** 기본 상품 정보 */
@@ -57,16 +110,84 @@ public class ProductController {
     }
 
 
-    /** 검색 */
+    /** 검색 (순위순, keyword 가 비어 있으면 전체 / after/size 가 있으면 커서 페이지, after 는 다른 목록과 같이 상품 ID) */
     @GetMapping("/search")
-    public List<ProductDto> searchProducts(@RequestParam String keyword) {
-        return productService.searchProductsByName(keyword);
+    public ResponseEntity<?> searchProducts(
+            @RequestParam String keyword,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            @SessionAttribute(value = "loginMemberId", required = false) Long memberId
+    ) {
+        if (isPaged(after, size)) {
+            return ResponseEntity.ok(productLikeAnnotator.annotate(
+                    productService.searchProductsByNamePage(keyword, after, size), memberId));
+        }
+        return ResponseEntity.ok(productLikeAnnotator.annotate(productService.searchProductsByName(keyword), memberId));
+    }
+
+    /** 검색어 자동완성 (초성 "ㅎㄷ" / 접두사 "후드" / 혼합 "후ㄷ", 인기순) */
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggestProducts(
+            @RequestParam String keyword,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(productSuggestService.suggest(keyword, size));
     }
 
-    /** 카테고리별 상품 조회 */
+    /** 카테고리별 상품 조회 (after/size 가 있으면 커서 페이지, sort 가 있으면 정렬된 커서 페이지) */
     @GetMapping("/category/{code}")
-    public List<ProductDto> getProductsByCategory(@PathVariable String code) {
-        return productService.getProductsByCategoryCode(code);
+    public ResponseEntity<?> getProductsByCategory(
+            @PathVariable String code,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @SessionAttribute(value = "loginMemberId", required = false) Long memberId
+    ) {
+        if (sort != null && !sort.isBlank()) {
+            return ResponseEntity.ok(productLikeAnnotator.annotate(
+                    productService.getSortedProductsPage(code, sort, after, size), memberId));
+        }
+        if (isPaged(after, size)) {
+            return ResponseEntity.ok(productLikeAnnotator.annotate(
+                    productService.getProductsByCategoryCodePage(code, after, size), memberId));
+        }
+        return ResponseEntity.ok(productLikeAnnotator.annotate(productService.getProductsByCategoryCode(code), memberId));
+    }
+
+    /** 하위 카테고리까지 포함한 카테고리 상품 커서 페이지 (예: 대분류 0001 → 0001xxxx, 0001xxxxxxxx 상품 전부) */
+    @GetMapping("/category/{code}/tree")
+    public ResponseEntity<?> getProductsInCategoryTree(
+            @PathVariable String code,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            @SessionAttribute(value = "loginMemberId", required = false) Long memberId
+    ) {
+        return ResponseEntity.ok(productLikeAnnotator.annotate(
+                productService.getProductsInCategoryTreePage(code, after, size), memberId));
+    }
+
+    /**
+     * 카테고리 목록 필터 + 필터 값별 건수
+     * - 같은 필터 값끼리 OR, 다른 필터끼리 AND (예: ?category=0001&price=10000-30000&price=30000-50000&status=10)
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<?> getProductFacets(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) List<String> subCategory,
+            @RequestParam(required = false) List<String> price,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) List<String> color,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            @SessionAttribute(value = "loginMemberId", required = false) Long memberId
+    ) {
+        return ResponseEntity.ok(productLikeAnnotator.annotate(
+                productFacetService.search(category, subCategory, price, status, color, after, size), memberId));
+    }
+
+    /** 기존 프론트 호환: 페이지 파라미터가 없으면 전체 목록 응답 유지 */
+    private boolean isPaged(Long after, Integer size) {
+        return after != null || size != null;
     }
 
 
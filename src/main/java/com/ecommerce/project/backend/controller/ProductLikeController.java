@@ -39,8 +39,12 @@ public class ProductLikeController {
     }
 
 
+    /** 내 좋아요 목록 (after/size 가 있으면 최신순 커서 페이지) */
     @GetMapping("/my")
-    public ResponseEntity<?> getMyLikes(HttpSession session) {
+    public ResponseEntity<?> getMyLikes(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            HttpSession session) {
 
         Long memberId = (Long) session.getAttribute("loginMemberId");
 
@@ -48,6 +52,10 @@ public class ProductLikeController {
             return ResponseEntity.status(401).body("로그인 필요");
         }
 
+        if (after != null || size != null) {
+            return ResponseEntity.ok(likeService.getMyLikeProductsPage(memberId, after, size));
+        }
+
         List<ProductDto> wishlist = likeService.getMyLikeProducts(memberId);
         return ResponseEntity.ok(wishlist);
     }
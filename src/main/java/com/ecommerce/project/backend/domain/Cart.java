@@ -41,6 +41,14 @@ public class Cart {
     @Column(nullable = false)
     private Integer quantity;
 
+    /**
+     * 낙관적 잠금 버전 (수량/옵션 변경은 이 값을 비교해서 갱신)
+     * - 컬럼은 db/migration/V2__add_cart_version.sql 로 추가
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "created_at", insertable = false, updatable = false)
     private LocalDateTime createdAt;
 
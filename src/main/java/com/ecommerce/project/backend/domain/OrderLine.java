@@ -0,0 +1,45 @@
+package com.ecommerce.project.backend.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * 카드 결제 대기 주문의 주문 줄 (checkoutForCard 때 서버가 확정한 상품 / 옵션 / 수량 / 단가)
+ * - 결제 완료(completeCardPayment) 때 클라이언트 요청이 아니라 이 줄로 재고 차감 + 주문 항목 생성
+ * - 장바구니 주문이면 cart_id (결제 완료 때 그 줄만 장바구니에서 삭제)
+ * - 저장은 OrderBatchRepository 의 JDBC 배치
+ */
+@Entity
+@Table(name = "order_line")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class OrderLine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "order_line_id")
+    private Long orderLineId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "option_id")
+    private Long optionId; // 단품이면 null
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(precision = 10, scale = 2, nullable = false)
+    private BigDecimal price; // 결제 금액 계산에 쓴 단가
+
+    @Column(name = "cart_id")
+    private Long cartId; // 장바구니 주문이 아니면 null
+}
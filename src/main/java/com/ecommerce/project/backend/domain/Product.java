@@ -75,17 +75,6 @@ public class Product {
     // 재고 로직
     // -------------------------------------------------------
 
-    /** 단일 상품 재고 차감 */
-    public void decreaseStock(int quantity) {
-        if (isOption) {
-            throw new IllegalStateException("옵션 상품은 옵션 단위로 재고를 차감해야 합니다.");
-        }
-        if (this.stock - quantity < 0) {
-            throw new IllegalArgumentException("재고가 부족합니다. (현재 재고: " + this.stock + ")");
-        }
-        this.stock -= quantity;
-    }
-
     @PrePersist
     @PreUpdate
     public void setUpdatedAt() {
@@ -8,6 +8,7 @@ import lombok.Setter;
 @Setter
 public class CartAddRequestDto {
     private Long productId;   // 상품 ID (필수)
+    private Long optionId;    // 옵션 ID (있으면 optionValue 대신 사용)
     private String optionValue;
     private Integer quantity; // 수량
     private String optionTitle;
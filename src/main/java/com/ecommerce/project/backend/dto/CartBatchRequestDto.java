@@ -0,0 +1,34 @@
+package com.ecommerce.project.backend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 장바구니 일괄 변경 요청 (담기 / 수량 변경 / 삭제를 한 트랜잭션으로)
+ * - operations 는 순서대로 적용
+ */
+@Getter
+@Setter
+public class CartBatchRequestDto {
+
+    private List<Operation> operations;
+
+    public enum Type {
+        ADD,    // 담기 (같은 상품 + 같은 옵션이 있으면 수량 증가)
+        UPDATE, // 수량 변경
+        DELETE  // 삭제
+    }
+
+    @Getter
+    @Setter
+    public static class Operation {
+        private Type type;
+        private Long cartId;        // UPDATE / DELETE
+        private Long productId;     // ADD
+        private Long optionId;      // ADD (있으면 optionValue 대신 사용)
+        private String optionValue; // ADD
+        private Integer quantity;   // ADD: 더할 수량, UPDATE: 바꿀 수량
+    }
+}
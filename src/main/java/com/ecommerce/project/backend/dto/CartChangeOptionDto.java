@@ -8,4 +8,5 @@ import lombok.Setter;
 public class CartChangeOptionDto {
     private Long cartId;
     private String newOptionValue;
+    private Long newOptionId; // 옵션 ID (있으면 newOptionValue 대신 사용)
 }
@@ -0,0 +1,55 @@
+package com.ecommerce.project.backend.dto;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * 장바구니 한 줄 조회 결과 (장바구니 + 상품 + 담은 옵션 조인)
+ * - 회원 장바구니 전체를 쿼리 한 번으로 읽기 위한 프로젝션 (지연 로딩 없음)
+ * - 옵션이 없거나(단품) 옵션값이 맞지 않으면 optionTitle / optionStock 은 null
+ */
+@Getter
+public class CartLineRowDto {
+
+    private final Long cartId;
+    private final Long productId;
+    private final String optionValue;
+    private final Integer quantity;
+    private final String productName;
+    private final String mainImg;
+    private final BigDecimal sellPrice;
+    private final Boolean isOption;
+    private final Integer productStock;
+    private final String optionTitle;
+    private final Integer optionStock;
+    private final Long version;
+
+    public CartLineRowDto(
+            Long cartId,
+            Long productId,
+            String optionValue,
+            Integer quantity,
+            String productName,
+            String mainImg,
+            BigDecimal sellPrice,
+            Boolean isOption,
+            Integer productStock,
+            String optionTitle,
+            Integer optionStock,
+            Long version
+    ) {
+        this.cartId = cartId;
+        this.productId = productId;
+        this.optionValue = optionValue;
+        this.quantity = quantity;
+        this.productName = productName;
+        this.mainImg = mainImg;
+        this.sellPrice = sellPrice;
+        this.isOption = isOption;
+        this.productStock = productStock;
+        this.optionTitle = optionTitle;
+        this.optionStock = optionStock;
+        this.version = version;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.project.backend.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryCountDto {
+    private int total;  // 노출 중인 상품 수 (하위 카테고리 포함, 중복 제외)
+    private int onSale; // 그중 판매중(10) 상품 수
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.project.backend.dto;
+
+import lombok.*;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryTreeCountResponseDto {
+    private Map<String, CategoryDto> tree;
+    private Map<String, CategoryCountDto> counts; // 카테고리 코드 → 상품 수
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.project.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 커서(키셋) 기반 페이지 응답
+ * - 다음 페이지는 ?after={nextCursor}&size= 로 요청
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+    private List<T> items;
+    private Long nextCursor;  // 다음 페이지 커서 (마지막 페이지면 null)
+    private boolean hasNext;  // 다음 페이지 존재 여부
+
+    public static <T> CursorPageDto<T> of(List<T> items, Long nextCursor) {
+        return new CursorPageDto<>(items, nextCursor, nextCursor != null);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.project.backend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 내 좋아요 목록 한 건 (좋아요 + 상품 조인 결과)
+ * - 커서는 likeId (최신 좋아요 순)
+ */
+@Getter
+@Setter
+public class LikedProductDto {
+
+    private Long likeId;
+    private Long productId;
+    private String productName;
+    private BigDecimal sellPrice;
+    private BigDecimal consumerPrice;
+    private String mainImg;
+    private Integer productStatus;
+    private LocalDateTime likedAt;
+    private Long likeCount; // 좋아요 개수 (메모리 카운터에서 채움)
+
+    public LikedProductDto(
+            Long likeId,
+            Long productId,
+            String productName,
+            BigDecimal sellPrice,
+            BigDecimal consumerPrice,
+            String mainImg,
+            Integer productStatus,
+            LocalDateTime likedAt
+    ) {
+        this.likeId = likeId;
+        this.productId = productId;
+        this.productName = productName;
+        this.sellPrice = sellPrice;
+        this.consumerPrice = consumerPrice;
+        this.mainImg = mainImg;
+        this.productStatus = productStatus;
+        this.likedAt = likedAt;
+    }
+}
@@ -12,10 +12,15 @@ public class OrderRequestDTO {
 
     private List<Item> items;
 
+    // 장바구니 주문: true 면 items 대신 서버의 회원 장바구니로 주문 (주문한 줄은 장바구니에서 삭제)
+    private Boolean fromCart;
+    private List<Long> cartIds;         // 장바구니 중 주문할 줄만 (비어 있으면 전체)
+
     @Getter @Setter
     public static class Item {
         private Long productId;
         private Integer quantity;
+        private Long optionId;              // 옵션 ID (있으면 optionValues 대신 사용)
         private List<String> optionValues;  // ["색상 Ivory"], ["기본"]
     }
 }
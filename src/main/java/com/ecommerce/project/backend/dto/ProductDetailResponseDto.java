@@ -6,7 +6,7 @@ import java.math.BigDecimal;
 import java.util.List;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class ProductDetailResponseDto {
 
     private Long productId;
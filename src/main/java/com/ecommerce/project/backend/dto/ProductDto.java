@@ -1,6 +1,8 @@
 package com.ecommerce.project.backend.dto;
 
+import com.ecommerce.project.backend.domain.CategoryLink;
 import com.ecommerce.project.backend.domain.Product;
+import com.ecommerce.project.backend.domain.ProductImage;
 import com.ecommerce.project.backend.domain.ProductOption;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
@@ -15,7 +17,7 @@ import java.util.stream.Collectors;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class ProductDto {
 
     private Long productId;
@@ -49,10 +51,23 @@ public class ProductDto {
 
     // ProductDto 클래스에서 options 필드를 처리하는 코드
     public static ProductDto fromEntity(Product p, String baseUrl) {
+        return fromEntity(p, baseUrl, p.getOptions(), p.getImages(), p.getCategoryLinks());
+    }
+
+    /**
+     * 목록 조회용 변환
+     * - 옵션/이미지/카테고리 링크를 ProductBatchLoader 로 미리 일괄 조회해서 넘겨받는다.
+     *   (엔티티의 LAZY 컬렉션을 건드리지 않으므로 상품 수만큼 쿼리가 늘어나지 않음)
+     */
+    public static ProductDto fromEntity(Product p,
+                                        String baseUrl,
+                                        List<ProductOption> options,
+                                        List<ProductImage> images,
+                                        List<CategoryLink> categoryLinks) {
 
         String catCode = null;
-        if (p.getCategoryLinks() != null && !p.getCategoryLinks().isEmpty()) {
-            catCode = p.getCategoryLinks().get(0).getCategoryCode();
+        if (categoryLinks != null && !categoryLinks.isEmpty()) {
+            catCode = categoryLinks.get(0).getCategoryCode();
         }
 
         // 메인 이미지 URL
@@ -67,16 +82,16 @@ public class ProductDto {
 
         // 옵션 리스트
         List<ProductOptionDto> optionList = new ArrayList<>();
-        if (p.getOptions() != null) {  // getOptions() 메서드 호출
-            optionList = p.getOptions().stream()
+        if (options != null) {
+            optionList = options.stream()
                     .map(ProductOptionDto::fromEntity)
                     .collect(Collectors.toList());
         }
 
         // 서브 이미지 URL
         List<ProductImageDto> subImageList = new ArrayList<>();
-        if (p.getImages() != null) {
-            subImageList = p.getImages().stream()
+        if (images != null) {
+            subImageList = images.stream()
                     .map(img -> new ProductImageDto(
                             img.getImageUrl().startsWith("/") ? baseUrl + img.getImageUrl() : baseUrl + "/" + img.getImageUrl(),
                             img.getSortOrder(),
@@ -0,0 +1,19 @@
+package com.ecommerce.project.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 카테고리 목록 필터 조회 결과
+ * - facets: 필터 이름(subCategory / price / status / color) → 값 → 건수
+ */
+@Getter
+@AllArgsConstructor
+public class ProductFacetResponseDto {
+
+    private int total;                                // 필터 적용 후 전체 건수
+    private CursorPageDto<ProductDto> products;       // 상품 (상품 ID 오름차순 커서 페이지)
+    private Map<String, Map<String, Integer>> facets; // 필터 값별 건수
+}
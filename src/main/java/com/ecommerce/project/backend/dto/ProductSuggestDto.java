@@ -0,0 +1,17 @@
+package com.ecommerce.project.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 검색어 자동완성 항목
+ */
+@Getter
+@AllArgsConstructor
+public class ProductSuggestDto {
+
+    private Long productId;
+    private String productName;
+    private String mainImg;
+    private Long likeCount; // 인기도 (정렬 기준)
+}
@@ -8,5 +8,5 @@ public class VerifyPaymentRequestDto {
     private Long orderId;
 
     private Long addressId;
-    private List<OrderRequestDTO.Item> items;
+    private List<OrderRequestDTO.Item> items; // 사용하지 않음 (결제 완료는 주문 때 저장한 order_line 기준)
 }
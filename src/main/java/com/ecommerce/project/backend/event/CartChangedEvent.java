@@ -0,0 +1,39 @@
+package com.ecommerce.project.backend.event;
+
+import com.ecommerce.project.backend.service.CartLine;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 회원 장바구니가 변경되었음을 알리는 이벤트
+ * - 트랜잭션 커밋 이후에 장바구니 캐시에 같은 변경을 그대로 반영(write-through)하는 데 사용
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CartChangedEvent {
+
+    private final Long memberId;
+    private final CartLine upserted; // 추가/수정된 줄 (없으면 null)
+    private final Long removedCartId; // 삭제된 줄 (없으면 null)
+    private final boolean cleared;   // 전체 삭제 여부
+    private final boolean invalidated; // 여러 줄이 한꺼번에 바뀜 → 캐시를 버리고 다음 조회 때 다시 로딩
+
+    /** 줄 추가 또는 수량/옵션 변경 */
+    public static CartChangedEvent upserted(Long memberId, CartLine line) {
+        return new CartChangedEvent(memberId, line, null, false, false);
+    }
+
+    public static CartChangedEvent removed(Long memberId, Long cartId) {
+        return new CartChangedEvent(memberId, null, cartId, false, false);
+    }
+
+    public static CartChangedEvent cleared(Long memberId) {
+        return new CartChangedEvent(memberId, null, null, true, false);
+    }
+
+    /** 일괄 변경 (비회원 장바구니 병합 등) */
+    public static CartChangedEvent invalidated(Long memberId) {
+        return new CartChangedEvent(memberId, null, null, false, true);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.project.backend.event;
+
+import com.ecommerce.project.backend.service.CatalogSnapshot;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 카탈로그 스냅샷이 교체되었음을 알리는 이벤트
+ * - 검색 인덱스 등 스냅샷에서 파생된 구조를 같은 버전으로 맞추는 데 사용
+ */
+@Getter
+public class CatalogRefreshedEvent {
+
+    private final CatalogSnapshot snapshot;    // 새로 교체된 스냅샷
+    private final Set<Long> changedProductIds; // 변경된 상품 ID (전체 로딩이면 null)
+
+    public CatalogRefreshedEvent(CatalogSnapshot snapshot, Collection<Long> changedProductIds) {
+        this.snapshot = snapshot;
+        this.changedProductIds = (changedProductIds != null) ? Set.copyOf(changedProductIds) : null;
+    }
+
+    /** 전체 다시 로딩된 스냅샷인지 여부 */
+    public boolean isFullReload() {
+        return changedProductIds == null;
+    }
+}
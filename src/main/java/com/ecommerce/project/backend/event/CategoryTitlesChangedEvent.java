@@ -0,0 +1,20 @@
+package com.ecommerce.project.backend.event;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 카테고리 인덱스를 다시 읽었더니 카테고리명이 바뀌었음을 알리는 이벤트
+ * - 카테고리명으로 색인한 검색 인덱스가 그 카테고리 상품만 다시 색인하는 데 사용
+ */
+@Getter
+public class CategoryTitlesChangedEvent {
+
+    private final Set<String> changedCodes; // 이름이 추가 / 변경 / 삭제된 카테고리 코드
+
+    public CategoryTitlesChangedEvent(Collection<String> changedCodes) {
+        this.changedCodes = Set.copyOf(changedCodes);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.project.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 비회원 장바구니가 로그인한 회원 장바구니로 합쳐졌음을 알리는 이벤트
+ * - 커밋 후 메모리의 비회원 장바구니를 지우는 데 사용
+ */
+@Getter
+@AllArgsConstructor
+public class GuestCartMergedEvent {
+
+    private final String sessionId;
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.project.backend.event;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 상품(옵션/이미지/카테고리 링크 포함)이 변경되었음을 알리는 이벤트
+ * - 재고(와 그에 따른 품절 상태)만 바뀐 경우는 ProductStockChangedEvent
+ * - 트랜잭션 커밋 이후에 카탈로그 스냅샷 등 메모리 캐시를 갱신하는 데 사용
+ */
+@Getter
+public class ProductChangedEvent {
+
+    private final Set<Long> productIds; // 변경된 상품 ID 목록
+
+    public ProductChangedEvent(Long productId) {
+        this.productIds = Set.of(productId);
+    }
+
+    public ProductChangedEvent(Collection<Long> productIds) {
+        this.productIds = Set.copyOf(productIds);
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.project.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 회원이 상품 좋아요를 추가/취소했음을 알리는 이벤트
+ */
+@Getter
+@AllArgsConstructor
+public class ProductLikeChangedEvent {
+
+    private final Long memberId;
+    private final Long productId;
+    private final boolean liked; // true=좋아요 추가, false=취소
+
+    /** 좋아요 수 변화량 (+1 / -1) */
+    public long getDelta() {
+        return liked ? 1 : -1;
+    }
+}
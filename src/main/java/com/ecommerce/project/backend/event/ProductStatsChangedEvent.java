@@ -0,0 +1,20 @@
+package com.ecommerce.project.backend.event;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 상품 통계(좋아요 수 / 판매량)가 바뀌었음을 알리는 이벤트
+ * - ProductStatsService 가 값을 반영한 뒤 발행
+ */
+@Getter
+public class ProductStatsChangedEvent {
+
+    private final Set<Long> productIds;
+
+    public ProductStatsChangedEvent(Collection<Long> productIds) {
+        this.productIds = Set.copyOf(productIds);
+    }
+}
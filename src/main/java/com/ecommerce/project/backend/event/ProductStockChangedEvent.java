@@ -0,0 +1,25 @@
+package com.ecommerce.project.backend.event;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 주문 / 재고 차감 API / 재고 재계산으로 상품(옵션) 재고만 바뀌었음을 알리는 이벤트
+ * - 상품 정보 자체가 바뀐 경우는 ProductChangedEvent
+ * - 카탈로그 스냅샷은 모아서 재고만 제자리에서 고치므로 파생 인덱스를 다시 만들지 않음
+ */
+@Getter
+public class ProductStockChangedEvent {
+
+    private final Set<Long> productIds; // 재고가 바뀐 상품 ID 목록
+
+    public ProductStockChangedEvent(Long productId) {
+        this.productIds = Set.of(productId);
+    }
+
+    public ProductStockChangedEvent(Collection<Long> productIds) {
+        this.productIds = Set.copyOf(productIds);
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.project.backend.event;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 주문(결제 완료)으로 상품이 판매되었음을 알리는 이벤트
+ */
+@Getter
+public class ProductsSoldEvent {
+
+    private final Map<Long, Integer> quantities; // productId → 판매 수량
+
+    public ProductsSoldEvent(Map<Long, Integer> quantities) {
+        this.quantities = Map.copyOf(quantities);
+    }
+}
@@ -0,0 +1,109 @@
+package com.ecommerce.project.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 장바구니 여러 줄 일괄 반영 (비회원 장바구니 → 회원 장바구니 병합, 일괄 변경 API)
+ * - cart_id 가 IDENTITY 라 JPA saveAll 은 INSERT 를 한 건씩 보내므로 JDBC 배치로 처리
+ *   (datasource 의 rewriteBatchedStatements=true 로 INSERT 배치는 multi-row INSERT 한 문장으로 전송)
+ * - 버전 비교 수정/삭제는 배치 대신 문장 하나로 보내고 전체 반영 건수로 확인
+ *   (다시 쓴 배치는 문장별 건수가 SUCCESS_NO_INFO 로 올 수 있어 줄마다 반영 여부를 믿을 수 없음)
+ */
+@Repository
+@RequiredArgsConstructor
+public class CartBatchRepository {
+
+    // version 은 JPA 로 저장한 줄과 같이 0 부터 (스키마에 기본값이 없을 수 있어 명시)
+    private static final String INSERT_SQL =
+            "INSERT INTO cart (member_id, product_id, option_value, quantity, version) VALUES (?, ?, ?, ?, 0)";
+    private static final String UPDATE_QUANTITY_SQL = "UPDATE cart SET quantity = ?, version = version + 1 WHERE cart_id = ? AND member_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 새 줄 추가 (상품 ID, 옵션값, 수량) */
+    public void insertLines(Long memberId, List<NewLine> lines) {
+        if (lines.isEmpty()) return;
+
+        List<Object[]> args = new ArrayList<>(lines.size());
+        for (NewLine line : lines) {
+            args.add(new Object[]{memberId, line.productId(), line.optionValue(), line.quantity()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    /** 기존 줄 수량 변경 (cart_id → 수량) */
+    public void updateQuantities(Long memberId, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) return;
+
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        quantities.forEach((cartId, quantity) -> args.add(new Object[]{quantity, cartId, memberId}));
+        jdbcTemplate.batchUpdate(UPDATE_QUANTITY_SQL, args);
+    }
+
+    /**
+     * 읽은 버전 그대로인 줄만 수량 변경 (UPDATE 1문장)
+     *
+     * @return 모두 반영됐으면 true, 한 줄이라도 0건(다른 요청이 먼저 변경)이면 false
+     */
+    public boolean compareAndSetQuantities(Long memberId, List<QuantityChange> changes) {
+        if (changes.isEmpty()) return true;
+
+        StringBuilder sql = new StringBuilder("UPDATE cart SET quantity = CASE cart_id");
+        List<Object> args = new ArrayList<>(changes.size() * 4 + 1);
+        for (QuantityChange change : changes) {
+            sql.append(" WHEN ? THEN ?");
+            args.add(change.cartId());
+            args.add(change.quantity());
+        }
+        sql.append(" END, version = version + 1 WHERE member_id = ? AND (cart_id, version) IN (")
+                .append(pairPlaceholders(changes.size())).append(")");
+        args.add(memberId);
+        for (QuantityChange change : changes) {
+            args.add(change.cartId());
+            args.add(change.version());
+        }
+        return jdbcTemplate.update(sql.toString(), args.toArray()) == changes.size();
+    }
+
+    /**
+     * 읽은 버전 그대로인 줄만 삭제 (DELETE 1문장)
+     *
+     * @return 모두 삭제됐으면 true, 한 줄이라도 0건이면 false
+     */
+    public boolean compareAndDelete(Long memberId, List<VersionedLine> lines) {
+        if (lines.isEmpty()) return true;
+
+        String sql = "DELETE FROM cart WHERE member_id = ? AND (cart_id, version) IN (" + pairPlaceholders(lines.size()) + ")";
+        List<Object> args = new ArrayList<>(lines.size() * 2 + 1);
+        args.add(memberId);
+        for (VersionedLine line : lines) {
+            args.add(line.cartId());
+            args.add(line.version());
+        }
+        return jdbcTemplate.update(sql, args.toArray()) == lines.size();
+    }
+
+    /** "(?, ?), (?, ?), ..." */
+    private static String pairPlaceholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "(?, ?)"));
+    }
+
+    /** 추가할 줄 */
+    public record NewLine(Long productId, String optionValue, int quantity) {
+    }
+
+    /** 수량 바꿀 줄 (읽은 버전) */
+    public record QuantityChange(Long cartId, Long version, int quantity) {
+    }
+
+    /** 삭제할 줄 (읽은 버전) */
+    public record VersionedLine(Long cartId, Long version) {
+    }
+}
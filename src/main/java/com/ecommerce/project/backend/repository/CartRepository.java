@@ -1,12 +1,13 @@
 package com.ecommerce.project.backend.repository;
 
 import com.ecommerce.project.backend.domain.Cart;
-import jakarta.persistence.LockModeType;
+import com.ecommerce.project.backend.dto.CartLineRowDto;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,39 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
 
     List<Cart> findByMember_Id(Long memberId);
 
+    /**
+     * 회원 장바구니 전체 (상품 + 담은 옵션까지 한 번에, 담은 순서)
+     * - 줄마다 상품 / 옵션 목록을 지연 로딩하지 않도록 조인 프로젝션으로 조회
+     * - 옵션은 옵션 ID 로 조인 (옵션명이 달라도 값이 같은 옵션이 여러 개면 optionId 가 가장 작은 것,
+     *   ProductOptionIndex 와 같은 규칙) → 장바구니 한 줄당 결과 한 줄
+     */
+    @Query("select new com.ecommerce.project.backend.dto.CartLineRowDto(" +
+            "c.cartId, p.productId, c.optionValue, c.quantity, p.productName, p.mainImg, p.sellPrice, " +
+            "p.isOption, p.stock, o.optionTitle, o.stock, c.version) " +
+            "from Cart c join c.product p " +
+            "left join ProductOption o on p.isOption = true and o.optionId = (" +
+            "select min(o2.optionId) from ProductOption o2 where o2.product = p and o2.optionValue = c.optionValue) " +
+            "where c.member.id = :memberId " +
+            "order by c.cartId asc")
+    List<CartLineRowDto> findCartLines(@Param("memberId") Long memberId);
+
+    /**
+     * 주문할 회원 장바구니 (상품 + 상품 옵션 목록까지 fetch join 한 번에, 담은 순서)
+     */
+    @Query("select distinct c from Cart c join fetch c.product p left join fetch p.productOptions " +
+            "where c.member.id = :memberId order by c.cartId asc")
+    List<Cart> findForCheckout(@Param("memberId") Long memberId);
+
+    /** 주문할 회원 장바구니 중 고른 줄만 */
+    @Query("select distinct c from Cart c join fetch c.product p left join fetch p.productOptions " +
+            "where c.member.id = :memberId and c.cartId in :cartIds order by c.cartId asc")
+    List<Cart> findForCheckout(@Param("memberId") Long memberId, @Param("cartIds") Collection<Long> cartIds);
+
+    /** 주문한 줄 한 번에 삭제 (DELETE 1회) */
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Cart c where c.member.id = :memberId and c.cartId in :cartIds")
+    int deleteOrderedLines(@Param("memberId") Long memberId, @Param("cartIds") Collection<Long> cartIds);
+
     /** 수정된 메서드: 옵션 값으로 검색 */
     Optional<Cart> findByMember_IdAndProduct_ProductIdAndOptionValue(
             Long memberId, Long productId, String optionValue);
@@ -31,12 +65,33 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     /** cartId + memberId 동시 확인 -> 보안 OK */
     Optional<Cart> findByCartIdAndMember_Id(Long cartId, Long memberId);
 
-    /** 동시성 문제 해결: 수량/옵션 변경 시 row-level lock */
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("select c from Cart c where c.cartId = :cartId and c.member.id = :memberId")
-    Optional<Cart> findForUpdate(
+    /** cartId + memberId 확인, 상품 + 옵션 목록까지 한 번에 (수량 / 옵션 변경용) */
+    @Query("select distinct c from Cart c join fetch c.product p left join fetch p.productOptions " +
+            "where c.cartId = :cartId and c.member.id = :memberId")
+    Optional<Cart> findWithProductOptions(@Param("cartId") Long cartId, @Param("memberId") Long memberId);
+
+    /**
+     * 동시성 문제 해결: 읽은 버전 그대로일 때만 수량 변경 (compare-and-set, 행 잠금은 UPDATE 순간만)
+     * @return 0 이면 그 사이 다른 요청이 먼저 바꿈 → 다시 읽고 재시도
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Cart c set c.quantity = :quantity, c.version = c.version + 1 " +
+            "where c.cartId = :cartId and c.member.id = :memberId and c.version = :version")
+    int compareAndSetQuantity(
+            @Param("cartId") Long cartId,
+            @Param("memberId") Long memberId,
+            @Param("version") Long version,
+            @Param("quantity") Integer quantity);
+
+    /** 읽은 버전 그대로일 때만 옵션 변경 */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Cart c set c.optionValue = :optionValue, c.version = c.version + 1 " +
+            "where c.cartId = :cartId and c.member.id = :memberId and c.version = :version")
+    int compareAndSetOption(
             @Param("cartId") Long cartId,
-            @Param("memberId") Long memberId);
+            @Param("memberId") Long memberId,
+            @Param("version") Long version,
+            @Param("optionValue") String optionValue);
 
     boolean existsByProduct_ProductId(Long productId);
 
@@ -4,6 +4,7 @@ import com.ecommerce.project.backend.domain.CategoryLink;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,6 +13,9 @@ public interface CategoryLinkRepository extends JpaRepository<CategoryLink, Long
     // 특정 상품에 연결된 카테고리 코드 목록 조회
     List<CategoryLink> findByProduct_ProductId(Long productId);
 
+    // 여러 상품의 카테고리 링크를 한 번에 조회 (목록 N+1 방지)
+    List<CategoryLink> findByProduct_ProductIdInOrderByLinkIdAsc(Collection<Long> productIds);
+
     // 특정 카테고리 코드로 연결된 상품 목록 조회
     List<CategoryLink> findByCategoryCode(String categoryCode);
 
@@ -0,0 +1,161 @@
+package com.ecommerce.project.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 한 건의 여러 줄 일괄 반영 (주문 항목 / 결제 대기 주문 줄 INSERT, 재고 차감)
+ * - order_item_id 가 IDENTITY 라 JPA save 는 INSERT 를 한 건씩 보내므로 JDBC 배치로 처리
+ *   (datasource 의 rewriteBatchedStatements=true 로 INSERT 배치는 multi-row INSERT 한 문장으로 전송)
+ * - 재고 차감은 배치 대신 문장 하나로 보내고 전체 반영 건수로 확인
+ *   (다시 쓴 배치는 문장별 건수가 SUCCESS_NO_INFO 로 올 수 있어 줄마다 차감 여부를 믿을 수 없음)
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderBatchRepository {
+
+    private static final String INSERT_ITEM_SQL =
+            "INSERT INTO order_item (order_id, product_id, quantity, price, subtotal, product_name, main_img, option_value, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LINE_SQL =
+            "INSERT INTO order_line (order_id, product_id, option_id, quantity, price, cart_id) VALUES (?, ?, ?, ?, ?, ?)";
+    // 옵션 상품의 product.stock = 옵션 재고 합계 (Product.updateTotalStockFromOptions 와 동일)
+    private static final String SYNC_PRODUCT_STOCK_SQL =
+            "UPDATE product SET stock = (SELECT COALESCE(SUM(o.stock), 0) FROM product_option o WHERE o.product_id = ?) WHERE product_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 주문 항목 추가
+     *
+     * @return 생성된 order_item_id (items 순서, 항상 items 와 같은 개수)
+     */
+    public List<Long> insertItems(Long orderId, List<ItemRow> items) {
+        if (items.isEmpty()) return List.of();
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(INSERT_ITEM_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (ItemRow item : items) {
+                    ps.setLong(1, orderId);
+                    ps.setLong(2, item.productId());
+                    ps.setInt(3, item.quantity());
+                    ps.setBigDecimal(4, item.price());
+                    ps.setBigDecimal(5, item.subtotal());
+                    ps.setString(6, item.productName());
+                    ps.setString(7, item.mainImg());
+                    ps.setString(8, item.optionValue());
+                    ps.setTimestamp(9, now);
+                    ps.setTimestamp(10, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> ids = new ArrayList<>(items.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) ids.add(keys.getLong(1));
+                }
+                // 줄 순서대로 ID 를 붙이므로 개수가 다르면 어느 줄의 ID 인지 알 수 없음 → 예외로 롤백
+                if (ids.size() != items.size()) {
+                    throw new IllegalStateException("주문 항목 ID 를 모두 받지 못했습니다. (요청 " + items.size() + "건, 생성 " + ids.size() + "건)");
+                }
+                return ids;
+            }
+        });
+    }
+
+    /** 카드 결제 대기 주문의 주문 줄 저장 (결제 완료 때 다시 읽음) */
+    public void insertLines(Long orderId, List<LineRow> lines) {
+        if (lines.isEmpty()) return;
+
+        List<Object[]> args = new ArrayList<>(lines.size());
+        for (LineRow line : lines) {
+            args.add(new Object[]{orderId, line.productId(), line.optionId(), line.quantity(), line.price(), line.cartId()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_LINE_SQL, args);
+    }
+
+    /**
+     * 옵션 재고 차감 (option_id → 수량)
+     *
+     * @return 모두 차감됐으면 true, 한 줄이라도 0건(재고 부족)이면 false → 호출한 쪽에서 예외로 롤백
+     */
+    public boolean decreaseOptionStocks(Map<Long, Integer> quantities) {
+        return decreaseStocks("product_option", "option_id", "", quantities);
+    }
+
+    /**
+     * 단품 재고 차감 (product_id → 수량)
+     * - 옵션 상품의 product.stock 은 옵션 재고 합계라 직접 차감하지 않음 (ProductRepository.decreaseStockIfAvailable 와 동일)
+     *
+     * @return 모두 차감됐으면 true, 한 줄이라도 0건(재고 부족 / 옵션 상품)이면 false
+     */
+    public boolean decreaseProductStocks(Map<Long, Integer> quantities) {
+        return decreaseStocks("product", "product_id", " AND is_option = 0", quantities);
+    }
+
+    /**
+     * 재고가 충분한 행만 차감하는 UPDATE 1문장
+     * - 읽은 재고가 아니라 UPDATE 순간의 재고로 판단 → 동시 주문에도 초과 판매 없음
+     * - ID 순서로 행을 잠가서 주문끼리 교착이 생기지 않게 함
+     */
+    private boolean decreaseStocks(String table, String idColumn, String condition, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) return true;
+
+        StringBuilder byId = new StringBuilder("CASE ").append(idColumn);
+        List<Object> cases = new ArrayList<>(quantities.size() * 2);
+        quantities.forEach((id, quantity) -> {
+            byId.append(" WHEN ? THEN ?");
+            cases.add(id);
+            cases.add(quantity);
+        });
+        byId.append(" END");
+
+        String sql = "UPDATE " + table + " SET stock = stock - " + byId +
+                " WHERE " + idColumn + " IN (" + String.join(", ", Collections.nCopies(quantities.size(), "?")) + ")" +
+                " AND stock >= " + byId + condition +
+                " ORDER BY " + idColumn;
+        List<Object> args = new ArrayList<>(cases);
+        args.addAll(quantities.keySet());
+        args.addAll(cases);
+        return jdbcTemplate.update(sql, args.toArray()) == quantities.size();
+    }
+
+    /** 옵션 재고가 바뀐 상품의 전체 재고 다시 계산 */
+    public void syncProductStocks(Collection<Long> productIds) {
+        if (productIds.isEmpty()) return;
+
+        List<Object[]> args = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            args.add(new Object[]{productId, productId});
+        }
+        jdbcTemplate.batchUpdate(SYNC_PRODUCT_STOCK_SQL, args);
+    }
+
+    /** 결제 대기 주문 줄 (옵션 / 장바구니 줄이 없으면 null) */
+    public record LineRow(Long productId, Long optionId, int quantity, BigDecimal price, Long cartId) {
+    }
+
+    /** 추가할 주문 항목 (주문 시점 스냅샷) */
+    public record ItemRow(Long productId, int quantity, BigDecimal price,
+                          String productName, String mainImg, String optionValue) {
+
+        public BigDecimal subtotal() {
+            return price.multiply(BigDecimal.valueOf(quantity));
+        }
+    }
+}
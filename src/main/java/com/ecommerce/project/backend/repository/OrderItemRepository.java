@@ -2,8 +2,20 @@ package com.ecommerce.project.backend.repository;
 
 import com.ecommerce.project.backend.domain.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrderOrderId(Long orderId);
+
+    // 상품별 누적 판매 수량 (row = [productId, sum])
+    @Query("SELECT oi.product.productId, SUM(oi.quantity) FROM OrderItem oi GROUP BY oi.product.productId")
+    List<Object[]> sumQuantityGroupByProductId();
+
+    // 지정한 상품만 누적 판매 수량 (row = [productId, sum])
+    @Query("SELECT oi.product.productId, SUM(oi.quantity) FROM OrderItem oi WHERE oi.product.productId IN :productIds GROUP BY oi.product.productId")
+    List<Object[]> sumQuantityByProductIdIn(@Param("productIds") Collection<Long> productIds);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.ecommerce.project.backend.repository;
+
+import com.ecommerce.project.backend.domain.OrderLine;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface OrderLineRepository extends JpaRepository<OrderLine, Long> {
+
+    // 주문 줄 (저장 순서)
+    List<OrderLine> findByOrder_OrderIdOrderByOrderLineIdAsc(Long orderId);
+}
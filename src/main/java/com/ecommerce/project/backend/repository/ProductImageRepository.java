@@ -3,11 +3,15 @@ package com.ecommerce.project.backend.repository;
 import com.ecommerce.project.backend.domain.ProductImage;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductImageRepository extends JpaRepository<ProductImage, Long> {
     List<ProductImage> findByProduct_ProductIdOrderBySortOrderAsc(Long productId);
 
+    // 여러 상품의 이미지를 한 번에 조회 (목록 N+1 방지)
+    List<ProductImage> findByProduct_ProductIdInOrderBySortOrderAsc(Collection<Long> productIds);
+
     // 상품 ID로 관련된 모든 이미지를 삭제하는 메서드
     void deleteAllByProduct_ProductId(Long productId);
 
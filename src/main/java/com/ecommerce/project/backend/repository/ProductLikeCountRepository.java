@@ -0,0 +1,32 @@
+package com.ecommerce.project.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * product.like_count (좋아요 수 비정규화 컬럼) 일괄 갱신
+ * - 엔티티를 읽지 않고 JDBC 배치 UPDATE 한 번으로 반영
+ * - 컬럼은 db/migration/V1__add_product_like_count.sql (Flyway) 로 추가
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductLikeCountRepository {
+
+    private static final String UPDATE_SQL = "UPDATE product SET like_count = ? WHERE product_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 상품 ID → 좋아요 수 (절대값으로 덮어쓰므로 여러 번 실행해도 같은 결과) */
+    public void updateLikeCounts(Map<Long, Long> counts) {
+        if (counts.isEmpty()) return;
+
+        List<Object[]> args = new ArrayList<>(counts.size());
+        counts.forEach((productId, count) -> args.add(new Object[]{count, productId}));
+        jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+    }
+}
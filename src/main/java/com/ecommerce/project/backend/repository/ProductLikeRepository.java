@@ -1,8 +1,13 @@
 package com.ecommerce.project.backend.repository;
 
 import com.ecommerce.project.backend.domain.ProductLike;
+import com.ecommerce.project.backend.dto.LikedProductDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductLikeRepository extends JpaRepository<ProductLike, Long> {
@@ -13,5 +18,28 @@ public interface ProductLikeRepository extends JpaRepository<ProductLike, Long>
 
     List<ProductLike> findByMemberId(Long memberId);
 
+    // 회원이 좋아요한 상품 ID 만 (엔티티 로딩 없이)
+    @Query("SELECT l.productId FROM ProductLike l WHERE l.memberId = :memberId")
+    List<Long> findProductIdsByMemberId(@Param("memberId") Long memberId);
+
     Long countByProductId(Long productId);
+
+    // 내 좋아요 목록 키셋 페이지 (최신순, 상품 조인 한 번) - after 는 직전 페이지 마지막 likeId
+    @Query("SELECT new com.ecommerce.project.backend.dto.LikedProductDto(" +
+            "l.likeId, p.productId, p.productName, p.sellPrice, p.consumerPrice, p.mainImg, p.productStatus, l.createdAt) " +
+            "FROM ProductLike l " +
+            "JOIN Product p ON p.productId = l.productId " +
+            "WHERE l.memberId = :memberId AND (:after IS NULL OR l.likeId < :after) " +
+            "ORDER BY l.likeId DESC")
+    List<LikedProductDto> findLikedProductPage(@Param("memberId") Long memberId,
+                                               @Param("after") Long after,
+                                               Pageable pageable);
+
+    // 상품별 좋아요 수 전체 (row = [productId, count])
+    @Query("SELECT l.productId, COUNT(l) FROM ProductLike l GROUP BY l.productId")
+    List<Object[]> countAllGroupByProductId();
+
+    // 지정한 상품만 좋아요 수 (row = [productId, count])
+    @Query("SELECT l.productId, COUNT(l) FROM ProductLike l WHERE l.productId IN :productIds GROUP BY l.productId")
+    List<Object[]> countByProductIdIn(@Param("productIds") Collection<Long> productIds);
 }
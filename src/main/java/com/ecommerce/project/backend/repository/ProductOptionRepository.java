@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductOptionRepository extends JpaRepository<ProductOption, Long> {
@@ -15,6 +16,13 @@ public interface ProductOptionRepository extends JpaRepository<ProductOption, Lo
     // 상품 ID로 해당 옵션 목록 조회
     List<ProductOption> findByProduct_ProductId(Long productId);
 
+    // 여러 상품의 옵션을 한 번에 조회 (목록 N+1 방지)
+    List<ProductOption> findByProduct_ProductIdInOrderByOptionIdAsc(Collection<Long> productIds);
+
+    // 여러 상품의 옵션 재고만 (row = [optionId, stock])
+    @Query("SELECT o.optionId, o.stock FROM ProductOption o WHERE o.product.productId IN :productIds")
+    List<Object[]> findStockRowsByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
     // Product와 연결된 옵션을 삭제하는 메서드
     void deleteAllByProduct_ProductId(Long productId);
 
@@ -3,12 +3,18 @@ package com.ecommerce.project.backend.repository;
 import com.ecommerce.project.backend.domain.Product;
 import com.ecommerce.project.backend.domain.ProductOption;
 import com.ecommerce.project.backend.dto.ProductListDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +35,10 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     // 상품명 검색
     List<Product> findByProductNameContaining(String keyword);
 
+    // 관리자 목록 스트리밍용 키셋 청크 (productId > after 순서대로 pageable 크기만큼)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    List<Product> findByProductIdGreaterThanOrderByProductIdAsc(Long productId, Pageable pageable);
+
     // 노출 중인 상품만
     List<Product> findByIsShowTrue();
 
@@ -56,6 +66,27 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p LEFT JOIN FETCH p.images WHERE p.productId = :id")
     Optional<Product> findProductWithImages(@Param("id") Long id);
 
+    // 여러 상품 + 옵션을 쿼리 한 번으로 (장바구니 일괄 변경 재고 검증용)
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.productOptions WHERE p.productId IN :ids")
+    List<Product> findWithOptionsByProductIdIn(@Param("ids") Collection<Long> ids);
+
+    // 상품 하나 + 옵션 (장바구니 담기 옵션 확인용)
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.productOptions WHERE p.productId = :productId")
+    Optional<Product> findWithOptionsByProductId(@Param("productId") Long productId);
+
+    // 재고 / 상태만 (row = [productId, stock, productStatus, isShow])
+    @Query("SELECT p.productId, p.stock, p.productStatus, p.isShow FROM Product p WHERE p.productId IN :ids")
+    List<Object[]> findStockRowsByProductIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 단품 재고 차감 (재고가 충분할 때만, UPDATE 한 문장으로)
+     * @return 0 이면 재고 부족 / 옵션 상품 / 없는 상품
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity " +
+            "WHERE p.productId = :productId AND p.isOption = false AND p.stock >= :quantity")
+    int decreaseStockIfAvailable(@Param("productId") Long productId, @Param("quantity") int quantity);
+
     // 상품 ID로 옵션 목록 조회
     List<ProductOption> findByProductId(Long productId);
 
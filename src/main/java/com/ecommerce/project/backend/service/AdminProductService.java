@@ -5,20 +5,28 @@ import com.ecommerce.project.backend.domain.*;
 import com.ecommerce.project.backend.dto.ProductDto;
 import com.ecommerce.project.backend.dto.ProductImageDto;
 import com.ecommerce.project.backend.dto.ProductOptionDto;
+import com.ecommerce.project.backend.event.ProductChangedEvent;
 import com.ecommerce.project.backend.repository.*;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class AdminProductService {
 
+    // 관리자 목록 스트리밍 시 한 번에 읽는 상품 수
+    static final int STREAM_CHUNK_SIZE = 500;
+
     private final ProductRepository productRepository;
     private final ProductOptionRepository productOptionRepository;
     private final ProductImageRepository productImageRepository;
@@ -28,6 +36,9 @@ public class AdminProductService {
     private Product product;
 
     private final MusinsaConfig musinsaConfig;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductBatchLoader productBatchLoader;
+    private final EntityManager entityManager;
 
     /**
      * BASE_URL을 제거하는 메서드
@@ -149,6 +160,9 @@ public class AdminProductService {
         CategoryLink categoryLink = new CategoryLink(savedProduct, category.getCategoryCode());
         categoryLinkRepository.save(categoryLink);  // 카테고리 링크 저장
 
+        // 9. 커밋 후 카탈로그 스냅샷에 신규 상품 반영
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getProductId()));
+
         return savedProduct;  // 저장된 Product 반환
     }
 
@@ -265,7 +279,12 @@ public class AdminProductService {
        ============================ */
         existingProduct.updateProductInfo(productDto);
 
-        return productRepository.save(existingProduct);
+        Product saved = productRepository.save(existingProduct);
+
+        // 9. 커밋 후 카탈로그 스냅샷에서 이 상품만 다시 빌드
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+
+        return saved;
     }
 
     @Transactional
@@ -291,39 +310,83 @@ public class AdminProductService {
 
         // 6) 상품 삭제
         productRepository.delete(product);
+
+        // 7) 커밋 후 카탈로그 스냅샷에서 제거
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
     }
 
     public List<ProductDto> getAdminProductList() {
         String baseUrl = musinsaConfig.getImageBaseUrl();
 
-        return productRepository.findAll()  // 모든 상품 조회
-                .stream()
-                .map(p -> {
-                    // ProductDto로 변환하면서, 이미지 URL에서 BASE_URL 제거
-                    ProductDto productDto = ProductDto.fromEntity(p, baseUrl);
+        List<Product> products = productRepository.findAll();  // 모든 상품 조회
 
-                    // 대표 이미지 URL에서 BASE_URL 제거
-                    if (productDto.getMainImg() != null) {
-                        productDto.setMainImg(removeBaseUrl(productDto.getMainImg()));  // BASE_URL 제거
-                    }
+        // 옵션/이미지/카테고리 링크 일괄 조회 (상품별 LAZY 로딩 N+1 방지)
+        ProductBatchLoader.Batch batch = productBatchLoader.load(products);
 
-                    // 서브 이미지 URL에서 BASE_URL 제거
-                    if (productDto.getSubImages() != null) {
-                        productDto.setSubImages(
-                                productDto.getSubImages().stream()
-                                        .map(subImage -> {
-                                            // 각 서브 이미지에서 BASE_URL 제거
-                                            subImage.setImageUrl(removeBaseUrl(subImage.getImageUrl()));
-                                            return subImage;
-                                        })
-                                        .collect(Collectors.toList())
-                        );
-                    }
-
-                    return productDto;
-                })
+        return products.stream()
+                .map(p -> toAdminDto(batch, p, baseUrl))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 관리자 상품 목록 스트리밍 (상품 ID 오름차순)
+     * - 상품을 STREAM_CHUNK_SIZE 건씩 키셋 조회 → 변환한 뒤 다음 청크로 넘어가므로
+     *   전체 상품 수와 관계없이 메모리에는 한 청크만 남는다.
+     * - 트랜잭션 없이 청크마다 영속성 컨텍스트를 비워서 엔티티가 누적되지 않게 함 (OSIV 가 켜져 있어도)
+     * - MySQL 의 행 단위 스트리밍 결과셋은 열려 있는 동안 같은 커넥션으로 다른 쿼리를 못 보내서
+     *   (옵션/이미지 일괄 조회 불가) 키셋 청크 + fetch size 힌트 방식으로 처리
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public Stream<ProductDto> streamAdminProducts() {
+        String baseUrl = musinsaConfig.getImageBaseUrl();
+
+        return Stream.iterate(
+                        loadAdminChunk(0L, baseUrl),
+                        chunk -> !chunk.isEmpty(),
+                        chunk -> chunk.size() < STREAM_CHUNK_SIZE
+                                ? List.of()
+                                : loadAdminChunk(chunk.get(chunk.size() - 1).getProductId(), baseUrl))
+                .flatMap(List::stream);
+    }
+
+    private List<ProductDto> loadAdminChunk(Long after, String baseUrl) {
+        List<Product> products = productRepository.findByProductIdGreaterThanOrderByProductIdAsc(
+                after, PageRequest.of(0, STREAM_CHUNK_SIZE));
+        if (products.isEmpty()) return List.of();
+
+        ProductBatchLoader.Batch batch = productBatchLoader.load(products);
+        List<ProductDto> dtos = products.stream()
+                .map(p -> toAdminDto(batch, p, baseUrl))
+                .toList();
+
+        entityManager.clear(); // 변환이 끝난 청크의 엔티티 분리
+        return dtos;
+    }
+
+    /** ProductDto로 변환하면서, 이미지 URL에서 BASE_URL 제거 */
+    private ProductDto toAdminDto(ProductBatchLoader.Batch batch, Product p, String baseUrl) {
+        ProductDto productDto = batch.toDto(p, baseUrl);
+
+        // 대표 이미지 URL에서 BASE_URL 제거
+        if (productDto.getMainImg() != null) {
+            productDto.setMainImg(removeBaseUrl(productDto.getMainImg()));  // BASE_URL 제거
+        }
+
+        // 서브 이미지 URL에서 BASE_URL 제거
+        if (productDto.getSubImages() != null) {
+            productDto.setSubImages(
+                    productDto.getSubImages().stream()
+                            .map(subImage -> {
+                                // 각 서브 이미지에서 BASE_URL 제거
+                                subImage.setImageUrl(removeBaseUrl(subImage.getImageUrl()));
+                                return subImage;
+                            })
+                            .collect(Collectors.toList())
+            );
+        }
+
+        return productDto;
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.event.CartChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 회원별 장바구니 캐시 (read-through + write-through)
+ * - 조회: 캐시에 없거나 만료됐으면 DB 에서 읽어 채움
+ * - 변경: 장바구니 쓰기 커밋 후 CartChangedEvent 의 변경 내용을 캐시된 줄에 그대로 반영
+ *   (커밋 후 리스너는 커밋 순서대로 오지 않을 수 있어, 캐시된 줄보다 버전이 높은 변경만 반영)
+ * - 최대 회원 수를 넘으면 가장 오래 안 쓴 회원부터 제거(LRU), 마지막 로딩 후 TTL 이 지나면 다시 로딩
+ */
+@Component
+@RequiredArgsConstructor
+public class CartCache {
+
+    private static final int MAX_MEMBERS = 10_000;
+    private static final long TTL_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final CartLoader cartLoader;
+
+    /** 캐시 항목 (줄 목록 + 만료 시각) */
+    private record Cached(List<CartLine> lines, long expiresAt) {
+    }
+
+    // 접근 순서 LinkedHashMap → LRU (잠금 안에서만 접근)
+    private final Map<Long, Cached> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Cached> eldest) {
+            return size() > MAX_MEMBERS;
+        }
+    };
+
+    // 무효화 세대: 로딩 도중 장바구니가 바뀌면 오래된 값을 넣지 않기 위해 사용
+    private final AtomicLong generation = new AtomicLong();
+
+    /** 회원 장바구니 줄 목록 (담은 순서) */
+    public List<CartLine> get(Long memberId) {
+        synchronized (entries) {
+            Cached cached = entries.get(memberId);
+            if (cached != null && cached.expiresAt() - System.nanoTime() > 0) return cached.lines();
+        }
+
+        long gen = generation.get();
+        List<CartLine> loaded = List.copyOf(cartLoader.load(memberId));
+
+        synchronized (entries) {
+            if (generation.get() == gen) {
+                entries.put(memberId, new Cached(loaded, System.nanoTime() + TTL_NANOS));
+            }
+        }
+        return loaded;
+    }
+
+    public void evict(Long memberId) {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.remove(memberId);
+        }
+    }
+
+    /** 장바구니 쓰기 커밋 후 캐시된 회원이면 같은 변경을 반영 (없으면 다음 조회 때 로딩) */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCartChanged(CartChangedEvent event) {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            if (event.isInvalidated()) {
+                entries.remove(event.getMemberId());
+                return;
+            }
+
+            Cached cached = entries.get(event.getMemberId());
+            if (cached == null) return;
+
+            List<CartLine> next = apply(cached.lines(), event);
+            if (next == null) entries.remove(event.getMemberId());
+            else entries.put(event.getMemberId(), new Cached(next, cached.expiresAt()));
+        }
+    }
+
+    /**
+     * 캐시된 줄에 변경 반영
+     * - 같은 줄이면 버전이 더 높을 때만 교체 (늦게 도착한 이전 변경은 무시)
+     * - 캐시에 없는 줄은 새로 담은 줄(버전 0)만 추가하고, 수정 이벤트면 그 사이 삭제됐는지 알 수 없으므로 null (다시 로딩)
+     */
+    private static List<CartLine> apply(List<CartLine> lines, CartChangedEvent event) {
+        if (event.isCleared()) return List.of();
+
+        CartLine upserted = event.getUpserted();
+        List<CartLine> next = new ArrayList<>(lines.size() + 1);
+        boolean found = false;
+        for (CartLine line : lines) {
+            if (line.cartId().equals(event.getRemovedCartId())) continue;
+
+            if (upserted != null && line.cartId().equals(upserted.cartId())) {
+                next.add(upserted.version() > line.version() ? upserted : line);
+                found = true;
+            } else {
+                next.add(line);
+            }
+        }
+        if (upserted != null && !found) {
+            if (upserted.version() > 0) return null;
+            next.add(upserted);
+        }
+        return List.copyOf(next);
+    }
+}
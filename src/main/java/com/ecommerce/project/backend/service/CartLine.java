@@ -0,0 +1,143 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.domain.Cart;
+import com.ecommerce.project.backend.domain.Product;
+import com.ecommerce.project.backend.domain.ProductOption;
+import com.ecommerce.project.backend.dto.CartLineRowDto;
+import com.ecommerce.project.backend.dto.ProductDto;
+import com.ecommerce.project.backend.dto.ProductOptionDto;
+
+/**
+ * 장바구니 한 줄 (캐시 보관용, 불변)
+ * - 상품명/이미지/가격/옵션명/재고는 담을 당시 값이고, 조회 시 카탈로그 스냅샷 값으로 덮어쓴다.
+ *   (스냅샷에 없는 비노출 상품만 이 값을 그대로 사용)
+ */
+public record CartLine(
+        Long cartId,
+        Long productId,
+        String optionValue,  // 단품: "", 옵션: "블랙"
+        int quantity,
+        String productName,
+        String thumbnail,    // 전체 URL
+        int price,
+        String optionTitle,  // 단품: "", 옵션: "색상"
+        int stock,
+        long version) {      // cart.version (캐시 반영 순서 판단용, 비회원: 0)
+
+    /**
+     * 장바구니 엔티티 → 한 줄 (상품은 이미 로딩된 상태여야 함)
+     *
+     * @param option 담은 옵션 (단품이거나 옵션을 못 찾았으면 null)
+     */
+    static CartLine of(Cart cart, ProductOption option, String baseUrl) {
+        Product p = cart.getProduct();
+        boolean isOptionProduct = Boolean.TRUE.equals(p.getIsOption());
+
+        String optionValue = "";
+        String optionTitle = "";
+        int stock = (p.getStock() != null) ? p.getStock() : 0;
+
+        if (isOptionProduct) {
+            optionValue = (cart.getOptionValue() == null) ? "" : cart.getOptionValue();
+
+            if (option != null) {
+                optionTitle = (option.getOptionTitle() != null) ? option.getOptionTitle() : "";
+                stock = (option.getStock() != null) ? option.getStock() : 0;
+            } else {
+                // 데이터가 잘못된 상태 → 일단 프론트 안 깨지게만
+                stock = 0;
+            }
+        }
+
+        return new CartLine(
+                cart.getCartId(),
+                p.getProductId(),
+                optionValue,
+                cart.getQuantity(),
+                p.getProductName(),
+                toImageUrl(baseUrl, p.getMainImg()),
+                p.getSellPrice().intValue(),
+                optionTitle,
+                stock,
+                (cart.getVersion() != null) ? cart.getVersion() : 0L);
+    }
+
+    /** 조인 조회 결과 → 한 줄 (옵션 상품인데 맞는 옵션이 없으면 재고 0) */
+    static CartLine of(CartLineRowDto row, String baseUrl) {
+        boolean isOptionProduct = Boolean.TRUE.equals(row.getIsOption());
+        String optionValue = (isOptionProduct && row.getOptionValue() != null) ? row.getOptionValue() : "";
+
+        String optionTitle = "";
+        int stock;
+        if (isOptionProduct) {
+            optionTitle = (row.getOptionTitle() != null) ? row.getOptionTitle() : "";
+            stock = (row.getOptionStock() != null) ? row.getOptionStock() : 0;
+        } else {
+            stock = (row.getProductStock() != null) ? row.getProductStock() : 0;
+        }
+
+        return new CartLine(
+                row.getCartId(),
+                row.getProductId(),
+                optionValue,
+                row.getQuantity(),
+                row.getProductName(),
+                toImageUrl(baseUrl, row.getMainImg()),
+                row.getSellPrice().intValue(),
+                optionTitle,
+                stock,
+                (row.getVersion() != null) ? row.getVersion() : 0L);
+    }
+
+    /** 스냅샷 상품 → 한 줄 (비회원 장바구니용, 옵션 상품이면 옵션이 있어야 함) */
+    static CartLine of(Long cartId, ProductDto p, String optionValue, int quantity) {
+        String value = "";
+        String optionTitle = "";
+        int stock = (p.getStock() != null) ? p.getStock() : 0;
+
+        if (Boolean.TRUE.equals(p.getIsOption())) {
+            ProductOptionDto option = findOption(p, optionValue);
+            value = optionValue;
+            optionTitle = (option != null && option.getOptionTitle() != null) ? option.getOptionTitle() : "";
+            stock = (option != null && option.getStock() != null) ? option.getStock() : 0;
+        }
+
+        return new CartLine(
+                cartId,
+                p.getProductId(),
+                value,
+                quantity,
+                p.getProductName(),
+                p.getMainImg(),
+                p.getSellPrice().intValue(),
+                optionTitle,
+                stock,
+                0L);
+    }
+
+    /** 스냅샷 상품의 옵션 (없으면 null) */
+    static ProductOptionDto findOption(ProductDto p, String optionValue) {
+        if (optionValue == null || p.getOptions() == null) return null;
+        for (ProductOptionDto o : p.getOptions()) {
+            if (optionValue.equals(o.getOptionValue())) return o;
+        }
+        return null;
+    }
+
+    static ProductOptionDto findOptionById(ProductDto p, Long optionId) {
+        if (optionId == null || p.getOptions() == null) return null;
+        for (ProductOptionDto o : p.getOptions()) {
+            if (optionId.equals(o.getOptionId())) return o;
+        }
+        return null;
+    }
+
+    CartLine withQuantity(int newQuantity) {
+        return new CartLine(cartId, productId, optionValue, newQuantity, productName, thumbnail, price, optionTitle, stock, version);
+    }
+
+    private static String toImageUrl(String baseUrl, String mainImg) {
+        if (mainImg == null) return null;
+        return mainImg.startsWith("/") ? baseUrl + mainImg : baseUrl + "/" + mainImg;
+    }
+}
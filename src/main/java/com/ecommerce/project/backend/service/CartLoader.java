@@ -0,0 +1,36 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.config.MusinsaConfig;
+import com.ecommerce.project.backend.dto.CartLineRowDto;
+import com.ecommerce.project.backend.repository.CartRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 장바구니 캐시 미스 시 DB 로딩
+ * - CartCache 와 분리해서 트랜잭션 프록시가 적용되도록 별도 빈으로 둔다.
+ * - 장바구니 + 상품 + 옵션 조인 쿼리 1번으로 읽음 (줄 수와 관계없이 왕복 1회)
+ */
+@Component
+@RequiredArgsConstructor
+public class CartLoader {
+
+    private final CartRepository cartRepository;
+    private final MusinsaConfig musinsaConfig;
+
+    @Transactional(readOnly = true)
+    public List<CartLine> load(Long memberId) {
+        String baseUrl = musinsaConfig.getImageBaseUrl();
+        List<CartLineRowDto> rows = cartRepository.findCartLines(memberId);
+
+        List<CartLine> lines = new ArrayList<>(rows.size());
+        for (CartLineRowDto row : rows) {
+            lines.add(CartLine.of(row, baseUrl));
+        }
+        return lines;
+    }
+}
@@ -1,368 +1,379 @@
 package com.ecommerce.project.backend.service;
 
-import com.ecommerce.project.backend.config.MusinsaConfig;
 import com.ecommerce.project.backend.domain.*;
 import com.ecommerce.project.backend.dto.*;
 import com.ecommerce.project.backend.repository.*;
+import com.ecommerce.project.backend.event.CartChangedEvent;
+import com.ecommerce.project.backend.event.GuestCartMergedEvent;
+import com.ecommerce.project.backend.repository.CartBatchRepository.NewLine;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CartService {
 
-    private final MemberRepository memberRepository;
+    // 버전 충돌 시 최대 시도 횟수 (첫 시도 포함)
+    static final int MAX_ATTEMPTS = 5;
+
+    // 일괄 변경 한 번에 받을 수 있는 최대 연산 수
+    static final int MAX_BATCH_OPERATIONS = 100;
+
     private final CartRepository cartRepository;
-    private final ProductRepository productRepository;
-    private final MusinsaConfig musinsaConfig;
+    private final CatalogService catalogService;
+    private final CartCache cartCache;
+    private final GuestCartStore guestCartStore;
+    private final CartBatchRepository cartBatchRepository;
+    private final CartWriter cartWriter;
+    private final ApplicationEventPublisher eventPublisher;
 
     /** -------------------------
      * 장바구니 담기
      * ------------------------- */
-    @Transactional
     public CartAddResponseDto addToCart(Long memberId, CartAddRequestDto req) {
+        return retryOnConflict(() -> cartWriter.tryAddToCart(memberId, req));
+    }
 
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new RuntimeException("회원 없음"));
-
-        Product product = productRepository.findById(req.getProductId())
-                .orElseThrow(() -> new RuntimeException("상품 없음"));
-
-        boolean isOptionProduct = product.getIsOption(); // tinyint(1) → boolean 매핑된 걸로 가정
-        List<CartItemDto> cartItemDtos = new ArrayList<>();
-
-        if (isOptionProduct) {
-            // ---------------- 옵션 상품 ----------------
-            String optionValue = req.getOptionValue();
-
-            if (optionValue == null || optionValue.isBlank()) {
-                throw new IllegalArgumentException("옵션 값이 필요합니다.");
-            }
-
-            // 옵션 유효성 / 타이틀 조회
-            ProductOption productOption = product.getProductOptions().stream()
-                    .filter(option -> optionValue.equals(option.getOptionValue()))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException("유효하지 않은 옵션입니다."));
-
-            String optionTitle = productOption.getOptionTitle(); // 예: "색상"
+    /** -------------------------
+     * 장바구니 조회
+     * - 줄 목록은 회원별 캐시에서 (캐시 미스일 때만 DB 조회)
+     * - 상품명/이미지/가격/재고/옵션명은 카탈로그 스냅샷 기준으로 다시 채워서 항상 최신 값
+     * ------------------------- */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CartResponseDto getCart(Long memberId) {
+        return toResponse(cartCache.get(memberId));
+    }
 
-            // 같은 상품 + 같은 옵션이면 수량만 증가
-            Optional<Cart> existing = cartRepository
-                    .findByMember_IdAndProduct_ProductIdAndOptionValue(memberId, req.getProductId(), optionValue);
-
-            Cart cart;
-            if (existing.isPresent()) {
-                cart = existing.get();
-                int newQty = cart.getQuantity() + req.getQuantity();
-                if (newQty > product.getStock()) throw new IllegalArgumentException("재고 부족");
-                cart.setQuantity(newQty);
-            } else {
-                cart = Cart.builder()
-                        .member(member)
-                        .product(product)
-                        .optionValue(optionValue)   // 옵션상품은 실제 값 ("블랙" 등)
-                        .quantity(req.getQuantity())
-                        .build();
-                cartRepository.save(cart);
-            }
+    /** 줄 목록 → 화면 응답 (스냅샷 값으로 덮어쓰면서 합계도 같은 반복에서 계산) */
+    private CartResponseDto toResponse(List<CartLine> lines) {
 
-            cartItemDtos.add(buildCartItemDto(cart, optionTitle));
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
 
-        } else {
-            // ---------------- 단품 상품 ----------------
-            if (product.getStock() < req.getQuantity()) {
-                throw new IllegalArgumentException("재고 부족");
-            }
+        List<CartItemDto> items = new ArrayList<>(lines.size());
+        int totalPrice = 0;
+        int totalQty = 0;
+        for (CartLine line : lines) {
+            CartItemDto item = toCartItemDto(line, snapshot.getProduct(line.productId()));
+            items.add(item);
+            totalPrice += item.getPrice() * item.getQuantity();
+            totalQty += item.getQuantity();
+        }
 
-            // 단품은 옵션이 없으므로, optionValue = '' 을 기준으로 찾는다
-            Optional<Cart> existing = cartRepository
-                    .findByMember_IdAndProduct_ProductIdAndOptionValue(memberId, req.getProductId(), "");
+        return CartResponseDto.builder()
+                .items(items)
+                .totalPrice(totalPrice)
+                .totalQuantity(totalQty)
+                .build();
+    }
 
-            Cart cart;
-            if (existing.isPresent()) {
-                cart = existing.get();
-                int newQty = cart.getQuantity() + req.getQuantity();
-                if (newQty > product.getStock()) throw new IllegalArgumentException("재고 부족");
-                cart.setQuantity(newQty);
+    /** 캐시된 줄 + 스냅샷 상품(비노출이면 null) → 화면 DTO */
+    private CartItemDto toCartItemDto(CartLine line, ProductDto p) {
+        String productName = line.productName();
+        String thumbnail = line.thumbnail();
+        int price = line.price();
+        int stock = line.stock();
+        String optionTitle = line.optionTitle();
+
+        if (p != null) {
+            productName = p.getProductName();
+            thumbnail = p.getMainImg();
+            price = p.getSellPrice().intValue();
+
+            if (Boolean.TRUE.equals(p.getIsOption())) {
+                ProductOptionDto matched = CartLine.findOption(p, line.optionValue());
+                stock = (matched != null && matched.getStock() != null) ? matched.getStock() : 0;
+                optionTitle = (matched != null && matched.getOptionTitle() != null) ? matched.getOptionTitle() : "";
             } else {
-                cart = Cart.builder()
-                        .member(member)
-                        .product(product)
-                        .optionValue("")            // ★ 단품 규칙: 항상 빈 문자열
-                        .quantity(req.getQuantity())
-                        .build();
-                cartRepository.save(cart);
+                stock = (p.getStock() != null) ? p.getStock() : 0;
             }
-
-            cartItemDtos.add(buildCartItemDto(cart, "")); // 단품은 optionTitle 도 빈 문자열
         }
 
-        int totalPrice = cartItemDtos.stream()
-                .mapToInt(item -> item.getPrice() * item.getQuantity())
-                .sum();
-
-        int totalQuantity = cartItemDtos.stream()
-                .mapToInt(CartItemDto::getQuantity)
-                .sum();
-
-        return CartAddResponseDto.builder()
-                .items(cartItemDtos)
-                .totalPrice(totalPrice)
-                .totalQuantity(totalQuantity)
+        return CartItemDto.builder()
+                .cartId(line.cartId())
+                .productId(line.productId())
+                .productName(productName)
+                .thumbnail(thumbnail)
+                .quantity(line.quantity())
+                .price(price)
+                .stock(stock)               // 옵션 재고 적용됨
+                .soldOut(stock <= 0)        // 옵션 재고 기준으로 품절
+                .optionValue(line.optionValue())   // 단품: "", 옵션: "블랙"
+                .optionTitle(optionTitle)          // 단품: "", 옵션: "색상"
                 .build();
     }
 
+    /** 옵션 변경 (버전 충돌 시 재시도) */
+    public void changeOption(Long memberId, Long cartId, Long newOptionId, String newOptionValue) {
+        retryOnConflict(() -> cartWriter.tryChangeOption(memberId, cartId, newOptionId, newOptionValue));
+    }
+
     /** -------------------------
-     * 장바구니 조회
+     * 수량 변경 (동시성 보호)
+     * - 행 잠금 대신 버전 비교 UPDATE, 충돌하면 새 트랜잭션으로 다시 읽고 최대 MAX_ATTEMPTS 번 시도
      * ------------------------- */
-    @Transactional(readOnly = true)
-    public CartResponseDto getCart(Long memberId) {
-
-        List<Cart> carts = cartRepository.findByMember_Id(memberId);
-        String baseUrl = musinsaConfig.getImageBaseUrl();
-
-        List<CartItemDto> items = carts.stream().map(cart -> {
+    public void updateQuantity(Long memberId, Long cartId, int quantity) {
 
-            Product p = cart.getProduct();
-            boolean isOptionProduct = p.getIsOption();   // tinyint(1) → boolean 가정
+        if (quantity < 1)
+            throw new IllegalArgumentException("수량은 1 이상");
 
-            String optionValue;
-            String optionTitle;
+        retryOnConflict(() -> cartWriter.tryUpdateQuantity(memberId, cartId, quantity));
+    }
 
-            if (!isOptionProduct) {
-                // -------- 단품 규칙 --------
-                optionValue = "";
-                optionTitle = "";
-            } else {
-                // -------- 옵션 상품 규칙 --------
-                optionValue = cart.getOptionValue();
-
-                if (optionValue == null || optionValue.isBlank()) {
-                    // 데이터가 잘못된 상태 → 일단 프론트 안 깨지게만
-                    optionValue = "";
-                    optionTitle = "";
-                } else {
-                    // optionValue 에 맞는 optionTitle 찾기 (for-loop 사용)
-                    ProductOption matched = null;
-                    for (ProductOption o : p.getProductOptions()) {
-                        if (optionValue.equals(o.getOptionValue())) {
-                            matched = o;
-                            break;
-                        }
-                    }
-
-                    optionTitle = (matched != null && matched.getOptionTitle() != null)
-                            ? matched.getOptionTitle()
-                            : "";
-                }
-            }
+    /** -------------------------
+     * 장바구니 일괄 변경 (담기 / 수량 변경 / 삭제를 한 트랜잭션으로, 버전 충돌 시 전체 재시도)
+     * - 결과 장바구니는 마지막에 한 번만 만들어 반환
+     * ------------------------- */
+    public CartResponseDto applyBatch(Long memberId, List<CartBatchRequestDto.Operation> ops) {
+        validateBatch(ops);
+        retryOnConflict(() -> cartWriter.tryApplyBatch(memberId, ops));
+        return getCart(memberId);
+    }
 
-            String fullImg = null;
-            if (p.getMainImg() != null) {
-                if (p.getMainImg().startsWith("/")) {
-                    fullImg = baseUrl + p.getMainImg();
-                } else {
-                    fullImg = baseUrl + "/" + p.getMainImg();
-                }
+    /** 요청 형식 검증 (DB 조회 전) */
+    private static void validateBatch(List<CartBatchRequestDto.Operation> ops) {
+        if (ops == null || ops.isEmpty())
+            throw new IllegalArgumentException("변경할 항목이 없습니다.");
+        if (ops.size() > MAX_BATCH_OPERATIONS)
+            throw new IllegalArgumentException("한 번에 최대 " + MAX_BATCH_OPERATIONS + "건까지 변경할 수 있습니다.");
+
+        for (CartBatchRequestDto.Operation op : ops) {
+            if (op == null || op.getType() == null)
+                throw new IllegalArgumentException("변경 종류(ADD / UPDATE / DELETE)가 필요합니다.");
+
+            if (op.getType() == CartBatchRequestDto.Type.ADD) {
+                if (op.getProductId() == null) throw new IllegalArgumentException("상품 ID가 필요합니다.");
+            } else if (op.getCartId() == null) {
+                throw new IllegalArgumentException("장바구니 ID가 필요합니다.");
             }
 
-            int price = p.getSellPrice().intValue();
-
-            // ---- 재고 계산 (옵션 포함) ----
-            final String optValue = (optionValue == null) ? "" : optionValue; // 람다용 final 변수
-            int finalStock;
-
-            if (p.getIsOption()) {
-                ProductOption matchedOption = p.getProductOptions().stream()
-                        .filter(o -> optValue.equals(o.getOptionValue()))
-                        .findFirst()
-                        .orElse(null);
+            if (op.getType() != CartBatchRequestDto.Type.DELETE && (op.getQuantity() == null || op.getQuantity() < 1))
+                throw new IllegalArgumentException("수량은 1 이상");
+        }
+    }
 
-                finalStock = (matchedOption != null) ? matchedOption.getStock() : 0;
-            } else {
-                finalStock = p.getStock();
+    /** 버전 충돌(Optional.empty())이면 잠깐 쉬었다가 다시 시도 (충돌한 요청끼리 다시 겹치지 않도록 무작위 대기) */
+    private <T> T retryOnConflict(Supplier<Optional<T>> attempt) {
+        for (int i = 1; i <= MAX_ATTEMPTS; i++) {
+            Optional<T> result = attempt.get();
+            if (result.isPresent()) return result.get();
+
+            if (i < MAX_ATTEMPTS) {
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(1, 2L << i));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
             }
-
-            boolean soldOut = finalStock <= 0;
-
-            return CartItemDto.builder()
-                    .cartId(cart.getCartId())
-                    .productId(p.getProductId())
-                    .productName(p.getProductName())
-                    .thumbnail(fullImg)
-                    .quantity(cart.getQuantity())
-                    .price(price)
-                    .stock(finalStock)          // 옵션 재고 적용됨
-                    .soldOut(soldOut)           // 옵션 재고 기준으로 품절
-                    .optionValue(optionValue)   // 단품: "", 옵션: "블랙"
-                    .optionTitle(optionTitle)   // 단품: "", 옵션: "색상"
-                    .build();
-        }).toList();
-
-        int totalPrice = items.stream()
-                .mapToInt(i -> i.getPrice() * i.getQuantity())
-                .sum();
-        int totalQty = items.stream()
-                .mapToInt(CartItemDto::getQuantity)
-                .sum();
-
-        return CartResponseDto.builder()
-                .items(items)
-                .totalPrice(totalPrice)
-                .totalQuantity(totalQty)
-                .build();
+        }
+        throw new RuntimeException("장바구니가 동시에 변경되고 있습니다. 잠시 후 다시 시도해주세요.");
     }
 
+    /** -------------------------
+     * 삭제
+     * ------------------------- */
     @Transactional
-    public void changeOption(Long memberId, Long cartId, String newOptionValue) {
+    public void delete(Long cartId, Long memberId) {
 
-        // 1. 장바구니 항목 조회
         Cart cart = cartRepository.findByCartIdAndMember_Id(cartId, memberId)
-                .orElseThrow(() -> new RuntimeException("장바구니 항목을 찾을 수 없습니다."));
+                .orElseThrow(() -> new RuntimeException("장바구니 없음"));
 
-        Product product = cart.getProduct();
+        cartRepository.delete(cart);  // 장바구니 항목 삭제
+        eventPublisher.publishEvent(CartChangedEvent.removed(memberId, cartId));
+    }
 
-        // 2. 단품이면 옵션 변경 불가
-        if (!product.getIsOption()) {
-            throw new IllegalArgumentException("단품 상품은 옵션을 변경할 수 없습니다.");
-        }
+    @Transactional
+    public void clearCartByMemberId(Long memberId) {
+        cartRepository.deleteByMemberId(memberId);
+        eventPublisher.publishEvent(CartChangedEvent.cleared(memberId));
+    }
 
-        // 3. 옵션 값 필수
-        if (newOptionValue == null || newOptionValue.isBlank()) {
-            throw new IllegalArgumentException("옵션 값이 필요합니다.");
-        }
+    /** 비회원 장바구니 전체 삭제 (메모리에서만) */
+    public void clearCartBySessionId(String sessionId) {
+        guestCartStore.remove(sessionId);
+    }
 
-        // 4. 같은 값이면 변경 불필요
-        if (newOptionValue.equals(cart.getOptionValue())) {
-            return;
-        }
+    /** -------------------------
+     * 비회원 장바구니 (세션 ID 기준, DB 미사용)
+     * - 노출 중인 상품만 담을 수 있으므로 상품/옵션/재고 검증은 카탈로그 스냅샷으로 처리
+     * - 줄 ID(cartId) 는 음수라 회원 장바구니 ID 와 겹치지 않음
+     * ------------------------- */
+    public CartResponseDto getGuestCart(String sessionId) {
+        return toResponse(guestCartStore.get(sessionId));
+    }
 
-        // 5. 실제 존재하는 옵션인지 검증
-        boolean exists = product.getProductOptions().stream()
-                .anyMatch(opt -> newOptionValue.equals(opt.getOptionValue()));
+    public void addToGuestCart(String sessionId, CartAddRequestDto req) {
 
-        if (!exists) {
-            throw new IllegalArgumentException("유효하지 않은 옵션입니다.");
-        }
+        if (req.getQuantity() == null || req.getQuantity() < 1)
+            throw new IllegalArgumentException("수량은 1 이상");
+
+        ProductDto product = catalogService.getSnapshot().getProduct(req.getProductId());
+        if (product == null) throw new RuntimeException("상품 없음");
 
-        // 6. 품목 재고 체크(옵션별 재고가 있다면 여기 추가)
-        // TODO: 옵션별 재고 구조 사용 시 확장
-        if (cart.getQuantity() > product.getStock()) {
-            throw new IllegalArgumentException("재고 부족");
+        String optionValue = "";  // 단품 규칙: 항상 빈 문자열
+        if (Boolean.TRUE.equals(product.getIsOption())) {
+            if (req.getOptionId() == null && (req.getOptionValue() == null || req.getOptionValue().isBlank())) {
+                throw new IllegalArgumentException("옵션 값이 필요합니다.");
+            }
+            ProductOptionDto option = (req.getOptionId() != null)
+                    ? CartLine.findOptionById(product, req.getOptionId())
+                    : CartLine.findOption(product, req.getOptionValue());
+            if (option == null) {
+                throw new IllegalArgumentException("유효하지 않은 옵션입니다.");
+            }
+            optionValue = option.getOptionValue();
         }
 
-        // 7. 옵션 변경
-        cart.setOptionValue(newOptionValue);
+        String value = optionValue;
+        guestCartStore.update(sessionId, lines -> {
+            // 같은 상품 + 같은 옵션이면 수량만 증가
+            for (int i = 0; i < lines.size(); i++) {
+                CartLine line = lines.get(i);
+                if (line.productId().equals(product.getProductId()) && line.optionValue().equals(value)) {
+                    CartLine updated = CartLine.of(line.cartId(), product, value, line.quantity() + req.getQuantity());
+                    if (updated.quantity() > updated.stock()) throw new IllegalArgumentException("재고 부족");
+                    lines.set(i, updated);
+                    return lines;
+                }
+            }
 
-        // @Transactional에 의해 flush 자동 반영
+            CartLine added = CartLine.of(guestCartStore.nextCartId(), product, value, req.getQuantity());
+            if (added.quantity() > added.stock()) throw new IllegalArgumentException("재고 부족");
+            lines.add(added);
+            return lines;
+        });
     }
 
-    /** -------------------------
-     * 수량 변경 (동시성 보호)
-     * ------------------------- */
-    @Transactional
-    public void updateQuantity(Long memberId, Long cartId, int quantity) {
+    public void updateGuestQuantity(String sessionId, Long cartId, int quantity) {
 
         if (quantity < 1)
             throw new IllegalArgumentException("수량은 1 이상");
 
-        // row-level lock
-        Cart cart = cartRepository.findForUpdate(cartId, memberId)
-                .orElseThrow(() -> new RuntimeException("장바구니 없음"));
+        CatalogSnapshot snapshot = catalogService.getSnapshot(); // 세션 잠금(compute) 밖에서 미리 읽음
+        guestCartStore.update(sessionId, lines -> {
+            int i = indexOf(lines, cartId);
+            CartLine line = lines.get(i);
 
-        Product product = cart.getProduct();
+            ProductDto product = snapshot.getProduct(line.productId());
+            if (product == null) throw new IllegalArgumentException("판매 중인 상품이 아닙니다.");
 
-        // 핵심 포인트: 옵션 상품인지 여부 체크
-        if (product.getIsOption()) {
+            CartLine updated = CartLine.of(cartId, product, line.optionValue(), quantity);
+            if (quantity > updated.stock()) throw new IllegalArgumentException("재고 부족");
 
-            // 장바구니에 저장된 옵션값 기준으로 ProductOption 찾아야 함
-            ProductOption option = product.getProductOptions().stream()
-                    .filter(o -> o.getOptionValue().equals(cart.getOptionValue()))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException("옵션 없음"));
+            lines.set(i, updated);
+            return lines;
+        });
+    }
 
-            // 옵션 재고 기준 체크
-            if (quantity > option.getStock()) {
-                throw new IllegalArgumentException("재고 부족");
-            }
+    public void changeGuestOption(String sessionId, Long cartId, Long newOptionId, String newOptionValue) {
 
-        } else {
-            // 단일 상품
-            if (quantity > product.getStock()) {
-                throw new IllegalArgumentException("재고 부족");
-            }
+        if (newOptionId == null && (newOptionValue == null || newOptionValue.isBlank())) {
+            throw new IllegalArgumentException("옵션 값이 필요합니다.");
         }
 
-        // 검증 통과 → 수량 업데이트
-        cart.setQuantity(quantity);
-    }
+        CatalogSnapshot snapshot = catalogService.getSnapshot(); // 세션 잠금(compute) 밖에서 미리 읽음
+        guestCartStore.update(sessionId, lines -> {
+            int i = indexOf(lines, cartId);
+            CartLine line = lines.get(i);
 
-    /** -------------------------
-     * 삭제
-     * ------------------------- */
-    @Transactional
-    public void delete(Long cartId, Long memberId) {
+            ProductDto product = snapshot.getProduct(line.productId());
+            if (product == null) throw new IllegalArgumentException("판매 중인 상품이 아닙니다.");
+            if (!Boolean.TRUE.equals(product.getIsOption())) {
+                throw new IllegalArgumentException("단품 상품은 옵션을 변경할 수 없습니다.");
+            }
 
-        Cart cart = cartRepository.findByCartIdAndMember_Id(cartId, memberId)
-                .orElseThrow(() -> new RuntimeException("장바구니 없음"));
+            ProductOptionDto option = (newOptionId != null)
+                    ? CartLine.findOptionById(product, newOptionId)
+                    : CartLine.findOption(product, newOptionValue);
+            if (option == null) {
+                throw new IllegalArgumentException("유효하지 않은 옵션입니다.");
+            }
+            if (option.getOptionValue().equals(line.optionValue())) return lines;
 
-        cartRepository.delete(cart);  // 장바구니 항목 삭제
+            CartLine updated = CartLine.of(cartId, product, option.getOptionValue(), line.quantity());
+            if (updated.quantity() > updated.stock()) throw new IllegalArgumentException("재고 부족");
+
+            lines.set(i, updated);
+            return lines;
+        });
     }
 
-    @Transactional
-    public void clearCartByMemberId(Long memberId) {
-        cartRepository.deleteByMemberId(memberId);
+    public void deleteGuest(String sessionId, Long cartId) {
+        guestCartStore.update(sessionId, lines -> {
+            lines.remove(indexOf(lines, cartId));
+            return lines;
+        });
     }
 
-    @Transactional
-    public void clearCartBySessionId(String sessionId) {
-        cartRepository.deleteBySessionId(sessionId);
+    private static int indexOf(List<CartLine> lines, Long cartId) {
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).cartId().equals(cartId)) return i;
+        }
+        throw new RuntimeException("장바구니 없음");
     }
 
     /** -------------------------
-     * 장바구니 엔티티(Cart) 하나를 화면으로 내려주는 DTO(CartItemDto) 로 변환
+     * 로그인 시 비회원 장바구니 → 회원 장바구니 병합
+     * - 회원 장바구니 1회 조회 + 추가/수량 변경을 JDBC 배치로 한 트랜잭션에 반영
+     * - 같은 상품 + 같은 옵션이면 수량을 더하고, 재고를 넘으면 재고만큼만 (로그인이 실패하면 안 되므로 예외 대신 조정)
+     * - 판매 중지된 상품 / 없어진 옵션 / 품절은 건너뜀
+     * - 커밋 후 비회원 장바구니 삭제 + 회원 장바구니 캐시 무효화
      * ------------------------- */
-    private CartItemDto buildCartItemDto(Cart cart, String optionTitle) {
-        Product product = cart.getProduct();
+    @Transactional
+    public void mergeGuestCart(Long memberId, String sessionId) {
+
+        List<CartLine> guestLines = guestCartStore.get(sessionId);
+        if (guestLines.isEmpty()) return;
+
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
 
-        String finalOptionTitle = (optionTitle == null) ? "" : optionTitle;
-        String optionValue = (cart.getOptionValue() == null) ? "" : cart.getOptionValue();
+        // (상품 ID, 옵션값) → 기존 회원 장바구니 줄 (product 는 프록시라 ID 만 읽고 로딩하지 않음)
+        Map<String, Cart> existing = new HashMap<>();
+        for (Cart cart : cartRepository.findByMember_Id(memberId)) {
+            String optionValue = (cart.getOptionValue() == null) ? "" : cart.getOptionValue();
+            existing.putIfAbsent(lineKey(cart.getProduct().getProductId(), optionValue), cart);
+        }
 
-        // stock 계산 (옵션 고려)
-        int finalStock;
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        Map<String, NewLine> inserts = new LinkedHashMap<>();
 
-        // 옵션 상품인 경우 → 옵션별 재고 사용
-        if (product.getIsOption()) {
-            ProductOption matchedOption = product.getProductOptions().stream()
-                    .filter(o -> optionValue.equals(o.getOptionValue()))
-                    .findFirst()
-                    .orElse(null);
+        for (CartLine guest : guestLines) {
+            ProductDto product = snapshot.getProduct(guest.productId());
+            if (product == null) continue;
 
-            finalStock = (matchedOption != null) ? matchedOption.getStock() : 0;
+            if (Boolean.TRUE.equals(product.getIsOption()) && CartLine.findOption(product, guest.optionValue()) == null) continue;
+            CartLine current = CartLine.of(null, product, guest.optionValue(), guest.quantity());
 
-        } else {
-            // 단품 상품 → 전체 재고 사용
-            finalStock = product.getStock();
+            String key = lineKey(guest.productId(), current.optionValue());
+            Cart cart = existing.get(key);
+            if (cart != null) {
+                int base = quantities.getOrDefault(cart.getCartId(), cart.getQuantity());
+                int merged = Math.min(base + guest.quantity(), Math.max(current.stock(), base));
+                if (merged != cart.getQuantity()) quantities.put(cart.getCartId(), merged);
+            } else {
+                NewLine prev = inserts.get(key);
+                int base = (prev == null) ? 0 : prev.quantity();
+                int merged = Math.min(base + guest.quantity(), current.stock());
+                if (merged > 0) inserts.put(key, new NewLine(guest.productId(), current.optionValue(), merged));
+            }
         }
 
-        return CartItemDto.builder()
-                .cartId(cart.getCartId())
-                .productId(product.getProductId())
-                .productName(product.getProductName())
-                .thumbnail(product.getMainImg())
-                .quantity(cart.getQuantity())
-                .price(product.getSellPrice().intValue())
-                .stock(finalStock)                // 옵션별 재고를 사용
-                .soldOut(finalStock <= 0)         // 옵션 재고 기준으로 품절 처리
-                .optionValue(optionValue)       // 단품이면 "", 옵션상품이면 "블랙" 같은 값
-                .optionTitle(finalOptionTitle)  // 단품이면 "", 옵션상품이면 "색상"
-                .build();
+        cartBatchRepository.updateQuantities(memberId, quantities);
+        cartBatchRepository.insertLines(memberId, new ArrayList<>(inserts.values()));
+
+        eventPublisher.publishEvent(CartChangedEvent.invalidated(memberId));
+        eventPublisher.publishEvent(new GuestCartMergedEvent(sessionId));
+    }
+
+    private static String lineKey(Long productId, String optionValue) {
+        return productId + "|" + optionValue;
     }
 }
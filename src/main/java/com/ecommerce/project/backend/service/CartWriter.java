@@ -0,0 +1,389 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.config.MusinsaConfig;
+import com.ecommerce.project.backend.domain.*;
+import com.ecommerce.project.backend.dto.CartAddRequestDto;
+import com.ecommerce.project.backend.dto.CartAddResponseDto;
+import com.ecommerce.project.backend.dto.CartBatchRequestDto;
+import com.ecommerce.project.backend.dto.CartItemDto;
+import com.ecommerce.project.backend.event.CartChangedEvent;
+import com.ecommerce.project.backend.repository.CartBatchRepository;
+import com.ecommerce.project.backend.repository.CartBatchRepository.NewLine;
+import com.ecommerce.project.backend.repository.CartBatchRepository.QuantityChange;
+import com.ecommerce.project.backend.repository.CartBatchRepository.VersionedLine;
+import com.ecommerce.project.backend.repository.CartRepository;
+import com.ecommerce.project.backend.repository.MemberRepository;
+import com.ecommerce.project.backend.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.util.*;
+
+/**
+ * 회원 장바구니 변경 1회 시도 (시도마다 별도 트랜잭션)
+ * - 행 잠금(SELECT ... FOR UPDATE) 없이 읽고 검증한 뒤, 읽은 버전 그대로일 때만 UPDATE (compare-and-set)
+ * - 그 사이 다른 요청이 먼저 바꿨으면 Optional.empty() → CartService 가 새 트랜잭션으로 다시 읽고 재시도
+ *   (같은 트랜잭션에서 다시 읽으면 REPEATABLE READ 스냅샷이라 같은 버전이 보이므로 트랜잭션을 나눈다)
+ * - CAS 쿼리가 영속성 컨텍스트를 비우므로 이후 엔티티 수정은 응답/이벤트 값 맞추기용
+ */
+@Component
+@RequiredArgsConstructor
+public class CartWriter {
+
+    private final MemberRepository memberRepository;
+    private final CartRepository cartRepository;
+    private final ProductRepository productRepository;
+    private final MusinsaConfig musinsaConfig;
+    private final ProductOptionIndexCache productOptionIndexCache;
+    private final CartBatchRepository cartBatchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** 장바구니 담기 (같은 상품 + 같은 옵션이 있으면 수량 증가) */
+    @Transactional
+    public Optional<CartAddResponseDto> tryAddToCart(Long memberId, CartAddRequestDto req) {
+
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new RuntimeException("회원 없음"));
+
+        Product product = productRepository.findWithOptionsByProductId(req.getProductId())
+                .orElseThrow(() -> new RuntimeException("상품 없음"));
+
+        boolean isOptionProduct = product.getIsOption(); // tinyint(1) → boolean 매핑된 걸로 가정
+        ProductOption productOption = null;
+        String optionValue = "";            // ★ 단품 규칙: 항상 빈 문자열
+
+        if (isOptionProduct) {
+            // ---------------- 옵션 상품 ----------------
+            if (req.getOptionId() == null && (req.getOptionValue() == null || req.getOptionValue().isBlank())) {
+                throw new IllegalArgumentException("옵션 값이 필요합니다.");
+            }
+
+            // 옵션 유효성 / 타이틀 조회 (optionId 우선, 옵션 인덱스로 O(1))
+            productOption = productOptionIndexCache.resolve(product, req.getOptionId(), req.getOptionValue());
+            if (productOption == null) {
+                throw new IllegalArgumentException("유효하지 않은 옵션입니다.");
+            }
+
+            optionValue = productOption.getOptionValue(); // 예: "블랙"
+        } else {
+            // ---------------- 단품 상품 ----------------
+            if (product.getStock() < req.getQuantity()) {
+                throw new IllegalArgumentException("재고 부족");
+            }
+        }
+
+        // 같은 상품 + 같은 옵션이면 수량만 증가
+        Optional<Cart> existing = cartRepository
+                .findByMember_IdAndProduct_ProductIdAndOptionValue(memberId, req.getProductId(), optionValue);
+
+        Cart cart;
+        if (existing.isPresent()) {
+            cart = existing.get();
+            int newQty = cart.getQuantity() + req.getQuantity();
+            if (newQty > product.getStock()) throw new IllegalArgumentException("재고 부족");
+
+            if (cartRepository.compareAndSetQuantity(cart.getCartId(), memberId, cart.getVersion(), newQty) == 0) {
+                return Optional.empty();
+            }
+            cart.setQuantity(newQty);
+            cart.setVersion(cart.getVersion() + 1); // UPDATE 가 올린 버전과 맞춤 (캐시 반영 순서 판단용)
+        } else {
+            cart = Cart.builder()
+                    .member(member)
+                    .product(product)
+                    .optionValue(optionValue)   // 옵션상품은 실제 값 ("블랙" 등)
+                    .quantity(req.getQuantity())
+                    .build();
+            cartRepository.save(cart);
+        }
+
+        CartItemDto item = buildCartItemDto(cart, productOption); // 단품은 optionTitle 도 빈 문자열
+        eventPublisher.publishEvent(CartChangedEvent.upserted(memberId, CartLine.of(cart, productOption, musinsaConfig.getImageBaseUrl())));
+
+        return Optional.of(CartAddResponseDto.builder()
+                .items(List.of(item))
+                .totalPrice(item.getPrice() * item.getQuantity())
+                .totalQuantity(item.getQuantity())
+                .build());
+    }
+
+    /** 옵션 변경 */
+    @Transactional
+    public Optional<CartLine> tryChangeOption(Long memberId, Long cartId, Long newOptionId, String newOptionValue) {
+
+        // 1. 장바구니 항목 조회
+        Cart cart = cartRepository.findWithProductOptions(cartId, memberId)
+                .orElseThrow(() -> new RuntimeException("장바구니 항목을 찾을 수 없습니다."));
+
+        Product product = cart.getProduct();
+
+        // 2. 단품이면 옵션 변경 불가
+        if (!product.getIsOption()) {
+            throw new IllegalArgumentException("단품 상품은 옵션을 변경할 수 없습니다.");
+        }
+
+        // 3. 옵션 값 필수 (optionId 또는 옵션값)
+        if (newOptionId == null && (newOptionValue == null || newOptionValue.isBlank())) {
+            throw new IllegalArgumentException("옵션 값이 필요합니다.");
+        }
+
+        // 4. 실제 존재하는 옵션인지 검증 (옵션 인덱스로 O(1))
+        ProductOption option = productOptionIndexCache.resolve(product, newOptionId, newOptionValue);
+        if (option == null) {
+            throw new IllegalArgumentException("유효하지 않은 옵션입니다.");
+        }
+
+        // 5. 같은 값이면 변경 불필요
+        if (option.getOptionValue().equals(cart.getOptionValue())) {
+            return Optional.of(CartLine.of(cart, option, musinsaConfig.getImageBaseUrl()));
+        }
+
+        // 6. 바꿀 옵션의 재고 체크
+        if (cart.getQuantity() > option.getStock()) {
+            throw new IllegalArgumentException("재고 부족");
+        }
+
+        // 7. 옵션 변경 (읽은 버전 그대로일 때만)
+        if (cartRepository.compareAndSetOption(cartId, memberId, cart.getVersion(), option.getOptionValue()) == 0) {
+            return Optional.empty();
+        }
+        cart.setOptionValue(option.getOptionValue());
+        cart.setVersion(cart.getVersion() + 1);
+
+        CartLine line = CartLine.of(cart, option, musinsaConfig.getImageBaseUrl());
+        eventPublisher.publishEvent(CartChangedEvent.upserted(memberId, line));
+        return Optional.of(line);
+    }
+
+    /** 수량 변경 */
+    @Transactional
+    public Optional<CartLine> tryUpdateQuantity(Long memberId, Long cartId, int quantity) {
+
+        // 잠금 없이 읽음 (충돌은 UPDATE 의 버전 비교로 감지)
+        Cart cart = cartRepository.findWithProductOptions(cartId, memberId)
+                .orElseThrow(() -> new RuntimeException("장바구니 없음"));
+
+        Product product = cart.getProduct();
+        ProductOption option = null;
+
+        // 핵심 포인트: 옵션 상품인지 여부 체크
+        if (product.getIsOption()) {
+
+            // 장바구니에 저장된 옵션값 기준으로 ProductOption 찾아야 함 (옵션 인덱스)
+            option = productOptionIndexCache.resolve(product, null, cart.getOptionValue());
+            if (option == null) throw new IllegalArgumentException("옵션 없음");
+
+            // 옵션 재고 기준 체크
+            if (quantity > option.getStock()) {
+                throw new IllegalArgumentException("재고 부족");
+            }
+
+        } else {
+            // 단일 상품
+            if (quantity > product.getStock()) {
+                throw new IllegalArgumentException("재고 부족");
+            }
+        }
+
+        // 검증 통과 → 읽은 버전 그대로일 때만 수량 업데이트
+        if (cartRepository.compareAndSetQuantity(cartId, memberId, cart.getVersion(), quantity) == 0) {
+            return Optional.empty();
+        }
+        cart.setQuantity(quantity);
+        cart.setVersion(cart.getVersion() + 1);
+
+        CartLine line = CartLine.of(cart, option, musinsaConfig.getImageBaseUrl());
+        eventPublisher.publishEvent(CartChangedEvent.upserted(memberId, line));
+        return Optional.of(line);
+    }
+
+    /**
+     * 여러 줄 담기 / 수량 변경 / 삭제를 한 트랜잭션으로
+     * - 회원 장바구니 1회 + 관련 상품·옵션 1회 조회 후 메모리에서 요청 순서대로 적용
+     * - 재고는 바뀐 줄만 모아서 한 번에 검증, 반영은 JDBC 배치 (수정/삭제는 읽은 버전일 때만)
+     * - 한 줄이라도 버전이 바뀌었으면 전부 롤백하고 Optional.empty()
+     *
+     * @return 적용한 연산 수
+     */
+    @Transactional
+    public Optional<Integer> tryApplyBatch(Long memberId, List<CartBatchRequestDto.Operation> ops) {
+
+        // 1. 회원 장바구니 (cartId / 상품|옵션 기준)
+        Map<Long, Cart> byId = new HashMap<>();
+        Map<String, Cart> byKey = new HashMap<>();
+        for (Cart cart : cartRepository.findByMember_Id(memberId)) {
+            byId.put(cart.getCartId(), cart);
+            byKey.put(lineKey(cart.getProduct().getProductId(), cart.getOptionValue()), cart);
+        }
+
+        // 2. 요청이 건드리는 상품 + 옵션을 한 번에
+        Set<Long> productIds = new HashSet<>();
+        for (CartBatchRequestDto.Operation op : ops) {
+            if (op.getType() == CartBatchRequestDto.Type.ADD) {
+                productIds.add(op.getProductId());
+            } else if (byId.containsKey(op.getCartId())) {
+                productIds.add(byId.get(op.getCartId()).getProduct().getProductId());
+            }
+        }
+        Map<Long, Product> products = new HashMap<>();
+        Map<Long, ProductOption> optionsById = new HashMap<>();
+        if (!productIds.isEmpty()) {
+            for (Product p : productRepository.findWithOptionsByProductIdIn(productIds)) {
+                products.put(p.getProductId(), p);
+                p.getProductOptions().forEach(o -> optionsById.put(o.getOptionId(), o));
+            }
+        }
+        Map<Long, ProductOptionIndex> indexes = new HashMap<>();
+
+        // 3. 요청 순서대로 적용 (DB 반영 전)
+        Map<Long, Integer> quantities = new LinkedHashMap<>(); // 기존 줄 cartId → 새 수량
+        Set<Long> deleted = new LinkedHashSet<>();
+        Map<String, NewLine> added = new LinkedHashMap<>();    // 새 줄 (상품|옵션 → 줄)
+
+        for (CartBatchRequestDto.Operation op : ops) {
+            switch (op.getType()) {
+                case ADD -> {
+                    Product product = products.get(op.getProductId());
+                    if (product == null) throw new RuntimeException("상품 없음");
+
+                    String optionValue = "";            // 단품 규칙: 항상 빈 문자열
+                    if (product.getIsOption()) {
+                        if (op.getOptionId() == null && (op.getOptionValue() == null || op.getOptionValue().isBlank())) {
+                            throw new IllegalArgumentException("옵션 값이 필요합니다.");
+                        }
+                        ProductOptionIndex.OptionKey key = findOptionKey(indexes, product, op.getOptionId(), op.getOptionValue());
+                        if (key == null) throw new IllegalArgumentException("유효하지 않은 옵션입니다.");
+                        optionValue = key.optionValue();
+                    }
+
+                    String key = lineKey(product.getProductId(), optionValue);
+                    Cart cart = byKey.get(key);
+                    if (cart == null) {
+                        NewLine prev = added.get(key);
+                        int quantity = (prev == null ? 0 : prev.quantity()) + op.getQuantity();
+                        added.put(key, new NewLine(product.getProductId(), optionValue, quantity));
+                    } else if (deleted.remove(cart.getCartId())) {
+                        quantities.put(cart.getCartId(), op.getQuantity()); // 같은 요청에서 지웠다가 다시 담음
+                    } else {
+                        quantities.put(cart.getCartId(), quantities.getOrDefault(cart.getCartId(), cart.getQuantity()) + op.getQuantity());
+                    }
+                }
+                case UPDATE -> quantities.put(findLine(byId, deleted, op.getCartId()).getCartId(), op.getQuantity());
+                case DELETE -> {
+                    Cart cart = findLine(byId, deleted, op.getCartId());
+                    quantities.remove(cart.getCartId());
+                    deleted.add(cart.getCartId());
+                }
+            }
+        }
+
+        // 4. 재고 검증 (바뀐 줄만, 부족한 상품을 모아서 한 번에 알림)
+        List<QuantityChange> changes = new ArrayList<>();
+        Set<String> shortages = new LinkedHashSet<>();
+        quantities.forEach((cartId, quantity) -> {
+            Cart cart = byId.get(cartId);
+            if (quantity.equals(cart.getQuantity())) return;
+
+            Product product = products.get(cart.getProduct().getProductId());
+            if (quantity > stockOf(indexes, optionsById, product, cart.getOptionValue())) shortages.add(product.getProductName());
+            changes.add(new QuantityChange(cartId, cart.getVersion(), quantity));
+        });
+        for (NewLine line : added.values()) {
+            Product product = products.get(line.productId());
+            if (line.quantity() > stockOf(indexes, optionsById, product, line.optionValue())) shortages.add(product.getProductName());
+        }
+        if (!shortages.isEmpty()) {
+            throw new IllegalArgumentException("재고 부족: " + String.join(", ", shortages));
+        }
+
+        // 5. 반영 (수정/삭제가 하나라도 0건이면 다른 요청이 먼저 바꾼 것 → 전부 롤백 후 재시도)
+        List<VersionedLine> removals = new ArrayList<>(deleted.size());
+        for (Long cartId : deleted) {
+            removals.add(new VersionedLine(cartId, byId.get(cartId).getVersion()));
+        }
+        if (!cartBatchRepository.compareAndSetQuantities(memberId, changes)
+                || !cartBatchRepository.compareAndDelete(memberId, removals)) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return Optional.empty();
+        }
+        cartBatchRepository.insertLines(memberId, new ArrayList<>(added.values()));
+
+        eventPublisher.publishEvent(CartChangedEvent.invalidated(memberId));
+        return Optional.of(ops.size());
+    }
+
+    /** 요청의 cartId 가 이 회원의 (아직 지우지 않은) 줄인지 */
+    private static Cart findLine(Map<Long, Cart> byId, Set<Long> deleted, Long cartId) {
+        Cart cart = byId.get(cartId);
+        if (cart == null || deleted.contains(cartId)) {
+            throw new RuntimeException("장바구니 없음");
+        }
+        return cart;
+    }
+
+    /** 이미 읽어 온 옵션 목록으로 인덱스를 만들어 optionId → 옵션값 → "옵션명 옵션값" 순으로 찾음 */
+    private static ProductOptionIndex.OptionKey findOptionKey(Map<Long, ProductOptionIndex> indexes, Product product,
+                                                              Long optionId, String optionValue) {
+        ProductOptionIndex index = indexes.computeIfAbsent(product.getProductId(), id -> {
+            List<ProductOption> options = new ArrayList<>(product.getProductOptions());
+            options.sort(Comparator.comparing(ProductOption::getOptionId));
+            return ProductOptionIndex.of(options);
+        });
+
+        if (optionId != null) return index.findById(optionId);
+        ProductOptionIndex.OptionKey key = index.findByValue(optionValue);
+        return key != null ? key : index.findByLabel(optionValue);
+    }
+
+    /** 옵션 상품은 옵션 재고, 단품은 상품 재고 */
+    private static int stockOf(Map<Long, ProductOptionIndex> indexes, Map<Long, ProductOption> optionsById,
+                               Product product, String optionValue) {
+        if (!product.getIsOption()) return product.getStock();
+
+        ProductOptionIndex.OptionKey key = findOptionKey(indexes, product, null, optionValue);
+        if (key == null) throw new IllegalArgumentException("옵션 없음");
+        return optionsById.get(key.optionId()).getStock();
+    }
+
+    private static String lineKey(Long productId, String optionValue) {
+        return productId + "|" + (optionValue == null ? "" : optionValue);
+    }
+
+    /** -------------------------
+     * 장바구니 엔티티(Cart) 하나를 화면으로 내려주는 DTO(CartItemDto) 로 변환
+     * ------------------------- */
+    private CartItemDto buildCartItemDto(Cart cart, ProductOption option) {
+        Product product = cart.getProduct();
+
+        String finalOptionTitle = (option == null || option.getOptionTitle() == null) ? "" : option.getOptionTitle();
+        String optionValue = (cart.getOptionValue() == null) ? "" : cart.getOptionValue();
+
+        // stock 계산 (옵션 고려)
+        int finalStock;
+
+        // 옵션 상품인 경우 → 옵션별 재고 사용
+        if (product.getIsOption()) {
+            finalStock = (option != null) ? option.getStock() : 0;
+
+        } else {
+            // 단품 상품 → 전체 재고 사용
+            finalStock = product.getStock();
+        }
+
+        return CartItemDto.builder()
+                .cartId(cart.getCartId())
+                .productId(product.getProductId())
+                .productName(product.getProductName())
+                .thumbnail(product.getMainImg())
+                .quantity(cart.getQuantity())
+                .price(product.getSellPrice().intValue())
+                .stock(finalStock)                // 옵션별 재고를 사용
+                .soldOut(finalStock <= 0)         // 옵션 재고 기준으로 품절 처리
+                .optionValue(optionValue)       // 단품이면 "", 옵션상품이면 "블랙" 같은 값
+                .optionTitle(finalOptionTitle)  // 단품이면 "", 옵션상품이면 "색상"
+                .build();
+    }
+}
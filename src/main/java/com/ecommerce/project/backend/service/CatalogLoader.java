@@ -0,0 +1,94 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.config.MusinsaConfig;
+import com.ecommerce.project.backend.domain.CategoryLink;
+import com.ecommerce.project.backend.domain.Product;
+import com.ecommerce.project.backend.dto.ProductDto;
+import com.ecommerce.project.backend.dto.ProductListDto;
+import com.ecommerce.project.backend.repository.ProductOptionRepository;
+import com.ecommerce.project.backend.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DB에서 상품을 읽어 카탈로그 스냅샷 항목으로 변환하는 로더
+ * - CatalogService 에서 프록시를 거쳐 호출되도록 별도 빈으로 분리 (트랜잭션 적용)
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogLoader {
+
+    private final ProductRepository productRepository;
+    private final ProductOptionRepository productOptionRepository;
+    private final ProductBatchLoader productBatchLoader;
+    private final MusinsaConfig musinsaConfig;
+
+    /** 노출 중인 전체 상품 로딩 */
+    @Transactional(readOnly = true)
+    public List<CatalogSnapshot.Entry> loadAllVisible() {
+        return toEntries(productRepository.findAllVisibleProducts());
+    }
+
+    /**
+     * 지정한 상품만 다시 로딩 (비노출/삭제 상품은 결과에서 빠짐)
+     * - 커밋 직후(AFTER_COMMIT)에 호출되므로 새 트랜잭션/영속성 컨텍스트에서 최신 데이터를 읽는다.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public List<CatalogSnapshot.Entry> loadVisible(Collection<Long> productIds) {
+        List<Product> products = productRepository.findAllById(productIds).stream()
+                .filter(p -> Boolean.TRUE.equals(p.getIsShow()))
+                .toList();
+        return toEntries(products);
+    }
+
+    /**
+     * 재고만 바뀐 상품의 현재 재고 / 상태 (상품 1회 + 옵션 1회)
+     *
+     * @param optionStocks 옵션 재고를 채워 넣을 맵 (option_id → 재고)
+     */
+    @Transactional(readOnly = true)
+    public List<CatalogSnapshot.StockRow> loadStocks(Collection<Long> productIds, Map<Long, Integer> optionStocks) {
+        for (Object[] row : productOptionRepository.findStockRowsByProductIdIn(productIds)) {
+            optionStocks.put((Long) row[0], (Integer) row[1]);
+        }
+        return productRepository.findStockRowsByProductIdIn(productIds).stream()
+                .map(row -> new CatalogSnapshot.StockRow((Long) row[0], (Integer) row[1], (Integer) row[2], (Boolean) row[3]))
+                .toList();
+    }
+
+    private List<CatalogSnapshot.Entry> toEntries(List<Product> products) {
+        String baseUrl = musinsaConfig.getImageBaseUrl();
+
+        // 옵션/이미지/카테고리 링크는 IN 쿼리로 일괄 조회 (상품별 LAZY 로딩 없음)
+        ProductBatchLoader.Batch batch = productBatchLoader.load(products);
+
+        return products.stream()
+                .map(p -> {
+                    ProductDto dto = batch.toDto(p, baseUrl);
+
+                    List<String> codes = batch.categoryLinksOf(p.getProductId()).stream()
+                            .map(CategoryLink::getCategoryCode)
+                            .toList();
+
+                    // findProductList() 와 동일하게 카테고리 링크마다 1건씩 생성
+                    List<ProductListDto> listItems = codes.stream()
+                            .map(code -> new ProductListDto(
+                                    p.getProductId(),
+                                    p.getProductName(),
+                                    p.getSellPrice(),
+                                    p.getConsumerPrice(),
+                                    p.getMainImg(),
+                                    code))
+                            .toList();
+
+                    return new CatalogSnapshot.Entry(dto, codes, listItems);
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,134 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.event.CatalogRefreshedEvent;
+import com.ecommerce.project.backend.event.ProductChangedEvent;
+import com.ecommerce.project.backend.event.ProductStockChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스토어프론트 상품 조회용 카탈로그 스냅샷 관리
+ * - 읽기: 현재 스냅샷을 잠금 없이 그대로 반환
+ * - 쓰기: 변경된 상품만 다시 읽어 새 스냅샷을 만든 뒤 원자적으로 교체
+ * - 교체할 때마다 CatalogRefreshedEvent 를 발행해서 파생 인덱스를 같이 갱신
+ * - 주문으로 재고만 바뀐 상품은 모아 두었다가 스케줄러 스레드에서 재고 값만 고침 (교체 / 이벤트 없음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogService {
+
+    private final CatalogLoader catalogLoader;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicLong versionSeq = new AtomicLong();
+    private volatile CatalogSnapshot snapshot; // null 이면 아직 로딩 전
+    private final Set<Long> pendingStockIds = ConcurrentHashMap.newKeySet(); // 재고 반영 대기 상품
+
+    /** 서버 기동 시 전체 스냅샷 로딩 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            refreshAll();
+        } catch (RuntimeException e) {
+            // 기동 실패로 이어지지 않도록, 첫 조회 시점에 다시 로딩한다
+            log.error("카탈로그 스냅샷 초기 로딩 실패 - 첫 조회 때 다시 로딩", e);
+        }
+    }
+
+    /** 현재 스냅샷 (로딩 전이면 즉시 로딩) */
+    public CatalogSnapshot getSnapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current != null) return current;
+
+        synchronized (this) {
+            if (snapshot == null) refreshAll();
+            return snapshot;
+        }
+    }
+
+    /** 전체 다시 로딩 */
+    public synchronized void refreshAll() {
+        snapshot = CatalogSnapshot.of(versionSeq.incrementAndGet(), catalogLoader.loadAllVisible());
+        eventPublisher.publishEvent(new CatalogRefreshedEvent(snapshot, null));
+    }
+
+    /** 변경된 상품만 다시 로딩해서 스냅샷 교체 */
+    public synchronized void refreshProducts(Collection<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) return;
+
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            refreshAll();
+            return;
+        }
+
+        List<CatalogSnapshot.Entry> upserts = catalogLoader.loadVisible(productIds);
+
+        // 다시 읽었는데 없는 상품 = 삭제되었거나 비노출로 바뀐 상품
+        Set<Long> removed = new HashSet<>(productIds);
+        upserts.forEach(e -> removed.remove(e.getProductId()));
+
+        snapshot = current.withChanges(versionSeq.incrementAndGet(), upserts, removed);
+        eventPublisher.publishEvent(new CatalogRefreshedEvent(snapshot, productIds));
+    }
+
+    /** 관리자/주문 쓰기 트랜잭션 커밋 후 변경 상품 반영 */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            refreshProducts(event.getProductIds());
+        } catch (RuntimeException e) {
+            // 이미 커밋된 요청을 실패시키지 않도록, 스냅샷을 버리고 다음 조회 때 전체 로딩
+            log.error("카탈로그 스냅샷 갱신 실패 - 다음 조회 때 전체 다시 로딩 (productIds={})", event.getProductIds(), e);
+            snapshot = null;
+        }
+    }
+
+    /** 주문 / 재고 차감 커밋 후: 상품 ID 만 모아 두고 바로 돌아감 (요청 스레드에서 스냅샷을 건드리지 않음) */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        pendingStockIds.addAll(event.getProductIds());
+    }
+
+    /**
+     * 모아 둔 재고 변경 반영 (주기마다 한 번, 그 사이 주문이 몇 건이든 상품당 한 번)
+     * - 재고만 바뀐 상품은 스냅샷을 교체하지 않고 재고 값만 고침
+     * - 노출 / 상태가 바뀐 상품만 refreshProducts 로 항목을 다시 만듦
+     */
+    @Scheduled(fixedDelayString = "${catalog.stock-flush-interval-ms:200}")
+    public void flushStockChanges() {
+        if (pendingStockIds.isEmpty()) return;
+
+        // 꺼낸 뒤에 DB 를 읽으므로, 꺼내는 사이 다시 들어온 변경도 이번 읽기에 포함됨
+        List<Long> productIds = new ArrayList<>(pendingStockIds);
+        pendingStockIds.removeAll(productIds);
+
+        try {
+            synchronized (this) {
+                CatalogSnapshot current = snapshot;
+                if (current == null) return; // 다음 전체 로딩이 최신 재고를 읽음
+
+                Map<Long, Integer> optionStocks = new HashMap<>();
+                Set<Long> stale = new HashSet<>(productIds); // 남는 ID = 삭제 / 노출·상태 변경
+                for (CatalogSnapshot.StockRow row : catalogLoader.loadStocks(productIds, optionStocks)) {
+                    if (current.patchStock(row, optionStocks)) stale.remove(row.productId());
+                }
+                refreshProducts(stale);
+            }
+        } catch (RuntimeException e) {
+            log.error("재고 변경 반영 실패 - 다음 조회 때 전체 다시 로딩 (productIds={})", productIds, e);
+            snapshot = null;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.dto.CursorPageDto;
+import com.ecommerce.project.backend.dto.ProductDto;
+import com.ecommerce.project.backend.dto.ProductListDto;
+import com.ecommerce.project.backend.dto.ProductOptionDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+/**
+ * 스토어프론트 상품 조회용 불변(immutable) 스냅샷
+ * - 노출 중인 상품/옵션/이미지/카테고리 링크를 한 번에 읽어 만든 읽기 전용 구조
+ * - 생성 이후에는 절대 수정하지 않고, 갱신 시 새 스냅샷을 만들어 통째로 교체한다.
+ * - 예외: 주문으로 바뀐 재고 값만 patchStock 으로 제자리에서 고친다. (재고는 목록/검색/패싯/정렬에 쓰이지 않음)
+ */
+public final class CatalogSnapshot {
+
+    private static final long[] EMPTY_IDS = new long[0];
+
+    /** 상품 1건에 대한 스냅샷 항목 */
+    @Getter
+    @AllArgsConstructor
+    public static final class Entry {
+        private final ProductDto product;              // 상품 + 옵션 + 이미지
+        private final List<String> categoryCodes;      // 연결된 카테고리 코드 전체
+        private final List<ProductListDto> listItems;  // 메인 목록용 경량 DTO (카테고리 링크당 1건)
+
+        public Long getProductId() {
+            return product.getProductId();
+        }
+
+        /** 메인 경량 목록에 내려가는 값이 같은지 (재고 등 목록에 없는 값만 바뀐 경우 true) */
+        boolean hasSameListItems(Entry other) {
+            if (other == null || listItems.size() != other.listItems.size()) return false;
+            for (int i = 0; i < listItems.size(); i++) {
+                ProductListDto a = listItems.get(i);
+                ProductListDto b = other.listItems.get(i);
+                if (!Objects.equals(a.getProductId(), b.getProductId())
+                        || !Objects.equals(a.getProductName(), b.getProductName())
+                        || !Objects.equals(a.getSellPrice(), b.getSellPrice())
+                        || !Objects.equals(a.getConsumerPrice(), b.getConsumerPrice())
+                        || !Objects.equals(a.getMainImg(), b.getMainImg())
+                        || !Objects.equals(a.getCategoryCode(), b.getCategoryCode())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /** DB 의 현재 재고 / 상태 (재고만 바뀐 상품을 고칠 때 사용) */
+    record StockRow(Long productId, Integer stock, Integer productStatus, Boolean isShow) {
+    }
+
+    private final long version;
+    private final long listVersion;                          // 경량 목록 내용이 바뀔 때만 올라가는 버전
+    private final Map<Long, Entry> entries;                  // productId → 항목
+    private final long[] productIds;                         // 전체 상품 ID (오름차순)
+    private final Map<String, long[]> productIdsByCategory;  // 카테고리 코드 → 상품 ID (오름차순)
+    private final List<ProductDto> products;                 // productIds 순서의 DTO 목록
+    private final List<ProductListDto> listItems;            // productIds 순서의 경량 DTO 목록
+
+    private CatalogSnapshot(long version, long listVersion, Map<Long, Entry> entries,
+                            Map<String, long[]> productIdsByCategory, List<ProductListDto> previousListItems) {
+        this.version = version;
+        this.listVersion = listVersion;
+        this.entries = Collections.unmodifiableMap(entries);
+        this.productIdsByCategory = Collections.unmodifiableMap(productIdsByCategory);
+        this.productIds = entries.keySet().stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+
+        List<ProductDto> productList = new ArrayList<>(productIds.length);
+        for (long id : productIds) {
+            productList.add(entries.get(id).getProduct());
+        }
+        this.products = Collections.unmodifiableList(productList);
+
+        // 경량 목록 내용이 그대로면 이전 목록을 재사용
+        if (previousListItems != null) {
+            this.listItems = previousListItems;
+        } else {
+            List<ProductListDto> liteList = new ArrayList<>(productIds.length);
+            for (long id : productIds) {
+                liteList.addAll(entries.get(id).getListItems());
+            }
+            this.listItems = Collections.unmodifiableList(liteList);
+        }
+    }
+
+    /** 전체 항목으로 새 스냅샷 생성 */
+    static CatalogSnapshot of(long version, Collection<Entry> entries) {
+        Map<Long, Entry> map = new HashMap<>(entries.size() * 2);
+        Map<String, List<Long>> byCategory = new HashMap<>();
+
+        for (Entry e : entries) {
+            map.put(e.getProductId(), e);
+            for (String code : e.getCategoryCodes()) {
+                byCategory.computeIfAbsent(code, k -> new ArrayList<>()).add(e.getProductId());
+            }
+        }
+
+        Map<String, long[]> arrays = new HashMap<>(byCategory.size() * 2);
+        byCategory.forEach((code, ids) -> arrays.put(code,
+                ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray()));
+
+        return new CatalogSnapshot(version, version, map, arrays, null);
+    }
+
+    /**
+     * 변경된 상품만 반영한 새 스냅샷 생성
+     * - 나머지 상품 항목은 그대로 재사용하고, 영향을 받은 카테고리의 ID 배열만 다시 만든다.
+     *
+     * @param upserts    새로 추가/수정된 항목
+     * @param removedIds 스냅샷에서 빠져야 하는 상품 ID (삭제 또는 비노출 전환)
+     */
+    CatalogSnapshot withChanges(long version, Collection<Entry> upserts, Collection<Long> removedIds) {
+        Map<Long, Entry> map = new HashMap<>(entries);
+        Set<Long> changedIds = new HashSet<>(removedIds);
+        Set<String> touchedCodes = new HashSet<>();
+
+        for (Long id : removedIds) {
+            Entry old = map.remove(id);
+            if (old != null) touchedCodes.addAll(old.getCategoryCodes());
+        }
+        for (Entry e : upserts) {
+            changedIds.add(e.getProductId());
+            Entry old = map.put(e.getProductId(), e);
+            if (old != null) touchedCodes.addAll(old.getCategoryCodes());
+            touchedCodes.addAll(e.getCategoryCodes());
+        }
+
+        // 목록 내용이 바뀌었는지 (삭제/추가/이름·가격·이미지·카테고리 변경)
+        boolean listChanged = removedIds.stream().anyMatch(entries::containsKey)
+                || upserts.stream().anyMatch(e -> !e.hasSameListItems(entries.get(e.getProductId())));
+
+        Map<String, long[]> arrays = new HashMap<>(productIdsByCategory);
+        for (String code : touchedCodes) {
+            long[] ids = LongStream.concat(
+                            // 기존 배열에서 변경된 상품은 빼고
+                            Arrays.stream(arrays.getOrDefault(code, EMPTY_IDS))
+                                    .filter(id -> !changedIds.contains(id)),
+                            // 새 항목 중 이 카테고리에 속한 상품만 다시 넣는다
+                            upserts.stream()
+                                    .filter(e -> e.getCategoryCodes().contains(code))
+                                    .mapToLong(Entry::getProductId))
+                    .sorted()
+                    .distinct()
+                    .toArray();
+
+            if (ids.length == 0) arrays.remove(code);
+            else arrays.put(code, ids);
+        }
+
+        return listChanged
+                ? new CatalogSnapshot(version, version, map, arrays, null)
+                : new CatalogSnapshot(version, listVersion, map, arrays, listItems);
+    }
+
+    /**
+     * 재고만 바뀐 상품의 상품 / 옵션 재고를 제자리에서 고침 (항목 맵 / 목록 / 파생 인덱스는 그대로)
+     * - 노출 여부나 상태까지 바뀌었거나 새로 노출된 상품이면 고치지 않고 false → 호출한 쪽에서 withChanges 로 반영
+     *
+     * @param optionStocks option_id → 재고
+     */
+    boolean patchStock(StockRow row, Map<Long, Integer> optionStocks) {
+        Entry e = entries.get(row.productId());
+        if (e == null) return !Boolean.TRUE.equals(row.isShow()); // 비노출 상품은 스냅샷에 없으므로 고칠 것 없음
+        if (!Boolean.TRUE.equals(row.isShow())
+                || !Objects.equals(e.getProduct().getProductStatus(), row.productStatus())) {
+            return false;
+        }
+
+        ProductDto product = e.getProduct();
+        product.setStock(row.stock());
+        if (product.getOptions() != null) {
+            for (ProductOptionDto option : product.getOptions()) {
+                Integer stock = optionStocks.get(option.getOptionId());
+                if (stock != null) option.setStock(stock);
+            }
+        }
+        return true;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /** 경량 목록(getListItems) 내용 버전 - 재고만 바뀐 경우에는 그대로 */
+    public long getListVersion() {
+        return listVersion;
+    }
+
+    public int size() {
+        return productIds.length;
+    }
+
+    public boolean contains(Long productId) {
+        return entries.containsKey(productId);
+    }
+
+    public Entry getEntry(Long productId) {
+        return entries.get(productId);
+    }
+
+    public ProductDto getProduct(Long productId) {
+        Entry e = entries.get(productId);
+        return e != null ? e.getProduct() : null;
+    }
+
+    /** 전체 노출 상품 (상품 ID 오름차순) */
+    public List<ProductDto> getProducts() {
+        return products;
+    }
+
+    /** 메인 페이지용 경량 목록 */
+    public List<ProductListDto> getListItems() {
+        return listItems;
+    }
+
+    /** 카테고리 코드에 정확히 연결된 상품 (상품 ID 오름차순) */
+    public List<ProductDto> getProductsByCategory(String categoryCode) {
+        long[] ids = productIdsByCategory.getOrDefault(categoryCode, EMPTY_IDS);
+        List<ProductDto> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(entries.get(id).getProduct());
+        }
+        return result;
+    }
+
+    /** 전체 노출 상품 키셋 페이지 */
+    public CursorPageDto<ProductDto> getProductsPage(Long after, int size) {
+        return page(productIds, after, size, e -> List.of(e.getProduct()));
+    }
+
+    /** 카테고리 상품 키셋 페이지 */
+    public CursorPageDto<ProductDto> getProductsByCategoryPage(String categoryCode, Long after, int size) {
+        return page(productIdsByCategory.getOrDefault(categoryCode, EMPTY_IDS), after, size,
+                e -> List.of(e.getProduct()));
+    }
+
+    /**
+     * 여러 카테고리(하위 카테고리 트리 등)에 연결된 상품 키셋 페이지 (상품 ID 오름차순, 중복 제거)
+     * - 카테고리별 정렬 배열에서 after 위치를 이진 탐색한 뒤, 배열 앞부분끼리만 병합해서 size 개를 꺼낸다.
+     *   (전체 합집합을 만들지 않으므로 O(카테고리 수 × (log n + size)))
+     */
+    public CursorPageDto<ProductDto> getProductsByCategoriesPage(Collection<String> categoryCodes, Long after, int size) {
+        long[][] arrays = new long[categoryCodes.size()][];
+        int[] heads = new int[categoryCodes.size()];
+        int k = 0;
+        for (String code : categoryCodes) {
+            long[] ids = productIdsByCategory.get(code);
+            if (ids == null) continue;
+
+            int from = 0;
+            if (after != null) {
+                int idx = Arrays.binarySearch(ids, after);
+                from = (idx >= 0) ? idx + 1 : -(idx + 1);
+            }
+            arrays[k] = ids;
+            heads[k++] = from;
+        }
+
+        List<ProductDto> items = new ArrayList<>(size);
+        long last = Long.MIN_VALUE;
+        while (true) {
+            // 각 배열의 현재 위치 중 가장 작은 ID
+            int min = -1;
+            for (int a = 0; a < k; a++) {
+                if (heads[a] < arrays[a].length
+                        && (min < 0 || arrays[a][heads[a]] < arrays[min][heads[min]])) {
+                    min = a;
+                }
+            }
+            if (min < 0) return CursorPageDto.of(items, null); // 모두 소진
+
+            long id = arrays[min][heads[min]++];
+            if (id == last) continue; // 여러 카테고리에 연결된 상품은 한 번만
+
+            if (items.size() == size) return CursorPageDto.of(items, last); // 다음 페이지 있음
+            items.add(entries.get(id).getProduct());
+            last = id;
+        }
+    }
+
+    /** 메인 경량 목록 키셋 페이지 (size 는 상품 수 기준) */
+    public CursorPageDto<ProductListDto> getListItemsPage(Long after, int size) {
+        return page(productIds, after, size, Entry::getListItems);
+    }
+
+    /**
+     * 정렬된 ID 배열에서 after 다음 위치를 이진 탐색으로 찾아 size 개만 잘라낸다.
+     * - DB 의 "WHERE id > :after ORDER BY id LIMIT :size" 와 같은 의미 (깊은 페이지도 O(log n))
+     */
+    private <T> CursorPageDto<T> page(long[] ids, Long after, int size, Function<Entry, List<T>> mapper) {
+        int from = 0;
+        if (after != null) {
+            int idx = Arrays.binarySearch(ids, after);
+            from = (idx >= 0) ? idx + 1 : -(idx + 1);
+        }
+        int to = Math.min(ids.length, from + size);
+
+        List<T> items = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            items.addAll(mapper.apply(entries.get(ids[i])));
+        }
+
+        Long nextCursor = (to < ids.length && to > from) ? ids[to - 1] : null;
+        return CursorPageDto.of(items, nextCursor);
+    }
+}
@@ -0,0 +1,145 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.dto.CategoryCountDto;
+import com.ecommerce.project.backend.dto.CategoryTreeCountResponseDto;
+import com.ecommerce.project.backend.dto.ProductDto;
+import com.ecommerce.project.backend.event.CatalogRefreshedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * 카테고리별 상품 수 (대/중/소분류 전체, 하위 카테고리 포함)
+ * - 노출 상품만 담긴 카탈로그 스냅샷 기준이라, 카테고리 링크 추가/삭제와 노출 여부·판매 상태 변경이
+ *   ProductChangedEvent → CatalogRefreshedEvent 로 그대로 반영된다.
+ * - 변경된 상품만 이전 항목을 빼고 새 항목을 더하는 방식으로 유지 (DB 조회 없음)
+ */
+@Service
+@RequiredArgsConstructor
+public class CategoryCountService {
+
+    private static final int STATUS_ON_SALE = 10; // 판매중
+
+    private final CatalogService catalogService;
+    private final CategoryIndexService categoryIndexService;
+    private final ObjectMapper objectMapper;
+
+    // 카테고리 코드 → {전체, 판매중} (잠금 안에서만 접근)
+    private final Map<String, int[]> counts = new HashMap<>();
+    private CatalogSnapshot snapshot;                      // 잠금 안에서만 접근, null 이면 아직 생성 전
+
+    private volatile Map<String, CategoryCountDto> view;   // 조회용 불변 복사본
+
+    /** 트리 + 상품 수 응답 바이트 (기준 인덱스 / 상품 수가 같을 때만 재사용) */
+    private record Cached(CategoryIndex index, Map<String, CategoryCountDto> counts, PreSerializedResponse response) {
+    }
+
+    private volatile Cached cached;
+
+    /** 스냅샷 교체 시 변경 상품만 다시 집계 */
+    @EventListener
+    public synchronized void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        if (snapshot == null || event.isFullReload()) {
+            rebuild(event.getSnapshot());
+            return;
+        }
+
+        CatalogSnapshot next = event.getSnapshot();
+        boolean changed = false;
+        for (Long id : event.getChangedProductIds()) {
+            CatalogSnapshot.Entry before = snapshot.getEntry(id);
+            CatalogSnapshot.Entry after = next.getEntry(id);
+            if (sameCountKey(before, after)) continue; // 재고만 바뀐 주문 등
+
+            apply(before, -1);
+            apply(after, +1);
+            changed = true;
+        }
+        snapshot = next;
+        if (changed) publish(); // 상품 수가 그대로면 응답 바이트도 그대로 재사용
+    }
+
+    /** 카테고리 코드 → 상품 수 */
+    public Map<String, CategoryCountDto> getCounts() {
+        Map<String, CategoryCountDto> current = view;
+        if (current != null) return current;
+
+        CatalogSnapshot latest = catalogService.getSnapshot();
+        synchronized (this) {
+            if (view == null) rebuild(latest);
+            return view;
+        }
+    }
+
+    /** 트리 + 상품 수 응답 (미리 직렬화, 트리나 상품 수가 바뀐 뒤 첫 조회 때만 다시 직렬화) */
+    public PreSerializedResponse getTreeWithCountsResponse() {
+        CategoryIndex index = categoryIndexService.getIndex();
+        Map<String, CategoryCountDto> currentCounts = getCounts();
+
+        Cached current = cached;
+        if (current != null && current.index() == index && current.counts() == currentCounts) {
+            return current.response();
+        }
+
+        Map<String, CategoryCountDto> treeCounts = new LinkedHashMap<>();
+        for (String code : index.getTitles().keySet()) {
+            if (!index.contains(code)) continue;
+            treeCounts.put(code, currentCounts.getOrDefault(code, new CategoryCountDto(0, 0)));
+        }
+
+        PreSerializedResponse response = PreSerializedResponse.of(objectMapper,
+                CategoryTreeCountResponseDto.builder()
+                        .tree(index.getTree().getTree())
+                        .counts(treeCounts)
+                        .build());
+        cached = new Cached(index, currentCounts, response);
+        return response;
+    }
+
+    private void rebuild(CatalogSnapshot next) {
+        counts.clear();
+        for (ProductDto p : next.getProducts()) {
+            apply(next.getEntry(p.getProductId()), +1);
+        }
+        snapshot = next;
+        publish();
+    }
+
+    /** 상품 1건을 연결된 카테고리와 그 상위 카테고리에 한 번씩 더하거나 뺌 */
+    private void apply(CatalogSnapshot.Entry e, int delta) {
+        if (e == null) return; // 스냅샷에 없던 / 빠진 상품
+
+        boolean onSale = Integer.valueOf(STATUS_ON_SALE).equals(e.getProduct().getProductStatus());
+
+        // 한 상품이 같은 상위 카테고리 아래 여러 곳에 연결돼도 한 번만 (0001 / 00010001 / 000100010001)
+        Set<String> codes = new HashSet<>();
+        for (String code : e.getCategoryCodes()) {
+            for (int len = CategoryIndex.CODE_UNIT; len <= code.length(); len += CategoryIndex.CODE_UNIT) {
+                codes.add(code.substring(0, len));
+            }
+        }
+
+        for (String code : codes) {
+            int[] c = counts.computeIfAbsent(code, k -> new int[2]);
+            c[0] += delta;
+            if (onSale) c[1] += delta;
+            if (c[0] <= 0) counts.remove(code);
+        }
+    }
+
+    /** 집계에 쓰이는 값(카테고리 링크 / 판매 상태)이 같은지 */
+    private static boolean sameCountKey(CatalogSnapshot.Entry a, CatalogSnapshot.Entry b) {
+        if (a == null || b == null) return a == b;
+        return a.getCategoryCodes().equals(b.getCategoryCodes())
+                && Objects.equals(a.getProduct().getProductStatus(), b.getProduct().getProductStatus());
+    }
+
+    private void publish() {
+        Map<String, CategoryCountDto> copy = new HashMap<>(counts.size() * 2);
+        counts.forEach((code, c) -> copy.put(code, new CategoryCountDto(c[0], c[1])));
+        view = Collections.unmodifiableMap(copy);
+    }
+}
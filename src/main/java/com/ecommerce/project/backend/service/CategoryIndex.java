@@ -0,0 +1,171 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.domain.Category;
+import com.ecommerce.project.backend.dto.CategoryDto;
+import com.ecommerce.project.backend.dto.CategoryTreeResponseDto;
+import com.ecommerce.project.backend.dto.MainCategoryDto;
+import com.ecommerce.project.backend.dto.SubCategoryDto;
+
+import java.util.*;
+
+/**
+ * 카테고리 전체를 한 번 읽어 만든 불변(immutable) 인덱스
+ * - 카테고리 코드는 4자리씩 상위 → 하위 (0001 / 00010001 / 000100010001)
+ * - 트리 응답, 코드 → 전체 경로("상의 > 티셔츠 > 반소매"), 상위/하위 코드 조회를 모두 O(1) ~ O(log n) 으로 처리
+ * - 변경 시에는 새 인덱스를 만들어 통째로 교체한다. (CatalogSnapshot 과 동일)
+ */
+public final class CategoryIndex {
+
+    public static final int CODE_UNIT = 4;
+    private static final String PATH_SEPARATOR = " > ";
+
+    private final Map<String, String> titles;          // 코드 → 카테고리명
+    private final Map<String, String> paths;           // 코드 → 대분류부터 이어 붙인 경로
+    private final Map<String, List<String>> children;  // 코드 → 바로 아래 단계 코드 ("" 는 대분류 목록)
+    private final String[] sortedCodes;                // 코드 오름차순 (하위 전체 = 접두사 범위)
+    private final CategoryTreeResponseDto tree;
+    private final List<MainCategoryDto> mainCategories;
+
+    private CategoryIndex(Map<String, String> titles, Map<String, String> paths,
+                          Map<String, List<String>> children, String[] sortedCodes,
+                          CategoryTreeResponseDto tree, List<MainCategoryDto> mainCategories) {
+        this.titles = titles;
+        this.paths = paths;
+        this.children = children;
+        this.sortedCodes = sortedCodes;
+        this.tree = tree;
+        this.mainCategories = mainCategories;
+    }
+
+    /** 카테고리 전체로 인덱스 생성 (같은 단계 안에서는 조회 순서 = 트리 응답 순서) */
+    static CategoryIndex of(List<Category> categories) {
+        Map<String, String> titles = new LinkedHashMap<>();
+        for (Category c : categories) {
+            titles.putIfAbsent(c.getCategoryCode(), c.getCategoryTitle());
+        }
+
+        Map<String, String> paths = new HashMap<>(titles.size() * 2);
+        Map<String, List<String>> children = new HashMap<>();
+        Map<String, CategoryDto> tree = new LinkedHashMap<>();
+        List<MainCategoryDto> mains = new ArrayList<>();
+
+        // 상위 → 하위 순으로 처리 (stable 정렬이라 같은 단계 안의 순서는 유지)
+        List<Map.Entry<String, String>> ordered = new ArrayList<>(titles.entrySet());
+        ordered.sort(Comparator.comparingInt(e -> e.getKey().length()));
+
+        for (Map.Entry<String, String> e : ordered) {
+            String code = e.getKey();
+            String title = e.getValue();
+            String parent = parentOf(code);
+
+            // 상위 카테고리가 없는 코드는 트리에서 빠지므로 경로/하위 목록에도 넣지 않음
+            if (parent == null || (!parent.isEmpty() && !paths.containsKey(parent))) continue;
+
+            paths.put(code, parent.isEmpty() ? title : paths.get(parent) + PATH_SEPARATOR + title);
+            children.computeIfAbsent(parent, k -> new ArrayList<>()).add(code);
+
+            switch (level(code)) {
+                case 1 -> {
+                    // 대분류
+                    tree.put(code, CategoryDto.builder()
+                            .title(title)
+                            .children(new LinkedHashMap<>())
+                            .build());
+                    mains.add(new MainCategoryDto(code, title));
+                }
+                case 2 -> // 중분류
+                        tree.get(parent).getChildren().put(code, SubCategoryDto.builder()
+                                .title(title)
+                                .children(new LinkedHashMap<>())
+                                .build());
+                case 3 -> // 소분류
+                        tree.get(code.substring(0, CODE_UNIT)).getChildren().get(parent).getChildren().put(code, title);
+                default -> {
+                    // 4단계 이상은 트리 응답에는 없고 경로/하위 조회에만 사용
+                }
+            }
+        }
+
+        Map<String, List<String>> frozenChildren = new HashMap<>(children.size() * 2);
+        children.forEach((code, list) -> frozenChildren.put(code, List.copyOf(list)));
+
+        String[] sorted = paths.keySet().toArray(new String[0]);
+        Arrays.sort(sorted);
+
+        return new CategoryIndex(
+                Collections.unmodifiableMap(titles),
+                Collections.unmodifiableMap(paths),
+                frozenChildren,
+                sorted,
+                CategoryTreeResponseDto.builder().tree(tree).build(),
+                List.copyOf(mains));
+    }
+
+    /** 트리 응답 (공유 객체이므로 수정하지 말 것) */
+    public CategoryTreeResponseDto getTree() {
+        return tree;
+    }
+
+    public List<MainCategoryDto> getMainCategories() {
+        return mainCategories;
+    }
+
+    public Map<String, String> getTitles() {
+        return titles;
+    }
+
+    public boolean contains(String code) {
+        return code != null && paths.containsKey(code);
+    }
+
+    public String getTitle(String code) {
+        return code == null ? null : titles.get(code);
+    }
+
+    /** 대분류부터의 전체 경로 (없는 코드면 null) */
+    public String getPath(String code) {
+        return code == null ? null : paths.get(code);
+    }
+
+    /** 바로 위 단계 코드 (대분류거나 없는 코드면 null) */
+    public String getParent(String code) {
+        if (!contains(code)) return null;
+        String parent = parentOf(code);
+        return (parent == null || parent.isEmpty()) ? null : parent;
+    }
+
+    /** 바로 아래 단계 코드 (null / 빈 문자열이면 대분류 목록) */
+    public List<String> getChildren(String code) {
+        return children.getOrDefault(code == null ? "" : code, List.of());
+    }
+
+    /** 모든 하위 코드 (자기 자신 제외, 코드 오름차순) — 정렬 배열의 접두사 범위 */
+    public List<String> getDescendants(String code) {
+        if (!contains(code)) return List.of();
+
+        int from = lowerBound(code) + 1; // 자기 자신 다음
+        int to = lowerBound(code + Character.MAX_VALUE);
+        return Arrays.asList(sortedCodes).subList(from, to);
+    }
+
+    /** 트리 깊이 (대분류 1, 중분류 2, 소분류 3) */
+    public static int level(String code) {
+        return code.length() / CODE_UNIT;
+    }
+
+    /** 코드 형식상 상위 코드 ("" = 최상위, 4자리 단위가 아니면 null) */
+    private static String parentOf(String code) {
+        if (code == null || code.isEmpty() || code.length() % CODE_UNIT != 0) return null;
+        return code.substring(0, code.length() - CODE_UNIT);
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0, hi = sortedCodes.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedCodes[mid].compareTo(key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.event.CategoryTitlesChangedEvent;
+import com.ecommerce.project.backend.repository.CategoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 카테고리 인덱스 관리
+ * - 기동 시 한 번 전체를 읽고, 이후 조회는 DB 없이 현재 인덱스를 그대로 사용
+ * - 카테고리 쓰기 API 는 없으므로 DB 에서 직접 바꾼 경우 refresh() 로 다시 읽어 통째로 교체
+ *   (카테고리명이 바뀌었으면 CategoryTitlesChangedEvent 로 검색 인덱스에 알림)
+ * - 트리 응답은 미리 직렬화해 두고 ETag 로 내려줌 (내용이 같으면 다시 읽어도 ETag 유지)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryIndexService {
+
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** 인덱스 + 트리 응답 바이트 (한 번에 교체) */
+    private record Loaded(CategoryIndex index, PreSerializedResponse treeResponse) {
+    }
+
+    private volatile Loaded loaded; // null 이면 아직 로딩 전
+
+    /** 서버 기동 시 로딩 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // 기동 실패로 이어지지 않도록, 첫 조회 시점에 다시 로딩한다
+            log.error("카테고리 인덱스 초기 로딩 실패 - 첫 조회 때 다시 로딩", e);
+        }
+    }
+
+    /** 전체 다시 로딩 (이전 인덱스와 카테고리명이 다르면 CategoryTitlesChangedEvent 발행) */
+    public synchronized void refresh() {
+        Loaded previous = loaded;
+        CategoryIndex index = CategoryIndex.of(categoryRepository.findAll());
+        loaded = new Loaded(index, PreSerializedResponse.of(objectMapper, index.getTree()));
+
+        if (previous == null) return;
+        Set<String> changed = changedTitleCodes(previous.index().getTitles(), index.getTitles());
+        if (!changed.isEmpty()) eventPublisher.publishEvent(new CategoryTitlesChangedEvent(changed));
+    }
+
+    /** 이름이 추가 / 변경 / 삭제된 카테고리 코드 */
+    private static Set<String> changedTitleCodes(Map<String, String> before, Map<String, String> after) {
+        Set<String> changed = new HashSet<>();
+        after.forEach((code, title) -> {
+            if (!Objects.equals(title, before.get(code))) changed.add(code);
+        });
+        before.keySet().forEach(code -> {
+            if (!after.containsKey(code)) changed.add(code);
+        });
+        return changed;
+    }
+
+    /** 현재 인덱스 (로딩 전이면 즉시 로딩) */
+    public CategoryIndex getIndex() {
+        return current().index();
+    }
+
+    /** 미리 직렬화된 트리 응답 */
+    public PreSerializedResponse getTreeResponse() {
+        return current().treeResponse();
+    }
+
+    private Loaded current() {
+        Loaded current = loaded;
+        if (current != null) return current;
+
+        synchronized (this) {
+            if (loaded == null) refresh();
+            return loaded;
+        }
+    }
+}
@@ -1,8 +1,6 @@
 package com.ecommerce.project.backend.service;
 
-import com.ecommerce.project.backend.dto.CategoryDto;
 import com.ecommerce.project.backend.dto.CategoryTreeResponseDto;
-import com.ecommerce.project.backend.dto.SubCategoryDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -10,40 +8,19 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class CategoryTreeService {
 
-    private final CategoryService categoryService;
+    private final CategoryIndexService categoryIndexService;
 
     public CategoryTreeResponseDto getCategoryTree() {
-        return categoryService.getCategoryTree();
+        return categoryIndexService.getIndex().getTree();
     }
 
-    public String getCategoryPath(String code) {
-
-        var tree = categoryService.getCategoryTree().getTree(); // 전체 트리 DTO만 꺼내기
-
-        for (var mainEntry : tree.entrySet()) {
-
-            String mainCode = mainEntry.getKey();
-            CategoryDto main = mainEntry.getValue();
-
-            if (code.startsWith(mainCode)) {
-
-                for (var subEntry : main.getChildren().entrySet()) {
-
-                    String subCode = subEntry.getKey();
-                    SubCategoryDto sub = subEntry.getValue();
-
-                    if (code.startsWith(subCode)) {
-
-                        if (sub.getChildren().containsKey(code)) {
-                            return main.getTitle()
-                                    + " > " + sub.getTitle()
-                                    + " > " + sub.getChildren().get(code);
-                        }
-                    }
-                }
-            }
-        }
+    /** 미리 직렬화된 트리 응답 (ETag 포함) */
+    public PreSerializedResponse getCategoryTreeResponse() {
+        return categoryIndexService.getTreeResponse();
+    }
 
-        return null;
+    /** 대분류부터의 카테고리 경로 (예: "상의 > 티셔츠 > 반소매", 없는 코드면 null) */
+    public String getCategoryPath(String code) {
+        return categoryIndexService.getIndex().getPath(code);
     }
 }
@@ -0,0 +1,102 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.event.GuestCartMergedEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * 비회원 장바구니 (세션 ID → 줄 목록, 메모리에만 보관)
+ * - 비회원 장바구니는 수명이 짧아 DB(cart 테이블)에 쓰지 않는다.
+ * - 마지막 사용 후 TTL 이 지나면 제거 (주기적 정리 + 조회 시 확인)
+ * - 세션당 줄 수, 전체 세션 수에 상한을 둬서 메모리 사용량을 제한
+ * - 로그인하면 회원 장바구니로 합친 뒤(CartService.mergeGuestCart) 커밋 후 제거
+ */
+@Component
+public class GuestCartStore {
+
+    static final int MAX_ITEMS_PER_SESSION = 50;
+    private static final int MAX_SESSIONS = 100_000;
+    private static final long TTL_NANOS = TimeUnit.HOURS.toNanos(2);
+
+    /** 세션 하나의 장바구니 (불변, 변경 시 통째로 교체) */
+    private record GuestCart(List<CartLine> lines, long lastAccess) {
+
+        boolean isExpired(long now) {
+            return now - lastAccess > TTL_NANOS;
+        }
+    }
+
+    private final Map<String, GuestCart> carts = new ConcurrentHashMap<>();
+
+    // 비회원 줄 ID (DB cart_id 와 겹치지 않도록 음수로 발급)
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** 세션의 장바구니 줄 목록 (담은 순서, 없거나 만료됐으면 빈 목록) */
+    public List<CartLine> get(String sessionId) {
+        if (sessionId == null) return List.of();
+
+        long now = System.nanoTime();
+        GuestCart cart = carts.computeIfPresent(sessionId,
+                (id, c) -> c.isExpired(now) ? null : new GuestCart(c.lines(), now));
+        return (cart == null) ? List.of() : cart.lines();
+    }
+
+    /**
+     * 세션 장바구니 변경 (세션 단위로 원자적, 없으면 새로 생성)
+     * - change 안에서 예외가 나면 기존 상태 그대로
+     * - change 는 세션 잠금(ConcurrentHashMap.compute) 안에서 실행되므로 스냅샷 / DB 조회는 호출 전에 끝낼 것
+     *
+     * @return 변경 후 줄 목록
+     */
+    public List<CartLine> update(String sessionId, UnaryOperator<List<CartLine>> change) {
+        if (!carts.containsKey(sessionId) && carts.size() >= MAX_SESSIONS) {
+            evictExpired();
+            if (carts.size() >= MAX_SESSIONS) {
+                throw new IllegalArgumentException("비회원 장바구니를 사용할 수 없습니다. 로그인 후 이용해주세요.");
+            }
+        }
+
+        long now = System.nanoTime();
+        GuestCart updated = carts.compute(sessionId, (id, c) -> {
+            List<CartLine> current = (c == null || c.isExpired(now)) ? List.of() : c.lines();
+            List<CartLine> next = change.apply(new ArrayList<>(current));
+
+            if (next.size() > MAX_ITEMS_PER_SESSION) {
+                throw new IllegalArgumentException("장바구니에는 최대 " + MAX_ITEMS_PER_SESSION + "개 상품까지 담을 수 있습니다.");
+            }
+            return next.isEmpty() ? null : new GuestCart(List.copyOf(next), now);
+        });
+        return (updated == null) ? List.of() : updated.lines();
+    }
+
+    public void remove(String sessionId) {
+        if (sessionId != null) carts.remove(sessionId);
+    }
+
+    /** 새 줄 ID (음수) */
+    public long nextCartId() {
+        return sequence.decrementAndGet();
+    }
+
+    /** 만료된 세션 장바구니 정리 */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        carts.entrySet().removeIf(e -> e.getValue().isExpired(now));
+    }
+
+    /** 회원 장바구니로 합친 트랜잭션이 커밋된 뒤에만 제거 (롤백되면 비회원 장바구니 유지) */
+    @TransactionalEventListener
+    public void onGuestCartMerged(GuestCartMergedEvent event) {
+        remove(event.getSessionId());
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.project.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 대용량 목록을 JSON 배열로 바로 써 내려가는 도우미
+ * - 목록 전체를 List 로 모았다가 직렬화하지 않고, 한 건씩 Jackson generator 로 출력
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonStreamWriter {
+
+    // 이 건수마다 출력 버퍼를 비움
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final ObjectMapper objectMapper;
+
+    public <T> void writeArray(Stream<T> items, OutputStream out) throws IOException {
+        // 건마다 flush 하지 않도록 (FLUSH_INTERVAL 단위로 직접 flush)
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (Stream<T> stream = items;
+             JsonGenerator gen = objectMapper.createGenerator(out)) {
+
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // 응답 스트림은 컨테이너가 닫음
+            gen.writeStartArray();
+
+            int count = 0;
+            Iterator<T> it = stream.iterator();
+            while (it.hasNext()) {
+                writer.writeValue(gen, it.next());
+                if (++count % FLUSH_INTERVAL == 0) gen.flush();
+            }
+
+            gen.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.event.ProductLikeChangedEvent;
+import com.ecommerce.project.backend.repository.ProductLikeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 회원별 좋아요한 상품 ID 캐시
+ * - 회원마다 정렬된 long[] 하나 (박싱 없는 compact 집합, 포함 여부는 이진 탐색)
+ * - 처음 조회할 때 상품 ID 만 한 번 읽고, 이후에는 좋아요 토글 커밋 이벤트로 새 배열로 교체
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberLikeCache {
+
+    private static final long[] EMPTY_IDS = new long[0];
+
+    // 캐시할 최대 회원 수 (넘으면 비우고 다시 채움)
+    private static final int MAX_MEMBERS = 50_000;
+
+    private final ProductLikeRepository productLikeRepository;
+
+    private final Map<Long, long[]> likedIds = new ConcurrentHashMap<>();
+
+    // 무효화 세대: 로딩 도중 좋아요가 바뀌면 오래된 값을 넣지 않기 위해 사용
+    private final AtomicLong generation = new AtomicLong();
+
+    /** 회원이 좋아요한 상품 ID (오름차순, 비로그인이면 빈 배열) */
+    public long[] getLikedIds(Long memberId) {
+        if (memberId == null) return EMPTY_IDS;
+
+        long[] cached = likedIds.get(memberId);
+        if (cached != null) return cached;
+
+        long gen = generation.get();
+        long[] loaded = productLikeRepository.findProductIdsByMemberId(memberId).stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .distinct()
+                .toArray();
+
+        // 세대 확인과 넣기를 갱신과 같은 잠금 안에서 (확인 직후 좋아요가 바뀌면 오래된 값이 남지 않도록)
+        synchronized (likedIds) {
+            if (generation.get() == gen) {
+                if (likedIds.size() >= MAX_MEMBERS) likedIds.clear();
+                likedIds.putIfAbsent(memberId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public boolean isLiked(Long memberId, Long productId) {
+        return memberId != null && productId != null && contains(getLikedIds(memberId), productId);
+    }
+
+    public static boolean contains(long[] sortedIds, long productId) {
+        return Arrays.binarySearch(sortedIds, productId) >= 0;
+    }
+
+    /** 좋아요 토글 커밋 후 해당 회원 집합만 갱신 (캐시에 없는 회원은 다음 조회 때 로딩) */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(ProductLikeChangedEvent event) {
+        synchronized (likedIds) {
+            generation.incrementAndGet();
+            likedIds.computeIfPresent(event.getMemberId(), (id, ids) ->
+                    event.isLiked() ? add(ids, event.getProductId()) : remove(ids, event.getProductId()));
+        }
+    }
+
+    private static long[] add(long[] ids, long productId) {
+        int idx = Arrays.binarySearch(ids, productId);
+        if (idx >= 0) return ids;
+
+        int pos = -(idx + 1);
+        long[] next = new long[ids.length + 1];
+        System.arraycopy(ids, 0, next, 0, pos);
+        next[pos] = productId;
+        System.arraycopy(ids, pos, next, pos + 1, ids.length - pos);
+        return next;
+    }
+
+    private static long[] remove(long[] ids, long productId) {
+        int idx = Arrays.binarySearch(ids, productId);
+        if (idx < 0) return ids;
+
+        long[] next = new long[ids.length - 1];
+        System.arraycopy(ids, 0, next, 0, idx);
+        System.arraycopy(ids, idx + 1, next, idx, ids.length - idx - 1);
+        return next;
+    }
+}
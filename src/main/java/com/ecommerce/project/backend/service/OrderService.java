@@ -3,8 +3,12 @@ package com.ecommerce.project.backend.service;
 import com.ecommerce.project.backend.config.MusinsaConfig;
 import com.ecommerce.project.backend.domain.*;
 import com.ecommerce.project.backend.dto.*;
+import com.ecommerce.project.backend.event.CartChangedEvent;
+import com.ecommerce.project.backend.event.ProductStockChangedEvent;
+import com.ecommerce.project.backend.event.ProductsSoldEvent;
 import com.ecommerce.project.backend.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,6 +16,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,11 +26,13 @@ public class OrderService {
     private final CartRepository cartRepository;
     private final MemberRepository memberRepository;
     private final OrderRepository orderRepository;
-    private final OrderItemRepository orderItemRepository;
     private final ProductRepository productRepository;
-    private final ProductOptionRepository productOptionRepository;
     private final MemberAddressRepository memberAddressRepository;
+    private final ProductOptionIndexCache productOptionIndexCache;
+    private final OrderBatchRepository orderBatchRepository;
+    private final OrderLineRepository orderLineRepository;
     private final MusinsaConfig musinsaConfig;
+    private final ApplicationEventPublisher eventPublisher;
 
     // 주문 번호 생성
     String date = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
@@ -41,51 +48,11 @@ public class OrderService {
         MemberAddress address = memberAddressRepository.findById(req.getAddressId())
                 .orElseThrow(() -> new RuntimeException("배송지 없음"));
 
-        List<OrderItemDto> itemDtos = new ArrayList<>();
-        BigDecimal totalPrice = BigDecimal.ZERO;
-
-        // 먼저 totalPrice를 계산
-        for (OrderRequestDTO.Item it : req.getItems()) {
-
-            Product product = productRepository.findById(it.getProductId())
-                    .orElseThrow(() -> new RuntimeException("상품 없음"));
-
-            Integer quantity = it.getQuantity();
-            ProductOption option = null;
-
-            String displayOptionValue = "기본";
-
-            // 옵션 문자열 매칭
-            if (it.getOptionValues() != null &&
-                    !it.getOptionValues().isEmpty() &&
-                    !it.getOptionValues().get(0).equals("기본")) {
-
-                String raw = it.getOptionValues().get(0);  // "색상 Ivory"
-                String[] parts = raw.split(" ", 2);
-
-                if (parts.length == 2) {
-                    String title = parts[0].trim();
-                    String value = parts[1].trim();
+        // 1. 주문할 줄 (요청 items 또는 회원 장바구니, 상품 + 옵션을 한 번에 읽음)
+        List<CheckoutLine> lines = resolveLines(memberId, req);
 
-                    option = product.getProductOptions().stream()
-                            .filter(o ->
-                                    o.getOptionTitle().equalsIgnoreCase(title) &&
-                                            o.getOptionValue().equalsIgnoreCase(value)
-                            )
-                            .findFirst()
-                            .orElseThrow(() -> new RuntimeException("옵션 없음"));
-
-                    displayOptionValue = option.getOptionTitle() + " " + option.getOptionValue();
-                }
-            }
-
-            BigDecimal price = (option != null && option.getSellPrice() != null)
-                    ? option.getSellPrice()
-                    : product.getSellPrice();
-
-            BigDecimal subtotal = price.multiply(BigDecimal.valueOf(quantity));
-            totalPrice = totalPrice.add(subtotal);
-        }
+        // 2. 가격 합계 + 재고 검증 (메모리에서 한 번 순회, 쓰기 전에 끝냄)
+        BigDecimal totalPrice = priceAndValidate(lines);
 
         // 회원 포인트가 충분한지 체크
         if (member.getPoint() < totalPrice.intValue()) {
@@ -96,7 +63,7 @@ public class OrderService {
         member.setPoint(member.getPoint() - totalPrice.intValue());
         memberRepository.save(member);
 
-        // totalPrice가 계산된 후 Order INSERT
+        // 3. totalPrice가 계산된 후 Order INSERT
         Order order = orderRepository.save(
                 Order.builder()
                         .member(member)
@@ -112,89 +79,45 @@ public class OrderService {
                         .build()
         );
 
-        // OrderItem 저장 + 재고 차감
-        for (OrderRequestDTO.Item it : req.getItems()) {
-
-            Product product = productRepository.findById(it.getProductId())
-                    .orElseThrow(() -> new RuntimeException("상품 없음"));
-
-            Integer quantity = it.getQuantity();
-            ProductOption option = null;
-            String displayOptionValue = "기본";
-
-            if (it.getOptionValues() != null &&
-                    !it.getOptionValues().isEmpty() &&
-                    !it.getOptionValues().get(0).equals("기본")) {
-
-                String raw = it.getOptionValues().get(0);
-                String[] parts = raw.split(" ", 2);
-
-                if (parts.length == 2) {
-                    String title = parts[0].trim();
-                    String value = parts[1].trim();
-
-                    option = product.getProductOptions().stream()
-                            .filter(o ->
-                                    o.getOptionTitle().equalsIgnoreCase(title) &&
-                                            o.getOptionValue().equalsIgnoreCase(value)
-                            )
-                            .findFirst()
-                            .orElseThrow(() -> new RuntimeException("옵션 없음"));
-
-                    displayOptionValue = option.getOptionTitle() + " " + option.getOptionValue();
-                }
-            }
-
-            BigDecimal price = (option != null && option.getSellPrice() != null)
-                    ? option.getSellPrice()
-                    : product.getSellPrice();
-
-            BigDecimal subtotal = price.multiply(BigDecimal.valueOf(quantity));
-
-            // 재고 차감
-            if (option != null) {
-                if (option.getStock() < quantity) throw new RuntimeException("옵션 재고 부족");
-                option.setStock(option.getStock() - quantity);
-                productOptionRepository.save(option);
-
-                // 옵션 재고 변경 후 product.stock 재계산
-                product.updateTotalStockFromOptions();
-                productRepository.save(product);
-
-            } else {
-                if (product.getStock() < quantity) throw new RuntimeException("상품 재고 부족");
-                product.setStock(product.getStock() - quantity);
-                productRepository.save(product);
-            }
+        // 4. 재고 차감 + OrderItem 저장 (JDBC 배치)
+        applyStockChanges(lines);
+        List<Long> orderItemIds = insertOrderItems(order, lines);
 
-            OrderItem orderItem = orderItemRepository.save(
-                    OrderItem.builder()
-                            .order(order)
-                            .product(product)
-                            .quantity(quantity)
-                            .price(price)
-                            .mainImg(product.getMainImg())
-                            .productName(product.getProductName())
-                            .optionValue(displayOptionValue)
-                            .build()
-            );
+        List<OrderItemDto> itemDtos = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            CheckoutLine line = lines.get(i);
+            Product product = line.product();
 
             itemDtos.add(
                     OrderItemDto.builder()
-                            .orderItemId(orderItem.getOrderItemId())
+                            .orderItemId(orderItemIds.get(i))
                             .orderId(order.getOrderId())
                             .productId(product.getProductId())
-                            .productName(orderItem.getProductName())
-                            .mainImg(orderItem.getMainImg())
-                            .quantity(quantity)
-                            .price(price)
-                            .subtotal(subtotal)
-                            .optionId(option != null ? option.getOptionId() : null)
-                            .optionValue(displayOptionValue)
+                            .productName(product.getProductName())
+                            .mainImg(product.getMainImg())
+                            .quantity(line.quantity())
+                            .price(line.price())
+                            .subtotal(line.price().multiply(BigDecimal.valueOf(line.quantity())))
+                            .optionId(line.option() != null ? line.option().getOptionId() : null)
+                            .optionValue(line.displayOptionValue())
                             .build()
             );
         }
 
+        // 장바구니 주문이면 주문한 줄 삭제 (같은 트랜잭션, DELETE 1회) → 커밋 후 장바구니 캐시 제거
+        if (Boolean.TRUE.equals(req.getFromCart())) {
+            deleteOrderedCartLines(memberId, lines.stream().map(CheckoutLine::cartId).toList());
+        }
+
+        // 재고가 바뀐 상품은 커밋 후 카탈로그에 반영
+        eventPublisher.publishEvent(new ProductStockChangedEvent(
+                itemDtos.stream().map(OrderItemDto::getProductId).toList()));
+
+        // 판매량 반영 (판매순 정렬)
+        Map<Long, Integer> soldQuantities = new HashMap<>();
+        itemDtos.forEach(i -> soldQuantities.merge(i.getProductId(), i.getQuantity(), Integer::sum));
+        eventPublisher.publishEvent(new ProductsSoldEvent(soldQuantities));
+
         return OrderDto.builder()
                 .orderNumber(order.getOrderNumber())
                 .totalPrice(order.getTotalPrice())
@@ -266,6 +189,164 @@ public class OrderService {
         return dtos;
     }
 
+    /** 주문 한 줄 (상품 / 옵션은 이미 찾은 상태, 장바구니 주문이면 cartId) */
+    private record CheckoutLine(Product product, ProductOption option, int quantity, Long cartId, BigDecimal price) {
+
+        /** 현재 판매가로 (옵션 판매가가 있으면 옵션 기준) */
+        static CheckoutLine of(Product product, ProductOption option, int quantity, Long cartId) {
+            BigDecimal price = (option != null && option.getSellPrice() != null)
+                    ? option.getSellPrice()
+                    : product.getSellPrice();
+            return new CheckoutLine(product, option, quantity, cartId, price);
+        }
+
+        /** "색상 Ivory", 옵션 없으면 "기본" */
+        String displayOptionValue() {
+            return (option != null)
+                    ? option.getOptionTitle() + " " + option.getOptionValue()
+                    : "기본";
+        }
+    }
+
+    /**
+     * 주문할 줄 목록
+     * - fromCart: 회원 장바구니를 상품 + 옵션까지 fetch join 한 번으로 읽음 (cartIds 가 있으면 그 줄만)
+     * - 아니면 요청 items 기준
+     */
+    private List<CheckoutLine> resolveLines(Long memberId, OrderRequestDTO req) {
+
+        if (Boolean.TRUE.equals(req.getFromCart())) {
+            List<Long> cartIds = req.getCartIds();
+            boolean selected = cartIds != null && !cartIds.isEmpty();
+
+            List<Cart> carts = selected
+                    ? cartRepository.findForCheckout(memberId, cartIds)
+                    : cartRepository.findForCheckout(memberId);
+
+            if (carts.isEmpty()) throw new RuntimeException("장바구니가 비어 있습니다.");
+            if (selected && carts.size() != new HashSet<>(cartIds).size()) throw new RuntimeException("장바구니 없음");
+
+            return cartLines(carts);
+        }
+
+        return resolveItemLines(req.getItems());
+    }
+
+    /** 장바구니 줄 → 주문할 줄 (옵션 목록은 이미 읽어 왔으므로 옵션 PK 조회는 영속성 컨텍스트에서 끝남) */
+    private List<CheckoutLine> cartLines(List<Cart> carts) {
+        List<CheckoutLine> lines = new ArrayList<>(carts.size());
+        for (Cart cart : carts) {
+            lines.add(CheckoutLine.of(cart.getProduct(), resolveCartOption(cart), cart.getQuantity(), cart.getCartId()));
+        }
+        return lines;
+    }
+
+    /**
+     * 주문한 장바구니 줄 삭제 (DELETE 1회) → 커밋 후 장바구니 캐시 제거
+     * - 지운 건수가 모자라면 그 사이 다른 주문(중복 클릭 등)이 먼저 가져간 것 → 예외로 이 주문 전체 롤백
+     */
+    private void deleteOrderedCartLines(Long memberId, List<Long> cartIds) {
+        int deleted = cartRepository.deleteOrderedLines(memberId, cartIds);
+        if (deleted != cartIds.size()) throw new RuntimeException("장바구니가 이미 주문되었거나 변경되었습니다.");
+        eventPublisher.publishEvent(CartChangedEvent.invalidated(memberId));
+    }
+
+    /** 요청 items → 주문할 줄 (상품 + 옵션은 IN 쿼리 한 번, 옵션 PK 조회는 영속성 컨텍스트에서 끝남) */
+    private List<CheckoutLine> resolveItemLines(List<OrderRequestDTO.Item> items) {
+
+        if (items == null || items.isEmpty()) throw new RuntimeException("주문할 상품이 없습니다.");
+
+        Set<Long> productIds = new HashSet<>();
+        for (OrderRequestDTO.Item it : items) {
+            if (it.getProductId() == null) throw new RuntimeException("상품 없음");
+            if (it.getQuantity() == null || it.getQuantity() < 1) throw new IllegalArgumentException("수량은 1 이상");
+            productIds.add(it.getProductId());
+        }
+
+        Map<Long, Product> products = new HashMap<>();
+        for (Product p : productRepository.findWithOptionsByProductIdIn(productIds)) {
+            products.put(p.getProductId(), p);
+        }
+
+        List<CheckoutLine> lines = new ArrayList<>(items.size());
+        for (OrderRequestDTO.Item it : items) {
+            Product product = products.get(it.getProductId());
+            if (product == null) throw new RuntimeException("상품 없음");
+
+            // 옵션 매칭 (optionId 우선, 없으면 "색상 Ivory" 표기 — 옵션 인덱스로 O(1))
+            lines.add(CheckoutLine.of(product, resolveItemOption(product, it), it.getQuantity(), null));
+        }
+        return lines;
+    }
+
+    /**
+     * 가격 합계 + 재고 검증 (한 번 순회)
+     * - 같은 옵션 / 상품이 여러 줄이면 수량을 합쳐서 재고와 비교
+     */
+    private BigDecimal priceAndValidate(List<CheckoutLine> lines) {
+
+        BigDecimal totalPrice = BigDecimal.ZERO;
+        Map<Long, Integer> optionQuantities = new HashMap<>();   // option_id → 주문 수량 합계
+        Map<Long, Integer> productQuantities = new HashMap<>();  // 단품 product_id → 주문 수량 합계
+
+        for (CheckoutLine line : lines) {
+            totalPrice = totalPrice.add(line.price().multiply(BigDecimal.valueOf(line.quantity())));
+
+            // 옵션 상품인데 옵션이 없으면 단품 재고(옵션 합계)로 주문되므로 거절
+            if (line.option() == null && Boolean.TRUE.equals(line.product().getIsOption())) {
+                throw new IllegalArgumentException("옵션을 선택해 주세요.");
+            }
+
+            if (line.option() != null) {
+                int required = optionQuantities.merge(line.option().getOptionId(), line.quantity(), Integer::sum);
+                if (line.option().getStock() < required) throw new RuntimeException("옵션 재고 부족");
+            } else {
+                int required = productQuantities.merge(line.product().getProductId(), line.quantity(), Integer::sum);
+                if (line.product().getStock() < required) throw new RuntimeException("상품 재고 부족");
+            }
+        }
+        return totalPrice;
+    }
+
+    /** 주문 항목 INSERT (JDBC 배치 1회) */
+    private List<Long> insertOrderItems(Order order, List<CheckoutLine> lines) {
+
+        List<OrderBatchRepository.ItemRow> rows = new ArrayList<>(lines.size());
+        for (CheckoutLine line : lines) {
+            Product product = line.product();
+            rows.add(new OrderBatchRepository.ItemRow(product.getProductId(), line.quantity(), line.price(),
+                    product.getProductName(), product.getMainImg(), line.displayOptionValue()));
+        }
+        return orderBatchRepository.insertItems(order.getOrderId(), rows);
+    }
+
+    /**
+     * 재고 차감 (옵션 / 단품 / 옵션 상품 전체 재고 재계산을 각각 JDBC 배치 1회)
+     * - 앞의 재고 검증은 읽은 값 기준이라 동시 주문을 막지 못하므로 실제 판단은 조건부 UPDATE 의 결과 건수로 한다.
+     * - 영속성 컨텍스트의 상품 / 옵션 엔티티 재고는 갱신하지 않으므로 이후 이 트랜잭션에서 재고를 다시 읽지 않는다.
+     */
+    private void applyStockChanges(List<CheckoutLine> lines) {
+
+        // 행 잠금을 항상 ID 오름차순으로 잡도록 정렬 (주문마다 순서가 다르면 서로 잠금을 기다리다 교착)
+        Map<Long, Integer> optionQuantities = new TreeMap<>();
+        Map<Long, Integer> productQuantities = new TreeMap<>();
+        Set<Long> optionProductIds = new TreeSet<>();
+
+        for (CheckoutLine line : lines) {
+            if (line.option() != null) {
+                optionQuantities.merge(line.option().getOptionId(), line.quantity(), Integer::sum);
+                optionProductIds.add(line.product().getProductId());
+            } else {
+                productQuantities.merge(line.product().getProductId(), line.quantity(), Integer::sum);
+            }
+        }
+
+        // 재고가 충분할 때만 차감하는 UPDATE → 0건이면 그 사이 다른 주문이 가져간 것 (예외 → 트랜잭션 전체 롤백)
+        if (!orderBatchRepository.decreaseOptionStocks(optionQuantities)) throw new RuntimeException("옵션 재고 부족");
+        if (!orderBatchRepository.decreaseProductStocks(productQuantities)) throw new RuntimeException("상품 재고 부족");
+        orderBatchRepository.syncProductStocks(optionProductIds);
+    }
+
     /** Cart에 담긴 optionValue로 실제 ProductOption 찾기 */
     private ProductOption resolveCartOption(Cart cart) {
 
@@ -283,12 +364,33 @@ public class OrderService {
                     + product.getProductId());
         }
 
-        return product.getProductOptions().stream()
-                .filter(o -> optionValue.equals(o.getOptionValue()))
-                .findFirst()
-                .orElseThrow(() ->
-                        new RuntimeException("상품에 존재하지 않는 옵션 값입니다. productId="
-                                + product.getProductId() + ", optionValue=" + optionValue));
+        ProductOption option = productOptionIndexCache.resolve(product, null, optionValue);
+        if (option == null) {
+            throw new RuntimeException("상품에 존재하지 않는 옵션 값입니다. productId="
+                    + product.getProductId() + ", optionValue=" + optionValue);
+        }
+        return option;
+    }
+
+    /**
+     * 주문 항목의 옵션 (옵션 미선택 / "기본" 이면 null)
+     * - optionId 가 오면 그대로 사용, 없으면 예전 방식의 "색상 Ivory" 표기로 찾음
+     * - 공백 없는 표기("Ivory")는 예전처럼 옵션 미선택으로 본다.
+     */
+    private ProductOption resolveItemOption(Product product, OrderRequestDTO.Item it) {
+
+        String label = null;
+        if (it.getOptionId() == null) {
+            if (it.getOptionValues() == null || it.getOptionValues().isEmpty()) return null;
+
+            label = it.getOptionValues().get(0);  // "색상 Ivory"
+            if (label == null || label.isBlank() || label.equals("기본")) return null;
+            if (label.split(" ", 2).length < 2) return null;
+        }
+
+        ProductOption option = productOptionIndexCache.resolve(product, it.getOptionId(), label);
+        if (option == null) throw new RuntimeException("옵션 없음");
+        return option;
     }
 
 
@@ -302,50 +404,10 @@ public class OrderService {
         MemberAddress address = memberAddressRepository.findById(req.getAddressId())
                 .orElseThrow(() -> new RuntimeException("배송지 없음"));
 
-        BigDecimal totalPrice = BigDecimal.ZERO;
-
-        // items 기반으로 가격 & 재고 체크
-        for (OrderRequestDTO.Item it : req.getItems()) {
-
-            Product product = productRepository.findById(it.getProductId())
-                    .orElseThrow(() -> new RuntimeException("상품 없음"));
-
-            Integer quantity = it.getQuantity();
-            ProductOption option = null;
-
-            // 옵션 매칭
-            if (it.getOptionValues() != null &&
-                    !it.getOptionValues().isEmpty() &&
-                    !it.getOptionValues().get(0).equals("기본")) {
-
-                String raw = it.getOptionValues().get(0);   // "색상 Ivory"
-                String[] parts = raw.split(" ", 2);
-
-                if (parts.length == 2) {
-                    String title = parts[0].trim();
-                    String value = parts[1].trim();
-
-                    option = product.getProductOptions().stream()
-                            .filter(o ->
-                                    o.getOptionTitle().equalsIgnoreCase(title) &&
-                                            o.getOptionValue().equalsIgnoreCase(value)
-                            )
-                            .findFirst()
-                            .orElseThrow(() -> new RuntimeException("옵션 없음"));
-                }
-            }
-
-            BigDecimal price = (option != null) ? option.getSellPrice() : product.getSellPrice();
-
-            // 🚨 재고 체크만 (차감은 결제 완료 후)
-            if (option != null && option.getStock() < quantity)
-                throw new RuntimeException("옵션 재고 부족");
-
-            if (option == null && product.getStock() < quantity)
-                throw new RuntimeException("상품 재고 부족");
-
-            totalPrice = totalPrice.add(price.multiply(BigDecimal.valueOf(quantity)));
-        }
+        // items(또는 회원 장바구니) 기반으로 가격 & 재고 체크
+        // 🚨 재고 체크만 (차감은 결제 완료 후)
+        List<CheckoutLine> lines = resolveLines(memberId, req);
+        BigDecimal totalPrice = priceAndValidate(lines);
 
         Order order = orderRepository.save(
                 Order.builder()
@@ -358,11 +420,19 @@ public class OrderService {
                         .orderNumber(orderNum)
                         .totalPrice(totalPrice)
                         .paymentMethod("CARD")
-
                         .status("READY")
                         .build()
         );
 
+        // 결제 완료 때 그대로 처리할 주문 줄 (가격 / 장바구니 줄까지 서버에서 확정한 값)
+        List<OrderBatchRepository.LineRow> rows = new ArrayList<>(lines.size());
+        for (CheckoutLine line : lines) {
+            rows.add(new OrderBatchRepository.LineRow(line.product().getProductId(),
+                    line.option() != null ? line.option().getOptionId() : null,
+                    line.quantity(), line.price(), line.cartId()));
+        }
+        orderBatchRepository.insertLines(order.getOrderId(), rows);
+
         return PaymentOrderDto.builder()
                 .orderId(order.getOrderId())
                 .orderNumber(order.getOrderNumber())
@@ -387,86 +457,60 @@ public class OrderService {
         if (!order.getStatus().equals("READY"))
             throw new RuntimeException("이미 결제 처리된 주문입니다.");
 
-        Set<Long> updatedProductIds = new HashSet<>();
+        // 주문 때 저장한 줄로 처리 (요청 items 는 쓰지 않음, 금액은 결제 검증한 주문 금액과 같은 단가)
+        List<CheckoutLine> lines = storedLines(order);
 
-        for (OrderRequestDTO.Item it : req.getItems()) {
+        // 장바구니 주문이면 주문한 줄 삭제 (이미 없으면 다른 주문이 먼저 가져간 것 → 롤백)
+        List<Long> cartIds = lines.stream().map(CheckoutLine::cartId).filter(Objects::nonNull).toList();
+        if (!cartIds.isEmpty()) {
+            deleteOrderedCartLines(order.getMember().getId(), cartIds);
+        }
 
-            Product product = productRepository.findById(it.getProductId())
-                    .orElseThrow(() -> new RuntimeException("상품 없음"));
+        applyStockChanges(lines);
+        insertOrderItems(order, lines);
 
-            Integer quantity = it.getQuantity();
-            ProductOption option = null;
-            String displayOptionValue = "기본";
-
-            // 옵션 매칭
-            if (it.getOptionValues() != null &&
-                    !it.getOptionValues().isEmpty() &&
-                    !it.getOptionValues().get(0).equals("기본")) {
-
-                String raw = it.getOptionValues().get(0);  // "색상 Ivory"
-                String[] parts = raw.split(" ", 2);
-
-                if (parts.length == 2) {
-                    String title = parts[0].trim();
-                    String value = parts[1].trim();
-
-                    option = product.getProductOptions().stream()
-                            .filter(o ->
-                                    o.getOptionTitle().equalsIgnoreCase(title) &&
-                                            o.getOptionValue().equalsIgnoreCase(value)
-                            )
-                            .findFirst()
-                            .orElseThrow(() -> new RuntimeException("옵션 없음"));
-
-                    displayOptionValue = option.getOptionTitle() + " " + option.getOptionValue();
-                }
-            }
+        Set<Long> stockChangedProductIds = new HashSet<>();
+        Map<Long, Integer> soldQuantities = new HashMap<>();
+        for (CheckoutLine line : lines) {
+            stockChangedProductIds.add(line.product().getProductId());
+            soldQuantities.merge(line.product().getProductId(), line.quantity(), Integer::sum);
+        }
 
-            BigDecimal price = (option != null) ? option.getSellPrice() : product.getSellPrice();
+        // 결제 완료 처리
+        order.setStatus("PAID");
+        orderRepository.save(order);
 
-            // OrderItem 생성
-            orderItemRepository.save(
-                    OrderItem.builder()
-                            .order(order)
-                            .product(product)
-                            .quantity(quantity)
-                            .price(price)
-                            .productName(product.getProductName())
-                            .mainImg(product.getMainImg())
-                            .optionValue(displayOptionValue)
-                            .build()
-            );
+        // 재고가 바뀐 상품은 커밋 후 카탈로그에 반영
+        eventPublisher.publishEvent(new ProductStockChangedEvent(stockChangedProductIds));
 
-            // 재고 차감
-            if (option != null) {
-                option.setStock(option.getStock() - quantity);
-                productOptionRepository.save(option);
-                updatedProductIds.add(product.getProductId());
-            } else {
-                product.setStock(product.getStock() - quantity);
-                productRepository.save(product);
-            }
-        }
+        // 판매량 반영 (판매순 정렬)
+        eventPublisher.publishEvent(new ProductsSoldEvent(soldQuantities));
+    }
 
-        // 옵션상품일 경우 product.stock 재계산
-        for (Long productId : updatedProductIds) {
+    /** 결제 대기 주문의 저장된 줄 → 주문할 줄 (주문 줄 1회 + 상품 / 옵션 IN 조회 1회) */
+    private List<CheckoutLine> storedLines(Order order) {
 
-            List<ProductOption> optionList =
-                    productOptionRepository.findByProduct_ProductId(productId);
+        List<OrderLine> stored = orderLineRepository.findByOrder_OrderIdOrderByOrderLineIdAsc(order.getOrderId());
+        if (stored.isEmpty()) throw new RuntimeException("주문 항목이 없습니다.");
 
-            int totalStock = optionList.stream()
-                    .mapToInt(ProductOption::getStock)
-                    .sum();
+        Map<Long, Product> products = new HashMap<>();
+        Set<Long> productIds = stored.stream().map(OrderLine::getProductId).collect(Collectors.toSet());
+        for (Product p : productRepository.findWithOptionsByProductIdIn(productIds)) {
+            products.put(p.getProductId(), p);
+        }
 
-            Product product = productRepository.findById(productId)
-                    .orElseThrow(() -> new RuntimeException("상품 없음"));
+        List<CheckoutLine> lines = new ArrayList<>(stored.size());
+        for (OrderLine line : stored) {
+            Product product = products.get(line.getProductId());
+            if (product == null) throw new RuntimeException("상품 없음");
 
-            product.setStock(totalStock);
-            productRepository.save(product);
+            ProductOption option = null;
+            if (line.getOptionId() != null) {
+                option = productOptionIndexCache.resolve(product, line.getOptionId(), null);
+                if (option == null) throw new RuntimeException("옵션 없음");
+            }
+            lines.add(new CheckoutLine(product, option, line.getQuantity(), line.getCartId(), line.getPrice()));
         }
-
-        // 결제 완료 처리
-        order.setStatus("PAID");
-        orderRepository.save(order);
+        return lines;
     }
 }
@@ -0,0 +1,108 @@
+package com.ecommerce.project.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 미리 직렬화(+gzip)해 둔 JSON 응답
+ * - 모든 방문자에게 같은 내용을 내려주는 조회 API 에서 요청마다 Jackson 직렬화를 하지 않기 위해 사용
+ * - ETag 는 내용 해시라서, 다시 만들어도 내용이 같으면 그대로 유지된다. (클라이언트는 계속 304)
+ */
+public final class PreSerializedResponse {
+
+    private final String etag;     // 원본 JSON 의 strong ETag
+    private final String gzipEtag; // gzip 표현의 strong ETag (표현이 다르면 strong ETag 도 달라야 함)
+    private final byte[] json;
+    private final byte[] gzipped;
+
+    private PreSerializedResponse(String hash, byte[] json, byte[] gzipped) {
+        this.etag = "\"" + hash + "\"";
+        this.gzipEtag = "\"" + hash + "-gzip\"";
+        this.json = json;
+        this.gzipped = gzipped;
+    }
+
+    public static PreSerializedResponse of(ObjectMapper objectMapper, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new PreSerializedResponse(hash(json), json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("응답 직렬화 실패", e);
+        }
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * If-None-Match 가 현재 내용과 같으면 304, 아니면 200 (Accept-Encoding 에 gzip 이 있으면 압축본)
+     */
+    public ResponseEntity<byte[]> toResponse(String ifNoneMatch, String acceptEncoding) {
+        boolean useGzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String currentEtag = useGzip ? gzipEtag : etag;
+
+        if (matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(currentEtag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(currentEtag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        if (useGzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(gzipped.length)
+                    .body(gzipped);
+        }
+        return builder.contentLength(json.length).body(json);
+    }
+
+    /** If-None-Match 비교 (여러 개 / * / W/ 접두사 허용, 압축 여부와 관계없이 같은 내용이면 일치) */
+    private boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = tag.trim();
+            if (t.equals("*")) return true;
+            if (t.startsWith("W/")) t = t.substring(2);
+            if (t.equals(etag) || t.equals(gzipEtag)) return true;
+        }
+        return false;
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.domain.CategoryLink;
+import com.ecommerce.project.backend.domain.Product;
+import com.ecommerce.project.backend.domain.ProductImage;
+import com.ecommerce.project.backend.domain.ProductOption;
+import com.ecommerce.project.backend.dto.ProductDto;
+import com.ecommerce.project.backend.repository.CategoryLinkRepository;
+import com.ecommerce.project.backend.repository.ProductImageRepository;
+import com.ecommerce.project.backend.repository.ProductOptionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 상품 목록의 연관 컬렉션(옵션/이미지/카테고리 링크) 일괄 로더
+ * - ProductDto.fromEntity 가 LAZY 컬렉션을 상품마다 건드리면 1 + 3N 쿼리가 나가므로,
+ *   상품 ID 로 IN 쿼리를 컬렉션별 1번씩 실행해서 미리 채워둔다.
+ * - 상품 수가 CHUNK_SIZE 이하(한 페이지)면 상품 수와 관계없이 항상 3번.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductBatchLoader {
+
+    // IN 절 파라미터 개수 제한 (MySQL 프리페어드 스테이트먼트 한도 대비)
+    static final int CHUNK_SIZE = 1000;
+
+    private final ProductOptionRepository productOptionRepository;
+    private final ProductImageRepository productImageRepository;
+    private final CategoryLinkRepository categoryLinkRepository;
+
+    /** 연관 컬렉션을 상품 ID 기준으로 묶어둔 결과 */
+    public static final class Batch {
+
+        private final Map<Long, List<ProductOption>> options = new HashMap<>();
+        private final Map<Long, List<ProductImage>> images = new HashMap<>();
+        private final Map<Long, List<CategoryLink>> categoryLinks = new HashMap<>();
+
+        public List<ProductOption> optionsOf(Long productId) {
+            return options.getOrDefault(productId, List.of());
+        }
+
+        public List<ProductImage> imagesOf(Long productId) {
+            return images.getOrDefault(productId, List.of());
+        }
+
+        public List<CategoryLink> categoryLinksOf(Long productId) {
+            return categoryLinks.getOrDefault(productId, List.of());
+        }
+
+        public ProductDto toDto(Product p, String baseUrl) {
+            Long id = p.getProductId();
+            return ProductDto.fromEntity(p, baseUrl, optionsOf(id), imagesOf(id), categoryLinksOf(id));
+        }
+    }
+
+    /** 상품들의 옵션/이미지/카테고리 링크 일괄 조회 */
+    public Batch load(Collection<Product> products) {
+        Batch batch = new Batch();
+
+        List<Long> ids = products.stream()
+                .map(Product::getProductId)
+                .distinct()
+                .toList();
+
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE));
+
+            for (ProductOption o : productOptionRepository.findByProduct_ProductIdInOrderByOptionIdAsc(chunk)) {
+                batch.options.computeIfAbsent(o.getProduct().getProductId(), k -> new ArrayList<>()).add(o);
+            }
+            for (ProductImage img : productImageRepository.findByProduct_ProductIdInOrderBySortOrderAsc(chunk)) {
+                batch.images.computeIfAbsent(img.getProduct().getProductId(), k -> new ArrayList<>()).add(img);
+            }
+            for (CategoryLink link : categoryLinkRepository.findByProduct_ProductIdInOrderByLinkIdAsc(chunk)) {
+                batch.categoryLinks.computeIfAbsent(link.getProduct().getProductId(), k -> new ArrayList<>()).add(link);
+            }
+        }
+
+        return batch;
+    }
+
+    /** 상품 목록 → DTO 목록 (입력 순서 유지) */
+    public List<ProductDto> toDtos(List<Product> products, String baseUrl) {
+        Batch batch = load(products);
+        return products.stream()
+                .map(p -> batch.toDto(p, baseUrl))
+                .toList();
+    }
+}
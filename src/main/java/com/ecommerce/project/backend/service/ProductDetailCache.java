@@ -0,0 +1,64 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.dto.ProductDetailResponseDto;
+import com.ecommerce.project.backend.event.ProductChangedEvent;
+import com.ecommerce.project.backend.event.ProductStockChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 상세(회원 무관 부분) 캐시
+ * - 상품/옵션/이미지/카테고리가 바뀌면 ProductChangedEvent, 재고가 바뀌면 ProductStockChangedEvent 로 해당 상품만 제거
+ * - 좋아요 수는 캐시하지 않음 (조회 시 ProductStatsService 의 메모리 카운터로 채움)
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductDetailCache {
+
+    private final ProductDetailLoader productDetailLoader;
+
+    private final Map<Long, ProductDetailResponseDto> cache = new ConcurrentHashMap<>();
+
+    // 무효화 세대: 로딩 도중 무효화가 일어나면 오래된 값을 넣지 않기 위해 사용
+    private final AtomicLong generation = new AtomicLong();
+
+    public ProductDetailResponseDto get(Long productId) {
+        ProductDetailResponseDto cached = cache.get(productId);
+        if (cached != null) return cached;
+
+        long gen = generation.get();
+        ProductDetailResponseDto loaded = productDetailLoader.load(productId);
+
+        // 세대 확인과 넣기를 무효화와 같은 잠금 안에서 (확인 직후 무효화되면 오래된 값이 남지 않도록)
+        synchronized (cache) {
+            if (generation.get() == gen) {
+                cache.putIfAbsent(productId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public void evict(Long productId) {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.remove(productId);
+        }
+    }
+
+    /** 관리자 수정 / 옵션 변경 커밋 후 해당 상품 제거 */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        event.getProductIds().forEach(this::evict);
+    }
+
+    /** 주문 / 재고 차감 커밋 후 해당 상품 제거 (상세 응답에 재고가 들어 있음) */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        event.getProductIds().forEach(this::evict);
+    }
+}
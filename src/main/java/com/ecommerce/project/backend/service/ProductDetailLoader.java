@@ -0,0 +1,75 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.domain.Product;
+import com.ecommerce.project.backend.domain.ProductImage;
+import com.ecommerce.project.backend.dto.OptionDto;
+import com.ecommerce.project.backend.dto.ProductDetailResponseDto;
+import com.ecommerce.project.backend.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 상품 상세 중 회원과 무관한 부분을 DB에서 조립 (ProductDetailCache 미스일 때만 호출)
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductDetailLoader {
+
+    private final ProductRepository productRepository;
+    private final ProductBatchLoader productBatchLoader;
+    private final CategoryTreeService categoryTreeService;
+
+    @Transactional(readOnly = true)
+    public ProductDetailResponseDto load(Long productId) {
+
+        // 상품
+        Product p = productRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("상품 없음: " + productId));
+
+        // 옵션 / 이미지 / 카테고리 링크 일괄 조회
+        ProductBatchLoader.Batch batch = productBatchLoader.load(List.of(p));
+
+        // 옵션 (노출 옵션만)
+        List<OptionDto> options = batch.optionsOf(productId).stream()
+                .filter(o -> Boolean.TRUE.equals(o.getIsShow()))
+                .map(OptionDto::fromEntity)
+                .toList();
+
+        // 이미지
+        List<String> subImages = batch.imagesOf(productId).stream()
+                .map(ProductImage::getImageUrl)
+                .toList();
+
+        // 카테고리 코드
+        List<String> codes = batch.categoryLinksOf(productId).stream()
+                .map(c -> c.getCategoryCode())
+                .toList();
+
+        // 카테고리 경로
+        String categoryPath = null;
+        if (!codes.isEmpty()) {
+            categoryPath = categoryTreeService.getCategoryPath(codes.get(0));
+        }
+
+        return ProductDetailResponseDto.builder()
+                .productId(p.getProductId())
+                .productName(p.getProductName())
+                .description(p.getDescription())
+                .consumerPrice(p.getConsumerPrice())
+                .sellPrice(p.getSellPrice())   // ⭐ 단일상품 가격
+                .stock(p.getStock())
+                .isOption(p.getIsOption())
+                .mainImg(p.getMainImg())
+                .subImages(subImages)
+                .productStatus(p.getProductStatus())
+                .isShow(p.getIsShow())
+                .categoryPath(categoryPath)
+                .categories(codes)
+                .options(options)               // ⭐ C/S 옵션만 내려감
+                .userLiked(false)               // 좋아요 수 / 회원별 값은 요청마다 채움
+                .build();
+    }
+}
@@ -0,0 +1,309 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.dto.CursorPageDto;
+import com.ecommerce.project.backend.dto.ProductFacetResponseDto;
+import com.ecommerce.project.backend.dto.ProductDto;
+import com.ecommerce.project.backend.dto.ProductOptionDto;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * 카테고리 목록 필터용 비트맵 인덱스 (불변)
+ * - 상품마다 고정 슬롯 번호를 주고 비트 번호로 쓰며, 필터 값마다 압축 비트맵(RoaringBitmap)을 하나씩 둔다.
+ *   (상품이 추가/삭제돼도 다른 상품의 슬롯은 그대로라 바뀐 상품의 비트만 고치면 된다)
+ * - 색상 / 하위 카테고리처럼 상품이 드문 값은 배열 컨테이너로, 꽉 찬 값은 비트 / 런 컨테이너로 저장돼
+ *   값 수 × 슬롯 수 만큼 메모리를 잡지 않는다.
+ * - 같은 필터 안의 여러 값은 OR, 서로 다른 필터끼리는 AND
+ * - 필터별 건수는 "자기 자신을 뺀 나머지 필터" 를 적용한 결과 기준 (선택을 바꿨을 때 나올 건수)
+ */
+public final class ProductFacetIndex {
+
+    public static final String SUB_CATEGORY = "subCategory";
+    public static final String PRICE = "price";
+    public static final String STATUS = "status";
+    public static final String COLOR = "color";
+
+    private static final List<String> FACETS = List.of(SUB_CATEGORY, PRICE, STATUS, COLOR);
+
+    // 가격 구간 (하한 포함, 상한 미포함)
+    private static final long[] PRICE_BOUNDS = {10_000, 30_000, 50_000, 100_000};
+
+    private final CatalogSnapshot snapshot;
+    private final long[] slotIds;                        // 슬롯 → 상품 ID
+    private final Map<Long, Integer> slotOf;             // 상품 ID → 슬롯
+    private final RoaringBitmap live;                    // 사용 중인 슬롯 (빈 슬롯은 다음 추가 때 재사용)
+    private final Map<String, RoaringBitmap> byCategory; // 카테고리 코드(상위 코드 포함) → 상품
+    private final Map<String, Map<String, RoaringBitmap>> byFacet; // 필터 이름 → 값 → 상품
+
+    private ProductFacetIndex(CatalogSnapshot snapshot, long[] slotIds, Map<Long, Integer> slotOf, RoaringBitmap live,
+                              Map<String, RoaringBitmap> byCategory, Map<String, Map<String, RoaringBitmap>> byFacet) {
+        this.snapshot = snapshot;
+        this.slotIds = slotIds;
+        this.slotOf = slotOf;
+        this.live = live;
+        this.byCategory = byCategory;
+        this.byFacet = byFacet;
+    }
+
+    /** 스냅샷 전체로 인덱스 생성 (O(상품 수)) */
+    static ProductFacetIndex of(CatalogSnapshot snapshot) {
+        List<ProductDto> products = snapshot.getProducts();
+        long[] ids = new long[products.size()];
+        Map<Long, Integer> slotOf = new HashMap<>(products.size() * 2);
+        RoaringBitmap live = new RoaringBitmap();
+
+        Map<String, Map<String, RoaringBitmap>> byFacet = new HashMap<>();
+        byFacet.put(PRICE, new LinkedHashMap<>());
+        byFacet.put(STATUS, new TreeMap<>());
+        byFacet.put(COLOR, new TreeMap<>());
+
+        // 가격 구간은 항상 같은 순서로 내려가도록 미리 생성
+        for (int b = 0; b <= PRICE_BOUNDS.length; b++) {
+            byFacet.get(PRICE).put(priceLabel(b), new RoaringBitmap());
+        }
+
+        Editor editor = new Editor(new HashMap<>(), byFacet);
+        for (int slot = 0; slot < products.size(); slot++) {
+            ProductDto p = products.get(slot);
+            ids[slot] = p.getProductId();
+            slotOf.put(p.getProductId(), slot);
+            live.add(slot);
+            editor.apply(keysOf(snapshot.getEntry(p.getProductId())), slot, true);
+        }
+        live.runOptimize();
+        editor.finish();
+
+        return new ProductFacetIndex(snapshot, ids, slotOf, live, editor.byCategory, byFacet);
+    }
+
+    /**
+     * 변경된 상품만 반영한 새 인덱스 생성 (CatalogRefreshedEvent 의 변경 상품 ID 기준)
+     * - 바뀐 상품의 이전 값 / 새 값에 해당하는 비트맵만 복사해서 고치고, 나머지는 이전 인덱스와 공유
+     * - 새 스냅샷에 없는 상품은 삭제(슬롯 비움), 있으면 추가/수정
+     */
+    ProductFacetIndex withChanges(CatalogSnapshot newSnapshot, Collection<Long> changedIds) {
+        Map<Long, Integer> newSlotOf = new HashMap<>(slotOf);
+        RoaringBitmap newLive = live.clone();
+        long[] newSlotIds = slotIds;
+
+        Map<String, Map<String, RoaringBitmap>> newByFacet = new HashMap<>();
+        newByFacet.put(PRICE, new LinkedHashMap<>(byFacet.get(PRICE)));
+        newByFacet.put(STATUS, new TreeMap<>(byFacet.get(STATUS)));
+        newByFacet.put(COLOR, new TreeMap<>(byFacet.get(COLOR)));
+        Editor editor = new Editor(new HashMap<>(byCategory), newByFacet);
+
+        for (Long id : changedIds) {
+            Integer slot = newSlotOf.get(id);
+            CatalogSnapshot.Entry before = snapshot.getEntry(id);
+            CatalogSnapshot.Entry after = newSnapshot.getEntry(id);
+
+            if (slot != null && before != null) {
+                editor.apply(keysOf(before), slot, false);
+            }
+            if (after == null) {
+                if (slot != null) {
+                    newSlotOf.remove(id);
+                    newLive.remove(slot);
+                }
+                continue;
+            }
+
+            if (slot == null) {
+                slot = (int) newLive.nextAbsentValue(0);
+                if (newSlotIds == slotIds) newSlotIds = slotIds.clone();
+                if (slot >= newSlotIds.length) {
+                    newSlotIds = Arrays.copyOf(newSlotIds, Math.max(slot + 1, newSlotIds.length * 3 / 2 + 1));
+                }
+                newSlotIds[slot] = id;
+                newSlotOf.put(id, slot);
+                newLive.add(slot);
+            }
+            editor.apply(keysOf(after), slot, true);
+        }
+        editor.finish();
+
+        return new ProductFacetIndex(newSnapshot, newSlotIds, newSlotOf, newLive, editor.byCategory, newByFacet);
+    }
+
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+
+    /**
+     * 필터 적용 결과
+     *
+     * @param categoryCode 기준 카테고리 (하위 카테고리 포함, null 이면 전체)
+     * @param filters      필터 이름 → 선택 값 (같은 필터 값끼리 OR)
+     */
+    public ProductFacetResponseDto query(String categoryCode, Map<String, Set<String>> filters, Long after, int size) {
+        RoaringBitmap base = scope(categoryCode);
+
+        // 필터별 선택 값 OR
+        Map<String, RoaringBitmap> selected = new HashMap<>();
+        for (String facet : FACETS) {
+            Set<String> values = filters.getOrDefault(facet, Set.of());
+            if (values.isEmpty()) continue;
+
+            RoaringBitmap bits = new RoaringBitmap();
+            Map<String, RoaringBitmap> valueMap = valuesOf(facet, categoryCode);
+            for (String v : values) {
+                RoaringBitmap vb = valueMap.get(COLOR.equals(facet) ? normalizeColor(v) : v);
+                if (vb != null) bits.or(vb);
+            }
+            selected.put(facet, bits);
+        }
+
+        // 결과 = 기준 AND 모든 필터
+        RoaringBitmap matched = base.clone();
+        selected.values().forEach(matched::and);
+
+        // 필터별 건수 = 기준 AND (자기 자신 제외한 필터) AND 값 (값마다 교집합을 만들지 않고 건수만 계산)
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        for (String facet : FACETS) {
+            RoaringBitmap context = base.clone();
+            selected.forEach((f, bits) -> {
+                if (!f.equals(facet)) context.and(bits);
+            });
+
+            Map<String, Integer> valueCounts = new LinkedHashMap<>();
+            valuesOf(facet, categoryCode).forEach((value, bits) ->
+                    valueCounts.put(value, RoaringBitmap.andCardinality(context, bits)));
+            counts.put(facet, valueCounts);
+        }
+
+        return new ProductFacetResponseDto(matched.getCardinality(), page(matched, after, size), counts);
+    }
+
+    /** 기준 카테고리 상품 (없으면 전체) */
+    private RoaringBitmap scope(String categoryCode) {
+        if (categoryCode == null || categoryCode.isBlank()) {
+            return live;
+        }
+        return byCategory.getOrDefault(categoryCode, new RoaringBitmap());
+    }
+
+    /** 필터 값 목록 (하위 카테고리는 기준 카테고리 바로 아래 단계만) */
+    private Map<String, RoaringBitmap> valuesOf(String facet, String categoryCode) {
+        if (!SUB_CATEGORY.equals(facet)) return byFacet.get(facet);
+
+        String parent = (categoryCode == null) ? "" : categoryCode;
+        Map<String, RoaringBitmap> children = new TreeMap<>();
+        byCategory.forEach((code, bits) -> {
+            if (code.length() == parent.length() + 4 && code.startsWith(parent)) children.put(code, bits);
+        });
+        return children;
+    }
+
+    /**
+     * 결과 비트에서 after 다음 상품부터 size 건 (상품 ID 오름차순)
+     * - 슬롯 순서는 상품 ID 순서가 아니므로 결과 상품 ID 를 모아 정렬한다. (O(결과 수))
+     */
+    private CursorPageDto<ProductDto> page(RoaringBitmap matched, Long after, int size) {
+        long[] ids = Arrays.stream(matched.toArray())
+                .mapToLong(slot -> slotIds[slot])
+                .filter(id -> after == null || id > after)
+                .sorted()
+                .toArray();
+
+        int count = Math.min(size, ids.length);
+        List<ProductDto> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(snapshot.getProduct(ids[i]));
+        }
+
+        Long nextCursor = (ids.length > count && count > 0) ? ids[count - 1] : null;
+        return CursorPageDto.of(items, nextCursor);
+    }
+
+    /** 상품 하나가 들어가는 필터 값 */
+    private record Keys(Set<String> categories, String price, String status, Set<String> colors) {
+    }
+
+    private static Keys keysOf(CatalogSnapshot.Entry entry) {
+        ProductDto p = entry.getProduct();
+
+        // 카테고리: 4자리씩 상위 코드까지 모두 (0001 / 00010001 / 000100010001)
+        Set<String> categories = new HashSet<>();
+        for (String code : entry.getCategoryCodes()) {
+            for (int len = 4; len <= code.length(); len += 4) {
+                categories.add(code.substring(0, len));
+            }
+        }
+
+        String status = (p.getProductStatus() != null) ? String.valueOf(p.getProductStatus()) : null;
+
+        Set<String> colors = new HashSet<>();
+        if (p.getOptions() != null) {
+            for (ProductOptionDto o : p.getOptions()) {
+                if (Boolean.TRUE.equals(o.getIsShow()) && o.getColorCode() != null && !o.getColorCode().isBlank()) {
+                    colors.add(normalizeColor(o.getColorCode()));
+                }
+            }
+        }
+
+        return new Keys(categories, priceLabel(priceBucket(p.getSellPrice())), status, colors);
+    }
+
+    /**
+     * 필터 값 비트맵 수정 (copy-on-write)
+     * - 값마다 처음 고칠 때 한 번만 복사하고, 이전 인덱스의 비트맵은 건드리지 않는다.
+     */
+    private static final class Editor {
+
+        private final Map<String, RoaringBitmap> byCategory;
+        private final Map<String, Map<String, RoaringBitmap>> byFacet;
+        private final Map<Map<String, RoaringBitmap>, Set<String>> copied = new IdentityHashMap<>();
+
+        private Editor(Map<String, RoaringBitmap> byCategory, Map<String, Map<String, RoaringBitmap>> byFacet) {
+            this.byCategory = byCategory;
+            this.byFacet = byFacet;
+        }
+
+        void apply(Keys keys, int slot, boolean set) {
+            keys.categories().forEach(code -> write(byCategory, code, slot, set));
+            write(byFacet.get(PRICE), keys.price(), slot, set);
+            if (keys.status() != null) write(byFacet.get(STATUS), keys.status(), slot, set);
+            keys.colors().forEach(color -> write(byFacet.get(COLOR), color, slot, set));
+        }
+
+        /** 고친 비트맵 압축(런 컨테이너 변환) + 상품이 하나도 없는 값 제거 (가격 구간은 고정이라 유지) */
+        void finish() {
+            copied.forEach((map, keys) -> keys.forEach(key -> {
+                RoaringBitmap bits = map.get(key);
+                if (bits.isEmpty() && map != byFacet.get(PRICE)) map.remove(key);
+                else bits.runOptimize();
+            }));
+        }
+
+        private void write(Map<String, RoaringBitmap> map, String key, int slot, boolean set) {
+            if (!set && !map.containsKey(key)) return;
+
+            if (copied.computeIfAbsent(map, m -> new HashSet<>()).add(key)) {
+                RoaringBitmap old = map.get(key);
+                map.put(key, (old != null) ? old.clone() : new RoaringBitmap());
+            }
+            if (set) map.get(key).add(slot);
+            else map.get(key).remove(slot);
+        }
+    }
+
+    private static int priceBucket(BigDecimal price) {
+        long value = (price != null) ? price.longValue() : 0;
+        int b = 0;
+        while (b < PRICE_BOUNDS.length && value >= PRICE_BOUNDS[b]) b++;
+        return b;
+    }
+
+    /** 가격 구간 이름 (예: "10000-30000", 마지막 구간은 "100000-") */
+    private static String priceLabel(int bucket) {
+        long lower = (bucket == 0) ? 0 : PRICE_BOUNDS[bucket - 1];
+        String upper = (bucket < PRICE_BOUNDS.length) ? String.valueOf(PRICE_BOUNDS[bucket]) : "";
+        return lower + "-" + upper;
+    }
+
+    private static String normalizeColor(String colorCode) {
+        return colorCode.trim().toUpperCase(Locale.ROOT);
+    }
+}
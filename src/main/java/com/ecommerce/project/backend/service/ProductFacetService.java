@@ -0,0 +1,75 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.dto.ProductFacetResponseDto;
+import com.ecommerce.project.backend.event.CatalogRefreshedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * 카테고리 목록 필터 (가격대 / 품절 여부 / 색상 / 하위 카테고리)
+ * - 카탈로그 스냅샷 기준 비트맵 인덱스로 응답 (DB 조회 없음)
+ * - 스냅샷이 교체될 때(CatalogRefreshedEvent) 변경된 상품의 비트만 고친 새 인덱스로 교체
+ *   (주문마다 재고가 바뀌어도 전체를 다시 만들지 않음, 전체 로딩 때만 새로 생성)
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductFacetService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final CatalogService catalogService;
+
+    private volatile ProductFacetIndex index; // null 이면 아직 생성 전
+
+    /** 스냅샷 교체 시 인덱스 갱신 */
+    @EventListener
+    public synchronized void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        ProductFacetIndex current = index;
+
+        if (event.isFullReload() || current == null) {
+            index = ProductFacetIndex.of(event.getSnapshot());
+        } else {
+            index = current.withChanges(event.getSnapshot(), event.getChangedProductIds());
+        }
+    }
+
+    public ProductFacetResponseDto search(String categoryCode,
+                                          List<String> subCategories,
+                                          List<String> prices,
+                                          List<String> statuses,
+                                          List<String> colors,
+                                          Long after,
+                                          Integer size) {
+
+        Map<String, Set<String>> filters = new HashMap<>();
+        filters.put(ProductFacetIndex.SUB_CATEGORY, toSet(subCategories));
+        filters.put(ProductFacetIndex.PRICE, toSet(prices));
+        filters.put(ProductFacetIndex.STATUS, toSet(statuses));
+        filters.put(ProductFacetIndex.COLOR, toSet(colors));
+
+        int pageSize = (size == null || size < 1) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        return getIndex().query(categoryCode, filters, after, pageSize);
+    }
+
+    private ProductFacetIndex getIndex() {
+        ProductFacetIndex current = index;
+        if (current != null) return current;
+
+        // 스냅샷 로딩이 끝나면 CatalogRefreshedEvent 로 인덱스가 만들어진다
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+        synchronized (this) {
+            if (index == null) {
+                index = ProductFacetIndex.of(snapshot);
+            }
+            return index;
+        }
+    }
+
+    private static Set<String> toSet(List<String> values) {
+        return (values == null) ? Set.of() : new HashSet<>(values);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.dto.CursorPageDto;
+import com.ecommerce.project.backend.dto.ProductDto;
+import com.ecommerce.project.backend.dto.ProductFacetResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * 목록 응답에 좋아요 수(likeCount) / 내 좋아요 여부(userLiked) 채우기
+ * - 회원의 좋아요 집합을 페이지당 한 번만 꺼내고, 상품별로는 메모리 조회만 한다. (상품 수만큼 쿼리 없음)
+ * - 스냅샷의 DTO 는 공유 객체라 직접 수정하지 않고 복사본에 채운다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductLikeAnnotator {
+
+    private final MemberLikeCache memberLikeCache;
+    private final ProductStatsService productStatsService;
+
+    /** 상품 1건 변환 함수 (스트리밍 응답용) */
+    public UnaryOperator<ProductDto> forMember(Long memberId) {
+        long[] liked = memberLikeCache.getLikedIds(memberId);
+        return p -> p.toBuilder()
+                .likeCount(productStatsService.getLikeCount(p.getProductId()))
+                .userLiked(MemberLikeCache.contains(liked, p.getProductId()))
+                .build();
+    }
+
+    public List<ProductDto> annotate(List<ProductDto> products, Long memberId) {
+        UnaryOperator<ProductDto> annotate = forMember(memberId);
+        List<ProductDto> result = new ArrayList<>(products.size());
+        for (ProductDto p : products) {
+            result.add(annotate.apply(p));
+        }
+        return result;
+    }
+
+    public CursorPageDto<ProductDto> annotate(CursorPageDto<ProductDto> page, Long memberId) {
+        return CursorPageDto.of(annotate(page.getItems(), memberId), page.getNextCursor());
+    }
+
+    public ProductFacetResponseDto annotate(ProductFacetResponseDto response, Long memberId) {
+        return new ProductFacetResponseDto(response.getTotal(),
+                annotate(response.getProducts(), memberId), response.getFacets());
+    }
+}
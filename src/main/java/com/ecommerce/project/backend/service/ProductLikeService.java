@@ -1,26 +1,41 @@
 package com.ecommerce.project.backend.service;
 
 import com.ecommerce.project.backend.config.MusinsaConfig;
+import com.ecommerce.project.backend.domain.Product;
 import com.ecommerce.project.backend.domain.ProductLike;
+import com.ecommerce.project.backend.dto.CursorPageDto;
+import com.ecommerce.project.backend.dto.LikedProductDto;
 import com.ecommerce.project.backend.dto.ProductDto;
+import com.ecommerce.project.backend.event.ProductLikeChangedEvent;
 import com.ecommerce.project.backend.repository.ProductLikeRepository;
 import com.ecommerce.project.backend.repository.ProductRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductLikeService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ProductLikeRepository likeRepository;
     private final ProductRepository productRepository;
     private final MusinsaConfig musinsaConfig;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductStatsService productStatsService;
+    private final ProductBatchLoader productBatchLoader;
 
+    /** 좋아요 토글 (커밋 후 ProductLikeChangedEvent 로 메모리 좋아요 수가 증감) */
     @Transactional
     public boolean toggleLike(Long memberId, Long productId) {
 
@@ -28,6 +43,7 @@ public class ProductLikeService {
 
         if (exists) {
             likeRepository.deleteByMemberIdAndProductId(memberId, productId);
+            eventPublisher.publishEvent(new ProductLikeChangedEvent(memberId, productId, false));
             return false; // 좋아요 취소
         }
 
@@ -37,26 +53,74 @@ public class ProductLikeService {
                 .build();
 
         likeRepository.save(like);
+        eventPublisher.publishEvent(new ProductLikeChangedEvent(memberId, productId, true));
         return true; // 좋아요 추가
     }
 
+    /** 좋아요 수 (메모리 카운터, product_like 조회 없음) */
     public Long countLikes(Long productId) {
-        return likeRepository.countByProductId(productId);
+        return productStatsService.getLikeCount(productId);
     }
 
+    /**
+     * 내 좋아요 전체 (기존 화면 호환)
+     * - 좋아요 / 상품 / 옵션·이미지·카테고리 링크를 각각 한 번씩만 조회 (좋아요 수와 관계없이 쿼리 수 고정)
+     */
     public List<ProductDto> getMyLikeProducts(Long memberId) {
         String baseUrl = musinsaConfig.getImageBaseUrl();
 
-        return likeRepository.findByMemberId(memberId)
-                .stream()
-                .map(like -> productRepository.findById(like.getProductId()))
-                .flatMap(Optional::stream)
-                .map(product -> {
-                    ProductDto dto = ProductDto.fromEntity(product, baseUrl);
-                    dto.setLikeCount(likeRepository.countByProductId(product.getProductId()));
-                    dto.setUserLiked(true);
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        List<Long> productIds = likeRepository.findByMemberId(memberId).stream()
+                .map(ProductLike::getProductId)
+                .toList();
+        if (productIds.isEmpty()) return List.of();
+
+        // 좋아요 순서 유지 (삭제된 상품은 제외)
+        Map<Long, Product> byId = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        List<Product> products = productIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        List<ProductDto> result = productBatchLoader.toDtos(products, baseUrl);
+        for (ProductDto dto : result) {
+            dto.setLikeCount(productStatsService.getLikeCount(dto.getProductId()));
+            dto.setUserLiked(true);
+        }
+        return result;
+    }
+
+    /**
+     * 내 좋아요 커서 페이지 (최신 좋아요 순)
+     * - 좋아요 + 상품 조인 쿼리 1번, 좋아요 수는 메모리 카운터
+     *
+     * @param after 직전 페이지의 마지막 likeId
+     */
+    public CursorPageDto<LikedProductDto> getMyLikeProductsPage(Long memberId, Long after, Integer size) {
+        int pageSize = normalizePageSize(size);
+        String baseUrl = musinsaConfig.getImageBaseUrl();
+
+        // 한 건 더 읽어서 다음 페이지 여부 판단
+        List<LikedProductDto> rows = likeRepository.findLikedProductPage(memberId, after, PageRequest.of(0, pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<LikedProductDto> items = hasNext ? rows.subList(0, pageSize) : rows;
+
+        for (LikedProductDto dto : items) {
+            dto.setMainImg(toImageUrl(baseUrl, dto.getMainImg()));
+            dto.setLikeCount(productStatsService.getLikeCount(dto.getProductId()));
+        }
+
+        Long nextCursor = hasNext ? items.get(items.size() - 1).getLikeId() : null;
+        return CursorPageDto.of(items, nextCursor);
+    }
+
+    private int normalizePageSize(Integer size) {
+        if (size == null || size < 1) return DEFAULT_PAGE_SIZE;
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private static String toImageUrl(String baseUrl, String mainImg) {
+        if (mainImg == null) return null;
+        return mainImg.startsWith("/") ? baseUrl + mainImg : baseUrl + "/" + mainImg;
     }
 }
@@ -0,0 +1,39 @@
+package com.ecommerce.project.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * /api/products/list 응답 바이트 캐시
+ * - 카탈로그 스냅샷의 경량 목록 버전(listVersion)이 바뀔 때만 다시 직렬화
+ *   (주문으로 재고만 바뀐 경우에는 목록 내용이 같으므로 그대로 사용)
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductListResponseCache {
+
+    private final CatalogService catalogService;
+    private final ObjectMapper objectMapper;
+
+    /** 직렬화 결과 + 기준 목록 버전 (한 번에 교체) */
+    private record Cached(long listVersion, PreSerializedResponse response) {
+    }
+
+    private volatile Cached cached;
+
+    public PreSerializedResponse get() {
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+
+        Cached current = cached;
+        if (current != null && current.listVersion() == snapshot.getListVersion()) return current.response();
+
+        synchronized (this) {
+            if (cached == null || cached.listVersion() != snapshot.getListVersion()) {
+                cached = new Cached(snapshot.getListVersion(),
+                        PreSerializedResponse.of(objectMapper, snapshot.getListItems()));
+            }
+            return cached.response();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.domain.ProductOption;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 상품 하나의 옵션 조회용 불변(immutable) 인덱스
+ * - optionId / 옵션값 / 정규화한 "옵션명 옵션값" 표기("색상 Ivory") 로 O(1) 조회
+ * - 식별 정보만 담고 재고는 담지 않는다. (엔티티 / 재고는 호출한 쪽이 옵션까지 읽어 둔 상품에서)
+ * - 같은 키가 여러 옵션에 있으면 optionId 가 가장 작은 옵션 (기존 findFirst 와 동일)
+ */
+public final class ProductOptionIndex {
+
+    /** 옵션 한 건의 식별 정보 */
+    public record OptionKey(Long optionId, String optionTitle, String optionValue) {
+
+        /** 주문 항목 표시용 "색상 Ivory" */
+        public String label() {
+            return optionTitle + " " + optionValue;
+        }
+    }
+
+    private final Map<Long, OptionKey> byId;
+    private final Map<String, OptionKey> byValue;  // 옵션값 그대로 (장바구니 option_value)
+    private final Map<String, OptionKey> byLabel;  // 정규화한 "옵션명 옵션값"
+
+    private ProductOptionIndex(Map<Long, OptionKey> byId, Map<String, OptionKey> byValue, Map<String, OptionKey> byLabel) {
+        this.byId = byId;
+        this.byValue = byValue;
+        this.byLabel = byLabel;
+    }
+
+    /** 옵션 목록(optionId 오름차순)으로 인덱스 생성 */
+    static ProductOptionIndex of(List<ProductOption> options) {
+        Map<Long, OptionKey> byId = new HashMap<>(options.size() * 2);
+        Map<String, OptionKey> byValue = new HashMap<>(options.size() * 2);
+        Map<String, OptionKey> byLabel = new HashMap<>(options.size() * 2);
+
+        for (ProductOption o : options) {
+            OptionKey key = new OptionKey(o.getOptionId(), o.getOptionTitle(), o.getOptionValue());
+            byId.put(o.getOptionId(), key);
+            if (o.getOptionValue() != null) byValue.putIfAbsent(o.getOptionValue(), key);
+            if (o.getOptionTitle() != null && o.getOptionValue() != null) {
+                byLabel.putIfAbsent(normalize(key.label()), key);
+            }
+        }
+        return new ProductOptionIndex(byId, byValue, byLabel);
+    }
+
+    /** 이 상품의 옵션이면 반환 (다른 상품의 optionId 면 null) */
+    public OptionKey findById(Long optionId) {
+        return optionId == null ? null : byId.get(optionId);
+    }
+
+    public OptionKey findByValue(String optionValue) {
+        return optionValue == null ? null : byValue.get(optionValue);
+    }
+
+    /** "색상 Ivory" 표기 (대소문자 / 앞뒤·중복 공백 무시) */
+    public OptionKey findByLabel(String label) {
+        return label == null ? null : byLabel.get(normalize(label));
+    }
+
+    public boolean isEmpty() {
+        return byId.isEmpty();
+    }
+
+    /** 소문자 + 공백 하나로 정리 */
+    static String normalize(String text) {
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
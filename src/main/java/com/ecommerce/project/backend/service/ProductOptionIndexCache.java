@@ -0,0 +1,99 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.domain.Product;
+import com.ecommerce.project.backend.domain.ProductOption;
+import com.ecommerce.project.backend.event.ProductChangedEvent;
+import com.ecommerce.project.backend.repository.ProductOptionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품별 옵션 인덱스 캐시 (장바구니 / 주문의 옵션 조회용)
+ * - 상품의 옵션 목록을 매번 돌며 문자열을 비교하지 않고 인덱스로 optionId 를 찾는다.
+ * - 옵션 엔티티는 호출한 쪽이 옵션 목록까지 함께 읽어 둔 상품에서 꺼내므로 추가 조회 없음
+ * - 옵션이 바뀌는 ProductChangedEvent 커밋 후 해당 상품만 제거 (재고만 바뀐 ProductStockChangedEvent 는 무관)
+ * - 최대 상품 수를 넘으면 가장 오래 안 쓴 상품부터 제거(LRU)
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductOptionIndexCache {
+
+    private static final int MAX_PRODUCTS = 10_000;
+
+    private final ProductOptionRepository productOptionRepository;
+
+    // 접근 순서 LinkedHashMap → LRU (잠금 안에서만 접근)
+    private final Map<Long, ProductOptionIndex> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ProductOptionIndex> eldest) {
+            return size() > MAX_PRODUCTS;
+        }
+    };
+
+    // 무효화 세대: 로딩 도중 무효화가 일어나면 오래된 값을 넣지 않기 위해 사용
+    private final AtomicLong generation = new AtomicLong();
+
+    public ProductOptionIndex get(Long productId) {
+        synchronized (cache) {
+            ProductOptionIndex cached = cache.get(productId);
+            if (cached != null) return cached;
+        }
+
+        long gen = generation.get();
+        ProductOptionIndex loaded = ProductOptionIndex.of(
+                productOptionRepository.findByProduct_ProductIdInOrderByOptionIdAsc(List.of(productId)));
+
+        // 세대 확인과 넣기를 무효화와 같은 잠금 안에서 (확인 직후 무효화되면 오래된 값이 남지 않도록)
+        synchronized (cache) {
+            if (generation.get() == gen) {
+                cache.putIfAbsent(productId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 상품의 옵션 엔티티 (optionId 우선, 없으면 옵션값 → "옵션명 옵션값" 표기 순으로 찾음)
+     *
+     * @param product 옵션 목록까지 읽어 둔 상품 (fetch join), 엔티티는 이 목록에서 꺼냄
+     * @return 찾지 못하면 null
+     */
+    public ProductOption resolve(Product product, Long optionId, String optionValue) {
+        ProductOptionIndex index = get(product.getProductId());
+
+        ProductOptionIndex.OptionKey key;
+        if (optionId != null) {
+            key = index.findById(optionId);
+        } else if (optionValue == null || optionValue.isBlank()) {
+            return null;
+        } else {
+            key = index.findByValue(optionValue);
+            if (key == null) key = index.findByLabel(optionValue);
+        }
+        if (key == null) return null;
+
+        for (ProductOption option : product.getProductOptions()) {
+            if (key.optionId().equals(option.getOptionId())) return option;
+        }
+        return null;
+    }
+
+    public void evict(Long productId) {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.remove(productId);
+        }
+    }
+
+    /** 관리자 수정 / 옵션 변경 커밋 후 해당 상품 제거 */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        event.getProductIds().forEach(this::evict);
+    }
+}
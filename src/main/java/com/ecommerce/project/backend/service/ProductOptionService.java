@@ -4,11 +4,13 @@ package com.ecommerce.project.backend.service;
 import com.ecommerce.project.backend.domain.Product;
 import com.ecommerce.project.backend.domain.ProductOption;
 import com.ecommerce.project.backend.dto.ProductOptionDto;
+import com.ecommerce.project.backend.event.ProductChangedEvent;
 import com.ecommerce.project.backend.mapper.ProductOptionMapper;
 import com.ecommerce.project.backend.repository.ProductOptionRepository;
 import com.ecommerce.project.backend.repository.ProductRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,6 +22,7 @@ public class ProductOptionService {
 
     private final ProductOptionRepository productOptionRepository;
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 옵션 등록 (비즈니스 규칙 적용)
@@ -118,6 +121,9 @@ public class ProductOptionService {
                 .orElseThrow(() -> new RuntimeException("상품 없음"));
 
         product.setStock(totalStock);
+
+        // 옵션 변경은 모두 여기를 거치므로, 커밋 후 카탈로그 스냅샷 갱신
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
     }
 
 
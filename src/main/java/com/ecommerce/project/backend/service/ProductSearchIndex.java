@@ -0,0 +1,332 @@
+package com.ecommerce.project.backend.service;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+/**
+ * 상품 검색용 불변(immutable) n-gram 역색인
+ * - 상품명 + 연결된 카테고리명(상위 카테고리 포함)을 글자 단위 1-gram / 2-gram 으로 쪼개서 색인
+ *   (한글은 형태소 분석 없이도 부분 일치가 되고, 영문/숫자가 섞인 상품명도 같은 방식으로 처리)
+ * - 생성 이후에는 수정하지 않고, 변경 시 새 인덱스를 만들어 통째로 교체한다. (CatalogSnapshot 과 동일)
+ * - 검색어별 순위 결과는 인덱스 안에 캐시 (인덱스가 교체되면 같이 버려짐)
+ */
+public final class ProductSearchIndex {
+
+    private static final long[] EMPTY_IDS = new long[0];
+
+    // 점수 (검색어 단어별 합산)
+    private static final int SCORE_NAME_PREFIX = 3;   // 상품명 단어가 검색어로 시작
+    private static final int SCORE_NAME_CONTAINS = 2; // 상품명에 포함
+    private static final int SCORE_CATEGORY = 1;      // 카테고리명에만 포함
+
+    // 순위 키 = (최대점수 - 점수) << 40 | productId
+    private static final int SCORE_SHIFT = 40;
+    private static final long ID_MASK = (1L << SCORE_SHIFT) - 1;
+
+    private static final int MAX_CACHED_QUERIES = 1_000;
+    private static final String ALL_QUERY = " "; // 빈 검색어 캐시 키 (정규화한 검색어는 공백으로 시작하지 않음)
+
+    /** 상품 1건의 색인 대상 텍스트 (정규화 + 상품명 단어는 미리 쪼갠 상태) */
+    private record Doc(String name, String[] nameWords, String categoryText) {
+
+        Set<String> terms() {
+            Set<String> terms = new HashSet<>();
+            for (String w : words(name)) addTerms(w, terms);
+            for (String w : words(categoryText)) addTerms(w, terms);
+            return terms;
+        }
+    }
+
+    private final CatalogSnapshot snapshot;     // 색인 기준 스냅샷 (결과 DTO 도 여기서 꺼냄)
+    private final Map<String, String> categoryTitles; // 카테고리 코드 → 카테고리명
+    private final Map<Long, Doc> docs;          // productId → 색인 텍스트
+    private final Map<String, long[]> postings; // term → 상품 ID (오름차순)
+
+    // 정규화한 검색어 → 순위 키 (오름차순)
+    private final Map<String, long[]> rankedByQuery = new ConcurrentHashMap<>();
+
+    private ProductSearchIndex(CatalogSnapshot snapshot, Map<String, String> categoryTitles,
+                               Map<Long, Doc> docs, Map<String, long[]> postings) {
+        this.snapshot = snapshot;
+        this.categoryTitles = categoryTitles;
+        this.docs = Collections.unmodifiableMap(docs);
+        this.postings = Collections.unmodifiableMap(postings);
+    }
+
+    /** 스냅샷 전체로 새 인덱스 생성 */
+    static ProductSearchIndex of(CatalogSnapshot snapshot, Map<String, String> categoryTitles) {
+        Map<String, String> titles = Map.copyOf(categoryTitles);
+        Map<Long, Doc> docs = new HashMap<>(snapshot.size() * 2);
+        Map<String, List<Long>> lists = new HashMap<>();
+
+        for (CatalogSnapshot.Entry e : entriesOf(snapshot, null)) {
+            Doc doc = toDoc(e, titles);
+            docs.put(e.getProductId(), doc);
+            for (String term : doc.terms()) {
+                lists.computeIfAbsent(term, k -> new ArrayList<>()).add(e.getProductId());
+            }
+        }
+
+        Map<String, long[]> postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((term, ids) -> postings.put(term,
+                ids.stream().mapToLong(Long::longValue).sorted().toArray()));
+
+        return new ProductSearchIndex(snapshot, titles, docs, postings);
+    }
+
+    /**
+     * 카테고리명이 바뀐 새 인덱스 생성
+     * - 바뀐 카테고리(또는 그 하위 카테고리)에 연결된 상품만 새 카테고리명으로 다시 색인
+     *
+     * @param changedCodes 이름이 추가 / 변경 / 삭제된 카테고리 코드
+     */
+    ProductSearchIndex withCategoryTitles(Map<String, String> newTitles, Collection<String> changedCodes) {
+        List<Long> affected = new ArrayList<>();
+        for (CatalogSnapshot.Entry e : entriesOf(snapshot, null)) {
+            if (linksUnder(e, changedCodes)) affected.add(e.getProductId());
+        }
+        return new ProductSearchIndex(snapshot, Map.copyOf(newTitles), docs, postings)
+                .withChanges(snapshot, affected);
+    }
+
+    /** 상품이 codes 중 하나 또는 그 하위 카테고리에 연결되어 있는지 (카테고리명은 상위 코드까지 색인하므로) */
+    private static boolean linksUnder(CatalogSnapshot.Entry e, Collection<String> codes) {
+        for (String linked : e.getCategoryCodes()) {
+            for (String code : codes) {
+                if (linked.startsWith(code)) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 변경된 상품만 반영한 새 인덱스 생성
+     * - 변경 상품의 이전/이후 term 에 해당하는 posting 배열만 다시 만든다.
+     */
+    ProductSearchIndex withChanges(CatalogSnapshot newSnapshot, Collection<Long> changedIds) {
+        Map<Long, Doc> newDocs = new HashMap<>(docs);
+        Map<Long, Set<String>> upsertTerms = new HashMap<>();
+        Set<String> touchedTerms = new HashSet<>();
+
+        for (Long id : changedIds) {
+            Doc old = newDocs.remove(id);
+            if (old != null) touchedTerms.addAll(old.terms());
+        }
+        for (CatalogSnapshot.Entry e : entriesOf(newSnapshot, changedIds)) {
+            Doc doc = toDoc(e, categoryTitles);
+            Set<String> terms = doc.terms();
+            newDocs.put(e.getProductId(), doc);
+            upsertTerms.put(e.getProductId(), terms);
+            touchedTerms.addAll(terms);
+        }
+
+        Set<Long> changed = new HashSet<>(changedIds);
+        Map<String, long[]> newPostings = new HashMap<>(postings);
+        for (String term : touchedTerms) {
+            long[] ids = LongStream.concat(
+                            Arrays.stream(newPostings.getOrDefault(term, EMPTY_IDS))
+                                    .filter(id -> !changed.contains(id)),
+                            upsertTerms.entrySet().stream()
+                                    .filter(en -> en.getValue().contains(term))
+                                    .mapToLong(Map.Entry::getKey))
+                    .sorted()
+                    .distinct()
+                    .toArray();
+
+            if (ids.length == 0) newPostings.remove(term);
+            else newPostings.put(term, ids);
+        }
+
+        return new ProductSearchIndex(newSnapshot, categoryTitles, newDocs, newPostings);
+    }
+
+    public CatalogSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 검색어에 맞는 상품 ID (점수 내림차순, 같은 점수면 상품 ID 오름차순)
+     * - 검색어의 모든 단어가 상품명 또는 카테고리명에 부분 문자열로 포함된 상품만 반환 (LIKE '%단어%' 와 같은 의미)
+     * - 검색어가 비어 있으면 전체 상품 (LIKE '%%' 와 같음, 상품 ID 오름차순)
+     */
+    public long[] search(String keyword) {
+        long[] keys = rankKeys(keyword);
+        long[] ids = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ids[i] = productIdOf(keys[i]);
+        }
+        return ids;
+    }
+
+    /**
+     * 검색 결과의 순위 키 (오름차순 = 순위순, 같은 검색어면 캐시된 배열을 그대로 반환하므로 수정 금지)
+     * - rankKeyOf 로 커서 상품의 키를 다시 만들면 이진 탐색으로 다음 페이지 위치를 찾을 수 있다.
+     */
+    long[] rankKeys(String keyword) {
+        boolean all = keyword == null || keyword.isBlank();
+        String cacheKey = all ? ALL_QUERY : normalize(keyword);
+        long[] cached = rankedByQuery.get(cacheKey);
+        if (cached != null) return cached;
+
+        long[] ranked = all ? allProductIds() : rank(words(cacheKey));
+        if (rankedByQuery.size() >= MAX_CACHED_QUERIES) rankedByQuery.clear();
+        rankedByQuery.put(cacheKey, ranked);
+        return ranked;
+    }
+
+    /**
+     * 검색 결과에서 상품의 현재 순위 키 (결과에 없으면 -1)
+     * - 커서는 다른 목록과 같이 상품 ID 이므로, 지금 인덱스의 점수로 키를 다시 만들어 위치를 찾는다.
+     */
+    long rankKeyOf(String keyword, long productId) {
+        Doc doc = docs.get(productId);
+        if (doc == null) return -1;
+        if (keyword == null || keyword.isBlank()) return productId; // 전체 = 점수 없이 상품 ID 순
+
+        List<String> queryWords = words(normalize(keyword));
+        if (queryWords.isEmpty()) return -1;
+        int score = score(doc, queryWords);
+        if (score == 0) return -1;
+        return ((long) (SCORE_NAME_PREFIX * queryWords.size() - score) << SCORE_SHIFT) | productId;
+    }
+
+    /** 빈 검색어 결과 (순위 키 = 상품 ID) */
+    private long[] allProductIds() {
+        return docs.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    static long productIdOf(long rankKey) {
+        return rankKey & ID_MASK;
+    }
+
+    private long[] rank(List<String> queryWords) {
+        if (queryWords.isEmpty()) return EMPTY_IDS;
+
+        // 1) 후보: 단어별 term posting 의 교집합
+        long[] candidates = null;
+        for (String w : queryWords) {
+            for (String term : queryTerms(w)) {
+                long[] ids = postings.getOrDefault(term, EMPTY_IDS);
+                candidates = (candidates == null) ? ids : intersect(candidates, ids);
+                if (candidates.length == 0) return EMPTY_IDS;
+            }
+        }
+
+        // 2) 검증 + 점수: n-gram 이 흩어져서 맞은 경우는 제외
+        //    정렬 키 = (최대점수 - 점수) << 40 | productId  → 오름차순 정렬 한 번으로 순위 완성
+        int maxScore = SCORE_NAME_PREFIX * queryWords.size();
+        long[] keys = new long[candidates.length];
+        int n = 0;
+        for (long id : candidates) {
+            int score = score(docs.get(id), queryWords);
+            if (score > 0) keys[n++] = ((long) (maxScore - score) << SCORE_SHIFT) | id;
+        }
+
+        long[] ranked = Arrays.copyOf(keys, n);
+        Arrays.sort(ranked);
+        return ranked;
+    }
+
+    private static int score(Doc doc, List<String> queryWords) {
+        int total = 0;
+        for (String w : queryWords) {
+            int s = 0;
+            if (doc.name().contains(w)) {
+                s = SCORE_NAME_CONTAINS;
+                for (String nameWord : doc.nameWords()) {
+                    if (nameWord.startsWith(w)) {
+                        s = SCORE_NAME_PREFIX;
+                        break;
+                    }
+                }
+            } else if (doc.categoryText().contains(w)) {
+                s = SCORE_CATEGORY;
+            }
+            if (s == 0) return 0; // 한 단어라도 안 맞으면 제외
+            total += s;
+        }
+        return total;
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static List<CatalogSnapshot.Entry> entriesOf(CatalogSnapshot snapshot, Collection<Long> ids) {
+        List<CatalogSnapshot.Entry> result = new ArrayList<>();
+        if (ids == null) {
+            snapshot.getProducts().forEach(p -> result.add(snapshot.getEntry(p.getProductId())));
+        } else {
+            for (Long id : ids) {
+                CatalogSnapshot.Entry e = snapshot.getEntry(id);
+                if (e != null) result.add(e); // 없으면 삭제/비노출 상품
+            }
+        }
+        return result;
+    }
+
+    /** 상품명 + 카테고리명(대/중/소분류 전부) 으로 색인 문서 생성 */
+    private static Doc toDoc(CatalogSnapshot.Entry e, Map<String, String> categoryTitles) {
+        Set<String> titles = new LinkedHashSet<>();
+        for (String code : e.getCategoryCodes()) {
+            // 카테고리 코드는 4자리씩 상위 → 하위 (0001 / 00010001 / 000100010001)
+            for (int len = 4; len <= code.length(); len += 4) {
+                String title = categoryTitles.get(code.substring(0, len));
+                if (title != null) titles.add(title);
+            }
+        }
+        String name = normalize(e.getProduct().getProductName());
+        return new Doc(
+                name,
+                words(name).toArray(new String[0]),
+                normalize(String.join(" ", titles)));
+    }
+
+    /** 검색 단어 → 조회할 term (1글자는 1-gram, 그 이상은 2-gram 전부) */
+    private static List<String> queryTerms(String word) {
+        if (word.length() == 1) return List.of(word);
+        List<String> terms = new ArrayList<>(word.length() - 1);
+        for (int i = 0; i + 2 <= word.length(); i++) {
+            terms.add(word.substring(i, i + 2));
+        }
+        return terms;
+    }
+
+    private static void addTerms(String word, Set<String> terms) {
+        for (int i = 0; i < word.length(); i++) {
+            terms.add(word.substring(i, i + 1));
+            if (i + 2 <= word.length()) terms.add(word.substring(i, i + 2));
+        }
+    }
+
+    /** 유니코드 정규화(NFKC) + 소문자 + 문자/숫자 외에는 공백 처리 */
+    static String normalize(String text) {
+        if (text == null) return "";
+        String s = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            sb.append(Character.isLetterOrDigit(c) ? c : ' ');
+        }
+        return sb.toString().trim().replaceAll(" +", " ");
+    }
+
+    private static List<String> words(String normalized) {
+        if (normalized.isEmpty()) return List.of();
+        return Arrays.asList(normalized.split(" "));
+    }
+}
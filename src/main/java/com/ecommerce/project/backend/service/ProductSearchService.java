@@ -0,0 +1,109 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.dto.CursorPageDto;
+import com.ecommerce.project.backend.dto.ProductDto;
+import com.ecommerce.project.backend.event.CatalogRefreshedEvent;
+import com.ecommerce.project.backend.event.CategoryTitlesChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * 상품 검색 (메모리 역색인, MySQL 조회 없음)
+ * - 카탈로그 스냅샷이 교체될 때마다(CatalogRefreshedEvent) 인덱스도 같이 교체
+ * - 관리자 등록/수정/삭제는 ProductChangedEvent → CatalogService → 여기까지 이어져 반영된다.
+ * - 카테고리명이 바뀌면(CategoryTitlesChangedEvent) 그 카테고리 상품만 다시 색인
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductSearchService {
+
+    private final CatalogService catalogService;
+    private final CategoryIndexService categoryIndexService;
+
+    private volatile ProductSearchIndex index; // null 이면 아직 생성 전
+
+    /** 카테고리명이 바뀌면 그 카테고리(하위 포함)에 연결된 상품만 다시 색인 */
+    @EventListener
+    public synchronized void onCategoryTitlesChanged(CategoryTitlesChangedEvent event) {
+        ProductSearchIndex current = index;
+        if (current == null) return; // 처음 만들 때 새 카테고리명을 읽음
+        index = current.withCategoryTitles(loadCategoryTitles(), event.getChangedCodes());
+    }
+
+    /** 스냅샷 교체 시 인덱스 갱신 */
+    @EventListener
+    public synchronized void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        ProductSearchIndex current = index;
+
+        if (event.isFullReload() || current == null) {
+            // 전체 로딩 때만 카테고리명을 다시 가져온다
+            index = ProductSearchIndex.of(event.getSnapshot(), loadCategoryTitles());
+        } else {
+            index = current.withChanges(event.getSnapshot(), event.getChangedProductIds());
+        }
+    }
+
+    /** 검색 결과 전체 (순위순) */
+    public List<ProductDto> search(String keyword) {
+        ProductSearchIndex idx = getIndex();
+        CatalogSnapshot snapshot = idx.getSnapshot();
+
+        long[] ids = idx.search(keyword);
+        List<ProductDto> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(snapshot.getProduct(id));
+        }
+        return result;
+    }
+
+    /**
+     * 검색 결과 커서 페이지
+     * - 커서(after)는 다른 목록과 같이 직전 페이지 마지막 상품 ID
+     * - 커서 상품의 순위 키(점수 + 상품 ID)를 지금 인덱스로 다시 만들어 순위 목록에서 이진 탐색 (정렬 목록과 같은 방식)
+     * - 같은 검색어의 순위 목록은 인덱스에 캐시되므로 뒤쪽 페이지도 다시 점수를 매기지 않는다.
+     * - 커서 상품이 그 사이 결과에서 빠졌으면 처음부터
+     */
+    public CursorPageDto<ProductDto> searchPage(String keyword, Long after, int size) {
+        ProductSearchIndex idx = getIndex();
+        CatalogSnapshot snapshot = idx.getSnapshot();
+
+        long[] keys = idx.rankKeys(keyword);
+
+        int from = 0;
+        long afterKey = (after != null) ? idx.rankKeyOf(keyword, after) : -1;
+        if (afterKey >= 0) {
+            int pos = Arrays.binarySearch(keys, afterKey);
+            from = (pos >= 0) ? pos + 1 : -pos - 1;
+        }
+        int to = Math.min(keys.length, from + size);
+
+        List<ProductDto> items = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            items.add(snapshot.getProduct(ProductSearchIndex.productIdOf(keys[i])));
+        }
+
+        Long nextCursor = (to < keys.length && to > from) ? ProductSearchIndex.productIdOf(keys[to - 1]) : null;
+        return CursorPageDto.of(items, nextCursor);
+    }
+
+    private ProductSearchIndex getIndex() {
+        ProductSearchIndex current = index;
+        if (current != null) return current;
+
+        // 스냅샷 로딩이 끝나면 CatalogRefreshedEvent 로 인덱스가 만들어진다
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+        synchronized (this) {
+            if (index == null) {
+                index = ProductSearchIndex.of(snapshot, loadCategoryTitles());
+            }
+            return index;
+        }
+    }
+
+    private Map<String, String> loadCategoryTitles() {
+        return categoryIndexService.getIndex().getTitles();
+    }
+}
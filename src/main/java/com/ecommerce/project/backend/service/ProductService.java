@@ -4,12 +4,16 @@ import com.ecommerce.project.backend.config.MusinsaConfig;
 import com.ecommerce.project.backend.domain.Product;
 import com.ecommerce.project.backend.domain.ProductOption;
 import com.ecommerce.project.backend.dto.*;
+import com.ecommerce.project.backend.event.ProductChangedEvent;
+import com.ecommerce.project.backend.event.ProductStockChangedEvent;
 import com.ecommerce.project.backend.repository.*;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 @Service
@@ -17,30 +21,49 @@ import java.util.stream.Collectors;
 @Transactional
 public class ProductService {
 
+    // 커서 페이지네이션 기본/최대 크기
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ProductRepository productRepository;
     private final ProductOptionRepository productOptionRepository;
     private final MusinsaConfig musinsaConfig;
-    private final ProductOptionRepository optionRepository;
-    private final CategoryLinkRepository categoryLinkRepository;
-    private final ProductImageRepository productImageRepository;
-    private final CategoryTreeService categoryTreeService;
 
-    private final ProductLikeRepository productLikeRepository;
+    private final CatalogService catalogService;
+    private final ProductBatchLoader productBatchLoader;
+    private final ProductDetailCache productDetailCache;
+    private final ProductSearchService productSearchService;
+    private final ProductSortService productSortService;
+    private final CategoryIndexService categoryIndexService;
+    private final ProductStatsService productStatsService;
+    private final MemberLikeCache memberLikeCache;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     /**
-     * 전체 상품 조회
+     * 전체 상품 조회 (카탈로그 스냅샷에서 바로 응답, DB 조회 없음)
      */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public List<ProductDto> getAllVisibleProducts() {
-        String baseUrl = musinsaConfig.getImageBaseUrl();
-        return productRepository.findAllVisibleProducts()
-                .stream()
-                .map(p -> ProductDto.fromEntity(p, baseUrl))
-                .collect(Collectors.toList());
+        return catalogService.getSnapshot().getProducts();
     }
 
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public List<ProductListDto> getProductListLite() {
-        return productRepository.findProductList();  // DTO를 직접 반환하는 빠른 쿼리
+        return catalogService.getSnapshot().getListItems();  // 스냅샷에 미리 만들어 둔 경량 DTO
+    }
+
+    /**
+     * 전체 상품 커서 페이지 (productId 오름차순)
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public CursorPageDto<ProductDto> getAllVisibleProductsPage(Long after, Integer size) {
+        return catalogService.getSnapshot().getProductsPage(after, normalizePageSize(size));
+    }
+
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public CursorPageDto<ProductListDto> getProductListLitePage(Long after, Integer size) {
+        return catalogService.getSnapshot().getListItemsPage(after, normalizePageSize(size));
     }
 
 
@@ -55,87 +78,79 @@ public class ProductService {
     }
 
     /**
-     * 검색
+     * 검색 (상품명 + 카테고리명 메모리 역색인, 순위순)
      */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public List<ProductDto> searchProductsByName(String keyword) {
-        String baseUrl = musinsaConfig.getImageBaseUrl();
-        return productRepository.findByProductNameContaining(keyword)
-                .stream()
-                .map(p -> ProductDto.fromEntity(p, baseUrl))
-                .collect(Collectors.toList());
+        return productSearchService.search(keyword);
     }
 
     /**
-     * 카테고리 조회
+     * 검색 커서 페이지 (순위순, after = 직전 페이지 마지막 상품 ID, keyword 가 비어 있으면 전체)
      */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public CursorPageDto<ProductDto> searchProductsByNamePage(String keyword, Long after, Integer size) {
+        return productSearchService.searchPage(keyword, after, normalizePageSize(size));
+    }
+
+    /**
+     * 카테고리 조회 (카탈로그 스냅샷)
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public List<ProductDto> getProductsByCategoryCode(String code) {
-        String baseUrl = musinsaConfig.getImageBaseUrl();
-        return productRepository.findByCategoryCode(code)
-                .stream()
-                .map(p -> ProductDto.fromEntity(p, baseUrl))
-                .collect(Collectors.toList());
+        return catalogService.getSnapshot().getProductsByCategory(code);
+    }
+
+    /**
+     * 카테고리 커서 페이지 (productId 오름차순)
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public CursorPageDto<ProductDto> getProductsByCategoryCodePage(String code, Long after, Integer size) {
+        return catalogService.getSnapshot().getProductsByCategoryPage(code, after, normalizePageSize(size));
+    }
+
+    /**
+     * 하위 카테고리까지 포함한 카테고리 커서 페이지 (productId 오름차순, 중복 제거)
+     * - 하위 코드는 카테고리 인덱스에서, 상품은 스냅샷의 카테고리별 ID 배열에서 병합
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public CursorPageDto<ProductDto> getProductsInCategoryTreePage(String code, Long after, Integer size) {
+        List<String> codes = new ArrayList<>();
+        codes.add(code);
+        codes.addAll(categoryIndexService.getIndex().getDescendants(code));
+
+        return catalogService.getSnapshot().getProductsByCategoriesPage(codes, after, normalizePageSize(size));
+    }
+
+    /**
+     * 정렬 커서 페이지 (전체 또는 카테고리, 하위 카테고리 포함)
+     * - sort: price_asc / price_desc / newest / likes / sales
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public CursorPageDto<ProductDto> getSortedProductsPage(String categoryCode, String sort, Long after, Integer size) {
+        return productSortService.page(categoryCode, ProductSort.from(sort), after, normalizePageSize(size));
+    }
+
+    private int normalizePageSize(Integer size) {
+        if (size == null || size < 1) return DEFAULT_PAGE_SIZE;
+        return Math.min(size, MAX_PAGE_SIZE);
     }
 
     /**
      * 상세 정보 (옵션 + 이미지 + 카테고리)
+     * - 캐시 히트 시 DB 조회 없음 (좋아요 수는 메모리 카운터, 좋아요 여부는 회원별 좋아요 집합)
      */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public ProductDetailResponseDto getProductDetail(Long productId, Long memberId) {
-        String baseUrl = musinsaConfig.getImageBaseUrl();
 
-        // 상품
-        Product p = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("상품 없음: " + productId));
-
-        // 옵션 조회
-        List<OptionDto> options = optionRepository.findByProduct_ProductId(productId)
-                .stream()
-                .filter(ProductOption::getIsShow)
-                .map(OptionDto::fromEntity)
-                .collect(Collectors.toList());
-
-        // 이미지
-        List<String> subImages = productImageRepository
-                .findByProduct_ProductIdOrderBySortOrderAsc(productId)
-                .stream()
-                .map(img -> img.getImageUrl())
-                .collect(Collectors.toList());
-
-        // 카테고리 코드
-        List<String> codes = categoryLinkRepository.findByProduct_ProductId(productId)
-                .stream()
-                .map(c -> c.getCategoryCode())
-                .collect(Collectors.toList());
-
-        // 카테고리 경로
-        String categoryPath = null;
-        if (!codes.isEmpty()) {
-            categoryPath = categoryTreeService.getCategoryPath(codes.get(0));
-        }
-
-        // 좋아요
-        Long likeCount = productLikeRepository.countByProductId(productId);
+        // 회원과 무관한 부분은 상품별 캐시에서 (캐시 미스일 때만 DB 조회)
+        ProductDetailResponseDto cached = productDetailCache.get(productId);
 
         // 로그인 안 한 경우 userLiked는 항상 false
-        boolean userLiked = false;
-        if (memberId != null) {
-            userLiked = productLikeRepository.existsByMemberIdAndProductId(memberId, productId);
-        }
-        return ProductDetailResponseDto.builder()
-                .productId(p.getProductId())
-                .productName(p.getProductName())
-                .description(p.getDescription())
-                .consumerPrice(p.getConsumerPrice())
-                .sellPrice(p.getSellPrice())   // ⭐ 단일상품 가격
-                .stock(p.getStock())
-                .isOption(p.getIsOption())
-                .mainImg(p.getMainImg())
-                .subImages(subImages)
-                .productStatus(p.getProductStatus())
-                .isShow(p.getIsShow())
-                .categoryPath(categoryPath)
-                .categories(codes)
-                .options(options)               // ⭐ C/S 옵션만 내려감
-                .likeCount(likeCount)
+        boolean userLiked = memberLikeCache.isLiked(memberId, productId);
+
+        return cached.toBuilder()
+                .likeCount(productStatsService.getLikeCount(productId))
                 .userLiked(userLiked)
                 .build();
     }
@@ -169,6 +184,7 @@ public class ProductService {
         }
 
         productRepository.save(product);
+        eventPublisher.publishEvent(new ProductStockChangedEvent(productId)); // 재고 / 품절 상태만 변경
     }
 
 
@@ -195,7 +211,9 @@ public class ProductService {
             });
         }
 
-        return productRepository.save(existingProduct);
+        Product saved = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        return saved;
 
     }
 }
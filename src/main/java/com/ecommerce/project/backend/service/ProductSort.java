@@ -0,0 +1,29 @@
+package com.ecommerce.project.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * 상품 목록 정렬 기준
+ */
+public enum ProductSort {
+
+    PRICE_ASC("price_asc"),   // 낮은 가격순
+    PRICE_DESC("price_desc"), // 높은 가격순
+    NEWEST("newest"),         // 최신 등록순
+    LIKES("likes"),           // 좋아요 많은 순
+    SALES("sales");           // 판매량 많은 순
+
+    private final String param;
+
+    ProductSort(String param) {
+        this.param = param;
+    }
+
+    /** 요청 파라미터(sort=price_asc 등) → 정렬 기준 */
+    public static ProductSort from(String param) {
+        return Arrays.stream(values())
+                .filter(s -> s.param.equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("지원하지 않는 정렬 기준입니다: " + param));
+    }
+}
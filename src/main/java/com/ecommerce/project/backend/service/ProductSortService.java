@@ -0,0 +1,275 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.dto.CursorPageDto;
+import com.ecommerce.project.backend.dto.ProductDto;
+import com.ecommerce.project.backend.event.CatalogRefreshedEvent;
+import com.ecommerce.project.backend.event.ProductStatsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 정렬 순서 미리 계산 (가격 / 최신 / 좋아요 / 판매량)
+ * - 범위(전체 + 카테고리 코드별, 상위 카테고리는 하위 상품 포함) × 정렬 기준마다 정렬된 상품 ID 배열을 유지
+ * - 상품 변경(CatalogRefreshedEvent) 때는 해당 상품만 빼고 다시 끼워 넣은 새 상태로 교체
+ * - 좋아요·판매(ProductStatsChangedEvent) 는 모아 두었다가 주기적으로 한 번에 반영
+ * - 조회는 배열을 잘라내기만 하므로 첫 페이지는 상품 수와 관계없이 O(size)
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductSortService {
+
+    private static final String ALL = "";          // 전체 범위
+    private static final long[] EMPTY_IDS = new long[0];
+
+    // 한 번에 바뀐 상품이 이보다 많으면 부분 갱신 대신 전체 재생성
+    private static final int MAX_INCREMENTAL_CHANGES = 1000;
+
+    /** 정렬 기준 값 (불변) */
+    private record SortKey(long productId, BigDecimal price, long createdAt, long likes, long sold) {
+    }
+
+    private static final Map<ProductSort, Comparator<SortKey>> COMPARATORS = new EnumMap<>(ProductSort.class);
+
+    static {
+        Comparator<SortKey> byId = Comparator.comparingLong(SortKey::productId);
+        COMPARATORS.put(ProductSort.PRICE_ASC, Comparator.comparing(SortKey::price).thenComparing(byId));
+        COMPARATORS.put(ProductSort.PRICE_DESC, Comparator.comparing(SortKey::price).reversed().thenComparing(byId));
+        COMPARATORS.put(ProductSort.NEWEST, Comparator.comparingLong(SortKey::createdAt).thenComparing(byId).reversed());
+        COMPARATORS.put(ProductSort.LIKES, Comparator.comparingLong(SortKey::likes).reversed().thenComparing(byId));
+        COMPARATORS.put(ProductSort.SALES, Comparator.comparingLong(SortKey::sold).reversed().thenComparing(byId));
+    }
+
+    private final CatalogService catalogService;
+    private final ProductStatsService productStatsService;
+
+    /**
+     * 정렬 상태 한 벌 (발행 후에는 수정하지 않음)
+     * - 조회는 참조 하나만 읽으므로 배열과 정렬 키가 항상 같은 시점의 것
+     */
+    private record State(CatalogSnapshot snapshot,
+                         Map<Long, SortKey> keys,
+                         Map<Long, List<String>> scopesOf,
+                         Map<String, long[]> orders) { // "범위|정렬" → 상품 ID
+    }
+
+    private volatile State state;                                          // null 이면 아직 생성 전
+    private final Set<Long> pendingStatIds = ConcurrentHashMap.newKeySet(); // 좋아요 / 판매량 반영 대기 상품
+
+    /** 스냅샷 교체 시 변경 상품만 다시 배치 */
+    @EventListener
+    public synchronized void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        State current = state;
+        if (current == null || event.isFullReload()
+                || event.getChangedProductIds().size() > MAX_INCREMENTAL_CHANGES) {
+            state = build(event.getSnapshot());
+            return;
+        }
+        state = withChanges(current, event.getSnapshot(), event.getChangedProductIds(), EnumSet.allOf(ProductSort.class));
+    }
+
+    /** 좋아요 / 판매량 변경은 모아 두었다가 flushStats 에서 한 번에 반영 */
+    @EventListener
+    public void onStatsChanged(ProductStatsChangedEvent event) {
+        pendingStatIds.addAll(event.getProductIds());
+    }
+
+    /** 쌓인 통계 변경을 좋아요 / 판매량 정렬에만 반영 (범위 × 정렬마다 배열을 한 번만 다시 만듦) */
+    @Scheduled(fixedDelayString = "${product.sort.stats-flush-interval-ms:1000}")
+    public synchronized void flushStats() {
+        if (pendingStatIds.isEmpty()) return;
+
+        List<Long> productIds = new ArrayList<>(pendingStatIds);
+        pendingStatIds.removeAll(productIds);
+
+        State current = state;
+        if (current == null) return; // 생성 때 최신 값을 읽음
+
+        List<Long> changed = new ArrayList<>();
+        EnumSet<ProductSort> sorts = EnumSet.noneOf(ProductSort.class);
+        for (Long id : productIds) {
+            SortKey old = current.keys().get(id);
+            if (old == null) continue; // 카탈로그에 없는 상품
+
+            boolean likesChanged = productStatsService.getLikeCount(id) != old.likes();
+            boolean soldChanged = productStatsService.getSoldCount(id) != old.sold();
+            if (likesChanged) sorts.add(ProductSort.LIKES);
+            if (soldChanged) sorts.add(ProductSort.SALES);
+            if (likesChanged || soldChanged) changed.add(id);
+        }
+        if (changed.isEmpty()) return;
+
+        state = withChanges(current, current.snapshot(), changed, sorts);
+    }
+
+    /**
+     * 정렬된 커서 페이지
+     *
+     * @param categoryCode 카테고리 코드 (하위 카테고리 포함, null 이면 전체)
+     * @param after        직전 페이지의 마지막 상품 ID
+     */
+    public CursorPageDto<ProductDto> page(String categoryCode, ProductSort sort, Long after, int size) {
+        State s = ensureBuilt();
+
+        String scope = (categoryCode == null || categoryCode.isBlank()) ? ALL : categoryCode;
+        long[] ids = s.orders().getOrDefault(orderKey(scope, sort), EMPTY_IDS);
+
+        int i = (after == null) ? 0 : positionAfter(s, ids, sort, after);
+        List<ProductDto> items = new ArrayList<>(size);
+        for (; i < ids.length && items.size() < size; i++) {
+            items.add(s.snapshot().getProduct(ids[i]));
+        }
+
+        Long nextCursor = (i < ids.length && !items.isEmpty()) ? items.get(items.size() - 1).getProductId() : null;
+        return CursorPageDto.of(items, nextCursor);
+    }
+
+    /** after 상품 다음 위치 (같은 상태의 정렬 키로 이진 탐색, 그 사이 순위가 바뀌었으면 바뀐 위치 기준) */
+    private static int positionAfter(State s, long[] ids, ProductSort sort, long after) {
+        SortKey key = s.keys().get(after);
+        if (key == null) return 0; // 카탈로그에서 빠진 상품 → 처음부터
+
+        Comparator<SortKey> cmp = COMPARATORS.get(sort);
+        int lo = 0, hi = ids.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cmp.compare(s.keys().get(ids[mid]), key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return (lo < ids.length && ids[lo] == after) ? lo + 1 : lo;
+    }
+
+    private State ensureBuilt() {
+        State current = state;
+        if (current != null) return current;
+
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+        synchronized (this) {
+            if (state == null) state = build(snapshot);
+            return state;
+        }
+    }
+
+    /** 스냅샷 전체로 모든 범위 × 정렬 배열 생성 */
+    private State build(CatalogSnapshot next) {
+        Map<Long, SortKey> newKeys = new HashMap<>();
+        Map<Long, List<String>> newScopesOf = new HashMap<>();
+        Map<String, List<Long>> byScope = new HashMap<>();
+
+        for (ProductDto p : next.getProducts()) {
+            CatalogSnapshot.Entry e = next.getEntry(p.getProductId());
+            newKeys.put(p.getProductId(), keyOf(e));
+
+            List<String> scopes = scopesOf(e);
+            newScopesOf.put(p.getProductId(), scopes);
+            scopes.forEach(scope -> byScope.computeIfAbsent(scope, k -> new ArrayList<>()).add(p.getProductId()));
+        }
+
+        Map<String, long[]> newOrders = new HashMap<>();
+        byScope.forEach((scope, ids) -> {
+            for (ProductSort sort : ProductSort.values()) {
+                Comparator<SortKey> cmp = COMPARATORS.get(sort);
+                newOrders.put(orderKey(scope, sort), ids.stream()
+                        .map(newKeys::get)
+                        .sorted(cmp)
+                        .mapToLong(SortKey::productId)
+                        .toArray());
+            }
+        });
+
+        return new State(next, newKeys, newScopesOf, newOrders);
+    }
+
+    /**
+     * 바뀐 상품만 반영한 새 상태 (이전 상태는 그대로 두고 새 배열로 교체)
+     * - 바뀐 상품이 속했던 / 속할 범위의 sorts 배열만, 배열마다 한 번씩 "빼고 + 정렬 병합" 으로 다시 만듦
+     *   (상품마다 배열을 복사하지 않으므로 k 건 변경 = 배열 길이 + k log k)
+     */
+    private State withChanges(State current, CatalogSnapshot next, Collection<Long> changedIds, Set<ProductSort> sorts) {
+        Map<Long, SortKey> newKeys = new HashMap<>(current.keys());
+        Map<Long, List<String>> newScopesOf = new HashMap<>(current.scopesOf());
+        Set<Long> changed = new HashSet<>(changedIds);
+        Set<String> touched = new HashSet<>();
+        Map<String, List<SortKey>> inserted = new HashMap<>();
+
+        for (Long id : changed) {
+            List<String> oldScopes = newScopesOf.remove(id);
+            if (oldScopes != null) touched.addAll(oldScopes);
+            newKeys.remove(id);
+
+            CatalogSnapshot.Entry e = next.getEntry(id);
+            if (e == null) continue;
+
+            SortKey key = keyOf(e);
+            List<String> scopes = scopesOf(e);
+            newKeys.put(id, key);
+            newScopesOf.put(id, scopes);
+            touched.addAll(scopes);
+            scopes.forEach(scope -> inserted.computeIfAbsent(scope, k -> new ArrayList<>()).add(key));
+        }
+
+        Map<String, long[]> newOrders = new HashMap<>(current.orders());
+        for (String scope : touched) {
+            List<SortKey> adds = inserted.getOrDefault(scope, List.of());
+            for (ProductSort sort : sorts) {
+                String orderKey = orderKey(scope, sort);
+                long[] merged = merge(newOrders.getOrDefault(orderKey, EMPTY_IDS), changed, adds,
+                        COMPARATORS.get(sort), newKeys);
+                if (merged.length == 0) newOrders.remove(orderKey);
+                else newOrders.put(orderKey, merged);
+            }
+        }
+
+        return new State(next, newKeys, newScopesOf, newOrders);
+    }
+
+    /** 기존 배열에서 바뀐 상품을 빼고, 새 정렬 키를 정렬해서 한 번에 병합 */
+    private static long[] merge(long[] ids, Set<Long> changed, List<SortKey> adds,
+                                Comparator<SortKey> cmp, Map<Long, SortKey> keys) {
+        List<SortKey> sorted = new ArrayList<>(adds);
+        sorted.sort(cmp);
+
+        long[] next = new long[ids.length + sorted.size()];
+        int n = 0, j = 0;
+        for (long id : ids) {
+            if (changed.contains(id)) continue;
+            SortKey k = keys.get(id);
+            while (j < sorted.size() && cmp.compare(sorted.get(j), k) < 0) next[n++] = sorted.get(j++).productId();
+            next[n++] = id;
+        }
+        while (j < sorted.size()) next[n++] = sorted.get(j++).productId();
+
+        return (n == next.length) ? next : Arrays.copyOf(next, n);
+    }
+
+    private SortKey keyOf(CatalogSnapshot.Entry e) {
+        ProductDto p = e.getProduct();
+        return new SortKey(
+                p.getProductId(),
+                p.getSellPrice() != null ? p.getSellPrice() : BigDecimal.ZERO,
+                p.getCreatedAt() != null ? p.getCreatedAt().getTime() : 0L,
+                productStatsService.getLikeCount(p.getProductId()),
+                productStatsService.getSoldCount(p.getProductId()));
+    }
+
+    /** 전체 + 연결된 카테고리 코드와 그 상위 코드 (0001 / 00010001 / 000100010001) */
+    private static List<String> scopesOf(CatalogSnapshot.Entry e) {
+        Set<String> scopes = new LinkedHashSet<>();
+        scopes.add(ALL);
+        for (String code : e.getCategoryCodes()) {
+            for (int len = 4; len <= code.length(); len += 4) {
+                scopes.add(code.substring(0, len));
+            }
+        }
+        return List.copyOf(scopes);
+    }
+
+    private static String orderKey(String scope, ProductSort sort) {
+        return scope + "|" + sort.name();
+    }
+}
@@ -0,0 +1,233 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.event.ProductLikeChangedEvent;
+import com.ecommerce.project.backend.event.ProductStatsChangedEvent;
+import com.ecommerce.project.backend.event.ProductsSoldEvent;
+import com.ecommerce.project.backend.repository.OrderItemRepository;
+import com.ecommerce.project.backend.repository.ProductLikeCountRepository;
+import com.ecommerce.project.backend.repository.ProductLikeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품별 좋아요 수 / 누적 판매량 (메모리)
+ * - 기동 시 DB 에서 상품별 합계를 한 번 읽고, 이후에는 좋아요/판매 이벤트로 증감
+ * - 좋아요 수는 상품별 LongAdder(내부적으로 셀이 나뉜 카운터)라 같은 상품에 좋아요가 몰려도 경합이 적고,
+ *   조회는 product_like 를 읽지 않는다.
+ * - 바뀐 좋아요 수는 주기적으로 product.like_count 에 모아서 기록 (write-behind)
+ * - 값을 반영한 뒤 ProductStatsChangedEvent 를 발행 (정렬 인덱스 등이 구독)
+ * - 합계를 읽는 동안 들어온 이벤트는 증감하지 않고 상품만 기록해 두었다가, 합계를 다 읽은 뒤 그 상품만 DB 에서 다시 센다.
+ *   (합계 쿼리에 이미 들어간 커밋을 한 번 더 더하거나, 빠진 커밋을 놓치지 않도록)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductStatsService {
+
+    private final ProductLikeRepository productLikeRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ProductLikeCountRepository productLikeCountRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 로딩이 끝나면 새 맵으로 통째로 교체 (증감 중인 맵을 비우지 않음)
+    private volatile Map<Long, LongAdder> likeCounts = new ConcurrentHashMap<>();
+    private volatile Map<Long, Long> soldCounts = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyLikeCounts = ConcurrentHashMap.newKeySet(); // like_count 기록 대기 상품
+
+    // 로딩 전/로딩 중에 들어온 이벤트의 상품 (로딩 마지막에 다시 셈)
+    private final Set<Long> likedWhileLoading = new HashSet<>();
+    private final Set<Long> soldWhileLoading = new HashSet<>();
+    // 이벤트 반영(read)과 로딩 시작/교체(write)를 나눔 → 이벤트끼리는 서로 막지 않음
+    private final ReadWriteLock loadLock = new ReentrantReadWriteLock();
+    private boolean loading;        // loadLock 안에서만 읽고 씀
+    private volatile boolean loaded;
+
+    /** 서버 기동 시 로딩 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            ensureLoaded();
+        } catch (RuntimeException e) {
+            // 기동 실패로 이어지지 않도록, 첫 조회 시점에 다시 로딩한다
+            log.error("좋아요 / 판매 수 초기 로딩 실패 - 첫 조회 때 다시 로딩", e);
+        }
+    }
+
+    public long getLikeCount(Long productId) {
+        ensureLoaded();
+        LongAdder counter = likeCounts.get(productId);
+        return counter != null ? Math.max(0, counter.sum()) : 0L;
+    }
+
+    public long getSoldCount(Long productId) {
+        ensureLoaded();
+        return soldCounts.getOrDefault(productId, 0L);
+    }
+
+    /** DB 합계로 다시 로딩 */
+    public synchronized void reload() {
+        setLoading(true);
+        try {
+            Map<Long, LongAdder> newLikeCounts = new ConcurrentHashMap<>();
+            for (Object[] row : productLikeRepository.countAllGroupByProductId()) {
+                newLikeCounts.put((Long) row[0], counterOf(((Number) row[1]).longValue()));
+            }
+
+            Map<Long, Long> newSoldCounts = new ConcurrentHashMap<>();
+            for (Object[] row : orderItemRepository.sumQuantityGroupByProductId()) {
+                newSoldCounts.put((Long) row[0], ((Number) row[1]).longValue());
+            }
+
+            // 합계를 읽는 동안 바뀐 상품은 지금(해당 커밋 이후) 다시 세서 덮어쓰고 교체
+            loadLock.writeLock().lock();
+            try {
+                recountLiked(newLikeCounts);
+                recountSold(newSoldCounts);
+                likeCounts = newLikeCounts;
+                soldCounts = newSoldCounts;
+                loading = false;
+                loaded = true;
+            } finally {
+                loadLock.writeLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            setLoading(false);
+            throw e;
+        }
+    }
+
+    /** 좋아요 토글 커밋 후 반영 */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(ProductLikeChangedEvent event) {
+        Long productId = event.getProductId();
+
+        loadLock.readLock().lock();
+        try {
+            if (loading || !loaded) {
+                // 합계 쿼리에 들어갔는지 알 수 없으므로 로딩 마지막에 다시 셈
+                synchronized (likedWhileLoading) {
+                    likedWhileLoading.add(productId);
+                }
+            } else {
+                likeCounts.computeIfAbsent(productId, id -> new LongAdder()).add(event.getDelta());
+            }
+        } finally {
+            loadLock.readLock().unlock();
+        }
+        dirtyLikeCounts.add(productId);
+        eventPublisher.publishEvent(new ProductStatsChangedEvent(List.of(productId)));
+    }
+
+    /** 주문 커밋 후 판매량 반영 */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsSold(ProductsSoldEvent event) {
+        if (event.getQuantities().isEmpty()) return;
+
+        loadLock.readLock().lock();
+        try {
+            if (loading || !loaded) {
+                synchronized (soldWhileLoading) {
+                    soldWhileLoading.addAll(event.getQuantities().keySet());
+                }
+            } else {
+                Map<Long, Long> counts = soldCounts;
+                event.getQuantities().forEach((productId, qty) -> counts.merge(productId, (long) qty, Long::sum));
+            }
+        } finally {
+            loadLock.readLock().unlock();
+        }
+        eventPublisher.publishEvent(new ProductStatsChangedEvent(event.getQuantities().keySet()));
+    }
+
+    /**
+     * 바뀐 좋아요 수를 product.like_count 에 기록
+     * - 기록 시점의 현재 값(절대값)을 쓰므로, 그 사이 더 바뀐 상품은 다음 주기에 다시 기록된다.
+     * - 실패하면 대기 목록에 되돌려 놓고 다음 주기에 재시도
+     */
+    @Scheduled(fixedDelayString = "${product.like-count.flush-interval-ms:10000}")
+    public void flushLikeCounts() {
+        if (dirtyLikeCounts.isEmpty()) return;
+
+        Map<Long, Long> pending = new HashMap<>();
+        for (Iterator<Long> it = dirtyLikeCounts.iterator(); it.hasNext(); ) {
+            Long productId = it.next();
+            it.remove();
+            pending.put(productId, getLikeCount(productId));
+        }
+
+        try {
+            productLikeCountRepository.updateLikeCounts(pending);
+        } catch (RuntimeException e) {
+            dirtyLikeCounts.addAll(pending.keySet());
+            log.error("좋아요 수 기록 실패 - 다음 주기에 재시도 ({}건)", pending.size(), e);
+        }
+    }
+
+    /** 종료 전 남은 좋아요 수 기록 */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushLikeCounts();
+    }
+
+    /** 아직 로딩 전이면 로딩 */
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (!loaded) reload();
+        }
+    }
+
+    private void setLoading(boolean value) {
+        loadLock.writeLock().lock();
+        try {
+            loading = value;
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+    }
+
+    /** 로딩 중 좋아요가 바뀐 상품만 다시 세기 (writeLock 안에서 호출) */
+    private void recountLiked(Map<Long, LongAdder> counts) {
+        synchronized (likedWhileLoading) {
+            if (likedWhileLoading.isEmpty()) return;
+
+            likedWhileLoading.forEach(counts::remove);
+            for (Object[] row : productLikeRepository.countByProductIdIn(likedWhileLoading)) {
+                counts.put((Long) row[0], counterOf(((Number) row[1]).longValue()));
+            }
+            likedWhileLoading.clear();
+        }
+    }
+
+    /** 로딩 중 판매된 상품만 다시 합산 (writeLock 안에서 호출) */
+    private void recountSold(Map<Long, Long> counts) {
+        synchronized (soldWhileLoading) {
+            if (soldWhileLoading.isEmpty()) return;
+
+            soldWhileLoading.forEach(counts::remove);
+            for (Object[] row : orderItemRepository.sumQuantityByProductIdIn(soldWhileLoading)) {
+                counts.put((Long) row[0], ((Number) row[1]).longValue());
+            }
+            soldWhileLoading.clear();
+        }
+    }
+
+    private static LongAdder counterOf(long value) {
+        LongAdder counter = new LongAdder();
+        counter.add(value);
+        return counter;
+    }
+}
@@ -0,0 +1,208 @@
+package com.ecommerce.project.backend.service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * 상품명 자동완성용 불변(immutable) 접두사 인덱스
+ * - 상품명의 각 단어 시작 위치부터 끝까지를 공백 없이 이어 붙인 문자열을 키로 사용
+ *   (예: "오버핏 후드 티셔츠" → 오버핏후드티셔츠 / 후드티셔츠 / 티셔츠)
+ * - 키는 초성으로 바꾼 문자열(ㅇㅂㅍㅎㄷㅌㅅㅊ) 기준으로 정렬한 배열에 담는다.
+ *   배열 자체가 압축된 트라이 역할을 하며, 접두사 검색은 이진 탐색 두 번으로 범위를 구한다.
+ * - 초성 변환은 글자 단위 1:1 이라, 초성 범위를 찾은 뒤 원래 상품명 키로 한 글자씩 비교하면
+ *   "ㅇㅂ" / "오버" / "오ㅂ" 같은 완성형·초성 혼합 입력을 한 구조로 처리할 수 있다.
+ */
+public final class ProductSuggestIndex {
+
+    private static final char HANGUL_BEGIN = 0xAC00; // '가'
+    private static final char HANGUL_END = 0xD7A3;   // '힣'
+    private static final int JUNG_JONG_COUNT = 21 * 28;
+
+    private static final char[] CHOSUNG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    // 이 길이 이하 검색어는 범위가 넓으므로 결과를 인덱스 수명 동안 기억
+    private static final int MEMO_MAX_QUERY_LENGTH = 2;
+
+    /** 자동완성 키 1건 */
+    private record Key(String chosung, String name, long productId) {
+    }
+
+    private static final Comparator<Key> KEY_ORDER = Comparator
+            .comparing(Key::chosung)
+            .thenComparing(Key::name)
+            .thenComparingLong(Key::productId);
+
+    private final CatalogSnapshot snapshot; // 결과 상품 정보도 여기서 꺼냄
+    private final Key[] keys;               // 초성 키 오름차순
+    private final int limit;                // 검색어당 최대 결과 수
+
+    // 짧은 검색어 결과 메모 (인덱스가 교체되면 같이 버려진다)
+    private final Map<String, long[]> memo = new ConcurrentHashMap<>();
+
+    private ProductSuggestIndex(CatalogSnapshot snapshot, Key[] keys, int limit) {
+        this.snapshot = snapshot;
+        this.keys = keys;
+        this.limit = limit;
+    }
+
+    /** 스냅샷 전체로 새 인덱스 생성 */
+    static ProductSuggestIndex of(CatalogSnapshot snapshot, int limit) {
+        List<Key> list = new ArrayList<>();
+        snapshot.getProducts().forEach(p -> addKeys(p.getProductId(), p.getProductName(), list));
+
+        Key[] arr = list.toArray(new Key[0]);
+        Arrays.sort(arr, KEY_ORDER);
+        return new ProductSuggestIndex(snapshot, arr, limit);
+    }
+
+    /**
+     * 변경된 상품만 반영한 새 인덱스 생성
+     * - 기존 배열에서 변경 상품 키를 빼고, 새 키(정렬)와 병합 → 전체 재정렬 없이 O(n)
+     */
+    ProductSuggestIndex withChanges(CatalogSnapshot newSnapshot, Collection<Long> changedIds) {
+        Set<Long> changed = new HashSet<>(changedIds);
+
+        List<Key> added = new ArrayList<>();
+        for (Long id : changedIds) {
+            var product = newSnapshot.getProduct(id);
+            if (product != null) addKeys(id, product.getProductName(), added); // 없으면 삭제/비노출
+        }
+        added.sort(KEY_ORDER);
+
+        Key[] merged = new Key[keys.length + added.size()];
+        int i = 0, j = 0, n = 0;
+        while (i < keys.length || j < added.size()) {
+            if (i < keys.length && changed.contains(keys[i].productId())) {
+                i++;
+                continue;
+            }
+            if (j >= added.size() || (i < keys.length && KEY_ORDER.compare(keys[i], added.get(j)) <= 0)) {
+                merged[n++] = keys[i++];
+            } else {
+                merged[n++] = added.get(j++);
+            }
+        }
+
+        return new ProductSuggestIndex(newSnapshot, Arrays.copyOf(merged, n), limit);
+    }
+
+    public CatalogSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 검색어로 시작하는 상품 ID (인기도 내림차순, 같으면 상품 ID 오름차순, 최대 limit 건)
+     *
+     * @param popularity 상품 ID → 인기도 (좋아요 수)
+     */
+    public long[] suggest(String keyword, ToLongFunction<Long> popularity) {
+        String query = normalize(keyword);
+        if (query.isEmpty()) return new long[0];
+
+        if (query.length() <= MEMO_MAX_QUERY_LENGTH) {
+            return memo.computeIfAbsent(query, q -> scan(q, popularity));
+        }
+        return scan(query, popularity);
+    }
+
+    private long[] scan(String query, ToLongFunction<Long> popularity) {
+        String chosungQuery = toChosung(query);
+        int from = lowerBound(chosungQuery);
+        int to = lowerBound(chosungQuery + Character.MAX_VALUE);
+
+        // 같은 상품이 여러 키로 걸릴 수 있으므로 중복 제거
+        Set<Long> matched = new LinkedHashSet<>();
+        for (int i = from; i < to; i++) {
+            if (matches(query, keys[i].name())) matched.add(keys[i].productId());
+        }
+
+        return matched.stream()
+                .sorted(Comparator.<Long>comparingLong(popularity).reversed()
+                        .thenComparingLong(id -> id))
+                .limit(limit)
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    /** 초성 키가 prefix 이상인 첫 위치 */
+    private int lowerBound(String prefix) {
+        int lo = 0, hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].chosung().compareTo(prefix) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** 검색어의 각 글자가 상품명 키와 같거나, 초성 자모면 해당 음절의 초성과 같은지 */
+    private static boolean matches(String query, String name) {
+        if (query.length() > name.length()) return false;
+        for (int i = 0; i < query.length(); i++) {
+            char q = query.charAt(i);
+            char c = name.charAt(i);
+            if (q != c && !(isChosung(q) && isHangulSyllable(c) && chosungOf(c) == q)) return false;
+        }
+        return true;
+    }
+
+    private static void addKeys(long productId, String productName, List<Key> out) {
+        String[] words = normalizeWords(productName);
+        StringBuilder sb = new StringBuilder();
+        for (int start = words.length - 1; start >= 0; start--) {
+            sb.insert(0, words[start]);
+            String name = sb.toString();
+            out.add(new Key(toChosung(name), name, productId));
+        }
+    }
+
+    /** 소문자 + 문자/숫자만 남긴 단어 목록 (자모 입력 보존을 위해 NFKC 정규화는 하지 않음) */
+    private static String[] normalizeWords(String text) {
+        if (text == null) return new String[0];
+        String s = text.toLowerCase(Locale.ROOT);
+
+        List<String> words = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            } else if (sb.length() > 0) {
+                words.add(sb.toString());
+                sb.setLength(0);
+            }
+        }
+        if (sb.length() > 0) words.add(sb.toString());
+        return words.toArray(new String[0]);
+    }
+
+    static String normalize(String text) {
+        return String.join("", normalizeWords(text));
+    }
+
+    /** 완성형 한글 음절만 초성으로 바꾸고 나머지 글자는 그대로 */
+    static String toChosung(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            sb.append(isHangulSyllable(c) ? chosungOf(c) : c);
+        }
+        return sb.toString();
+    }
+
+    private static boolean isHangulSyllable(char c) {
+        return c >= HANGUL_BEGIN && c <= HANGUL_END;
+    }
+
+    private static char chosungOf(char syllable) {
+        return CHOSUNG[(syllable - HANGUL_BEGIN) / JUNG_JONG_COUNT];
+    }
+
+    private static boolean isChosung(char c) {
+        return Arrays.binarySearch(CHOSUNG, c) >= 0;
+    }
+}
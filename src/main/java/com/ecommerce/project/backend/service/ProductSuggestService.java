@@ -0,0 +1,76 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.dto.ProductDto;
+import com.ecommerce.project.backend.dto.ProductSuggestDto;
+import com.ecommerce.project.backend.event.CatalogRefreshedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 검색어 자동완성 (초성 / 접두사)
+ * - 카탈로그 스냅샷이 교체될 때마다(CatalogRefreshedEvent) 인덱스도 변경 상품만 반영해서 교체
+ * - 인기도는 좋아요 수 (ProductStatsService)
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductSuggestService {
+
+    public static final int DEFAULT_SIZE = 10;
+    public static final int MAX_SIZE = 20;
+
+    private final CatalogService catalogService;
+    private final ProductStatsService productStatsService;
+
+    private volatile ProductSuggestIndex index; // null 이면 아직 생성 전
+
+    /** 스냅샷 교체 시 인덱스 갱신 */
+    @EventListener
+    public synchronized void onCatalogRefreshed(CatalogRefreshedEvent event) {
+        ProductSuggestIndex current = index;
+
+        if (event.isFullReload() || current == null) {
+            index = ProductSuggestIndex.of(event.getSnapshot(), MAX_SIZE);
+        } else {
+            index = current.withChanges(event.getSnapshot(), event.getChangedProductIds());
+        }
+    }
+
+    /** 검색어로 시작하는 상품 (인기순 최대 size 건) */
+    public List<ProductSuggestDto> suggest(String keyword, Integer size) {
+        int limit = (size == null || size < 1) ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
+
+        ProductSuggestIndex idx = getIndex();
+        CatalogSnapshot snapshot = idx.getSnapshot();
+
+        long[] ids = idx.suggest(keyword, productStatsService::getLikeCount);
+
+        List<ProductSuggestDto> result = new ArrayList<>(Math.min(limit, ids.length));
+        for (int i = 0; i < ids.length && i < limit; i++) {
+            ProductDto p = snapshot.getProduct(ids[i]);
+            result.add(new ProductSuggestDto(
+                    p.getProductId(),
+                    p.getProductName(),
+                    p.getMainImg(),
+                    productStatsService.getLikeCount(ids[i])));
+        }
+        return result;
+    }
+
+    private ProductSuggestIndex getIndex() {
+        ProductSuggestIndex current = index;
+        if (current != null) return current;
+
+        // 스냅샷 로딩이 끝나면 CatalogRefreshedEvent 로 인덱스가 만들어진다
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+        synchronized (this) {
+            if (index == null) {
+                index = ProductSuggestIndex.of(snapshot, MAX_SIZE);
+            }
+            return index;
+        }
+    }
+}
@@ -1,25 +1,44 @@
 package com.ecommerce.project.backend.service;
 
 import com.ecommerce.project.backend.domain.Product;
+import com.ecommerce.project.backend.event.ProductStockChangedEvent;
 import com.ecommerce.project.backend.repository.ProductRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 //주문이 발생했을 때 자동으로 재고 차감 처리
 
 @Service
 public class StockService {
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public StockService(ProductRepository productRepository) {
+    public StockService(ProductRepository productRepository,
+                        ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     // 주문 발생 시 재고 차감
+    // 읽고 빼서 저장하지 않고 "재고가 충분할 때만" 조건부 UPDATE 한 문장으로 차감 (동시 주문에도 초과 판매 없음)
+    @Transactional
     public void decreaseStock(Long productId, int quantity) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다."));
+        if (quantity < 1) {
+            throw new IllegalArgumentException("수량은 1 이상");
+        }
 
-        product.decreaseStock(quantity); // ← 도메인 로직 사용
-        productRepository.save(product);
+        if (productRepository.decreaseStockIfAvailable(productId, quantity) == 0) {
+            // 0건이면 원인만 확인해서 알려줌
+            Product product = productRepository.findById(productId)
+                    .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다."));
+            if (product.getIsOption()) {
+                throw new IllegalStateException("옵션 상품은 옵션 단위로 재고를 차감해야 합니다.");
+            }
+            throw new IllegalArgumentException("재고가 부족합니다. (현재 재고: " + product.getStock() + ")");
+        }
+
+        // 카탈로그 스냅샷의 재고 갱신
+        eventPublisher.publishEvent(new ProductStockChangedEvent(productId));
     }
 }
@@ -0,0 +1,5 @@
+-- 상품 좋아요 수 비정규화 컬럼 (ProductStatsService 가 주기적으로 기록)
+ALTER TABLE product ADD COLUMN like_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE product p
+SET like_count = (SELECT COUNT(*) FROM product_like l WHERE l.product_id = p.product_id);
@@ -0,0 +1,2 @@
+-- 장바구니 낙관적 잠금 버전 (CartWriter 의 compare-and-set 갱신에 사용)
+ALTER TABLE cart ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
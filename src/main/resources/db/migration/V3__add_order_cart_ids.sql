@@ -0,0 +1,2 @@
+-- 장바구니에서 카드 결제한 주문의 cart_id 목록 (결제 완료 시 그 줄만 삭제)
+ALTER TABLE `order` ADD COLUMN cart_ids TEXT NULL;
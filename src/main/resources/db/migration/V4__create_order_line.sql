@@ -0,0 +1,16 @@
+-- 카드 결제 대기 주문의 주문 줄 (결제 완료 때 이 줄로 재고 차감 / 주문 항목 생성, 장바구니 주문이면 cart_id)
+CREATE TABLE order_line (
+    order_line_id BIGINT NOT NULL AUTO_INCREMENT,
+    order_id      BIGINT NOT NULL,
+    product_id    BIGINT NOT NULL,
+    option_id     BIGINT NULL,
+    quantity      INT NOT NULL,
+    price         DECIMAL(10, 2) NOT NULL,
+    cart_id       BIGINT NULL,
+    PRIMARY KEY (order_line_id),
+    KEY idx_order_line_order (order_id),
+    CONSTRAINT fk_order_line_order FOREIGN KEY (order_id) REFERENCES `order` (order_id)
+);
+
+-- 쉼표로 이은 cart_id 목록은 order_line.cart_id 로 대체
+ALTER TABLE `order` DROP COLUMN cart_ids;
@@ -0,0 +1,188 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.config.MusinsaConfig;
+import com.ecommerce.project.backend.domain.CategoryLink;
+import com.ecommerce.project.backend.domain.Product;
+import com.ecommerce.project.backend.domain.ProductImage;
+import com.ecommerce.project.backend.domain.ProductOption;
+import com.ecommerce.project.backend.repository.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * 관리자 상품 목록 스트리밍이 카탈로그 크기와 관계없이 한 청크 분량의 힙만 쓰는지 확인
+ * - 10만 건 합성 카탈로그를 청크 요청 시점마다 만들어 내고, 주기적으로 GC 후 사용 중인 힙을 측정
+ */
+class AdminProductStreamingTest {
+
+    private static final int CATALOG_SIZE = 100_000;
+    private static final int SAMPLE_EVERY_CHUNKS = 20;
+    private static final long MAX_HEAP_GROWTH = 32L * 1024 * 1024; // 10만 건 DTO 전체 적재 시 100MB 이상
+
+    private ProductRepository productRepository;
+    private ProductOptionRepository optionRepository;
+    private ProductImageRepository imageRepository;
+    private CategoryLinkRepository linkRepository;
+    private AdminProductService adminProductService;
+    private JsonStreamWriter jsonStreamWriter;
+
+    private final AtomicInteger chunkCount = new AtomicInteger();
+    private final AtomicInteger producedCount = new AtomicInteger();
+    private final AtomicLong peakUsedHeap = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        productRepository = Mockito.mock(ProductRepository.class);
+        optionRepository = Mockito.mock(ProductOptionRepository.class);
+        imageRepository = Mockito.mock(ProductImageRepository.class);
+        linkRepository = Mockito.mock(CategoryLinkRepository.class);
+
+        MusinsaConfig musinsaConfig = Mockito.mock(MusinsaConfig.class);
+        when(musinsaConfig.getImageBaseUrl()).thenReturn("https://image.msscdn.net");
+
+        adminProductService = new AdminProductService(
+                productRepository,
+                optionRepository,
+                imageRepository,
+                Mockito.mock(CategoryRepository.class),
+                linkRepository,
+                Mockito.mock(CartRepository.class),
+                musinsaConfig,
+                Mockito.mock(ApplicationEventPublisher.class),
+                new ProductBatchLoader(optionRepository, imageRepository, linkRepository),
+                Mockito.mock(EntityManager.class));
+
+        jsonStreamWriter = new JsonStreamWriter(new ObjectMapper().findAndRegisterModules());
+
+        stubSyntheticCatalog();
+    }
+
+    @Test
+    void streamingKeepsHeapFlatForLargeCatalog() throws Exception {
+        long baseline = usedHeapAfterGc();
+        peakUsedHeap.set(baseline);
+
+        CountingOutputStream out = new CountingOutputStream();
+        jsonStreamWriter.writeArray(adminProductService.streamAdminProducts(), out);
+
+        assertThat(producedCount.get()).isEqualTo(CATALOG_SIZE);
+        assertThat(out.count).isGreaterThan((long) CATALOG_SIZE * 200);
+        assertThat(out.last).isEqualTo((int) ']');
+
+        long growth = peakUsedHeap.get() - baseline;
+        assertThat(growth)
+                .as("peak heap growth while streaming %d products (%d KB)", CATALOG_SIZE, growth / 1024)
+                .isLessThan(MAX_HEAP_GROWTH);
+    }
+
+    /** productId > after 조건의 청크 요청마다 상품을 새로 만들어 돌려줌 (카탈로그 전체를 미리 만들지 않음) */
+    private void stubSyntheticCatalog() {
+        when(productRepository.findByProductIdGreaterThanOrderByProductIdAsc(anyLong(), any(Pageable.class)))
+                .thenAnswer(inv -> {
+                    if (chunkCount.incrementAndGet() % SAMPLE_EVERY_CHUNKS == 0) {
+                        peakUsedHeap.accumulateAndGet(usedHeapAfterGc(), Math::max);
+                    }
+
+                    long after = inv.getArgument(0);
+                    Pageable pageable = inv.getArgument(1);
+
+                    List<Product> products = new ArrayList<>();
+                    for (long id = after + 1; id <= CATALOG_SIZE && products.size() < pageable.getPageSize(); id++) {
+                        products.add(product(id));
+                    }
+                    producedCount.addAndGet(products.size());
+                    return products;
+                });
+
+        when(optionRepository.findByProduct_ProductIdInOrderByOptionIdAsc(anyCollection()))
+                .thenAnswer(inv -> {
+                    List<ProductOption> options = new ArrayList<>();
+                    for (Long id : inv.<Collection<Long>>getArgument(0)) {
+                        Product p = Product.builder().productId(id).build();
+                        options.add(ProductOption.builder().optionId(id * 10).product(p)
+                                .optionTitle("색상").optionValue("Black").stock(5).isShow(true).build());
+                        options.add(ProductOption.builder().optionId(id * 10 + 1).product(p)
+                                .optionTitle("색상").optionValue("Ivory").stock(5).isShow(true).build());
+                    }
+                    return options;
+                });
+
+        when(imageRepository.findByProduct_ProductIdInOrderBySortOrderAsc(anyCollection()))
+                .thenAnswer(inv -> {
+                    List<ProductImage> images = new ArrayList<>();
+                    for (Long id : inv.<Collection<Long>>getArgument(0)) {
+                        images.add(ProductImage.builder().imageId(id)
+                                .imageUrl("https://image.msscdn.net/sub/" + id + ".jpg").sortOrder(1)
+                                .product(Product.builder().productId(id).build()).build());
+                    }
+                    return images;
+                });
+
+        when(linkRepository.findByProduct_ProductIdInOrderByLinkIdAsc(anyCollection()))
+                .thenAnswer(inv -> {
+                    List<CategoryLink> links = new ArrayList<>();
+                    for (Long id : inv.<Collection<Long>>getArgument(0)) {
+                        links.add(CategoryLink.builder().linkId(id).categoryCode("00010001")
+                                .product(Product.builder().productId(id).build()).build());
+                    }
+                    return links;
+                });
+    }
+
+    private static Product product(long id) {
+        return Product.builder()
+                .productId(id)
+                .productName("합성 상품 " + id)
+                .description("스트리밍 테스트용 상품 설명 " + id)
+                .consumerPrice(BigDecimal.valueOf(39000))
+                .sellPrice(BigDecimal.valueOf(29000))
+                .stock(10)
+                .isOption(true)
+                .mainImg("https://image.msscdn.net/main/" + id + ".jpg")
+                .productStatus(10)
+                .isShow(true)
+                .build();
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    /** 응답 바이트를 버리고 개수와 마지막 바이트만 기록 */
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+        int last = -1;
+
+        @Override
+        public void write(int b) {
+            count++;
+            last = b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (len == 0) return;
+            count += len;
+            last = b[off + len - 1];
+        }
+    }
+}
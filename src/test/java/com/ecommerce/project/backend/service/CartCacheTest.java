@@ -0,0 +1,59 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.event.CartChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * 커밋 후 이벤트가 커밋 순서와 다르게 도착해도 캐시가 이전 값으로 되돌아가지 않는지 확인
+ */
+class CartCacheTest {
+
+    private static final long MEMBER_ID = 1L;
+
+    private final CartLoader cartLoader = mock(CartLoader.class);
+    private final CartCache cache = new CartCache(cartLoader);
+
+    @BeforeEach
+    void setUp() {
+        when(cartLoader.load(MEMBER_ID)).thenReturn(List.of(line(10L, 1, 0)));
+        cache.get(MEMBER_ID);
+    }
+
+    @Test
+    void olderUpsertArrivingLateIsIgnored() {
+        cache.onCartChanged(CartChangedEvent.upserted(MEMBER_ID, line(10L, 3, 2)));
+        cache.onCartChanged(CartChangedEvent.upserted(MEMBER_ID, line(10L, 2, 1)));
+
+        assertThat(cache.get(MEMBER_ID)).extracting(CartLine::quantity).containsExactly(3);
+        verify(cartLoader, times(1)).load(MEMBER_ID);
+    }
+
+    @Test
+    void newLineIsAppendedWithoutReload() {
+        cache.onCartChanged(CartChangedEvent.upserted(MEMBER_ID, line(11L, 1, 0)));
+
+        assertThat(cache.get(MEMBER_ID)).extracting(CartLine::cartId).containsExactly(10L, 11L);
+        verify(cartLoader, times(1)).load(MEMBER_ID);
+    }
+
+    @Test
+    void updateOfLineMissingFromCacheReloads() {
+        // 삭제 이벤트가 먼저 반영된 뒤 그 이전 수정 이벤트가 도착 → 되살리지 않고 다시 로딩
+        cache.onCartChanged(CartChangedEvent.removed(MEMBER_ID, 10L));
+        cache.onCartChanged(CartChangedEvent.upserted(MEMBER_ID, line(10L, 2, 1)));
+        when(cartLoader.load(MEMBER_ID)).thenReturn(List.of());
+
+        assertThat(cache.get(MEMBER_ID)).isEmpty();
+        verify(cartLoader, times(2)).load(MEMBER_ID);
+    }
+
+    private static CartLine line(Long cartId, int quantity, long version) {
+        return new CartLine(cartId, 100L, "", quantity, "상품", null, 19000, "", 10, version);
+    }
+}
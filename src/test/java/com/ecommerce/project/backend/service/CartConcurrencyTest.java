@@ -0,0 +1,155 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.config.MusinsaConfig;
+import com.ecommerce.project.backend.domain.Cart;
+import com.ecommerce.project.backend.domain.Member;
+import com.ecommerce.project.backend.domain.Product;
+import com.ecommerce.project.backend.dto.CartAddRequestDto;
+import com.ecommerce.project.backend.repository.CartBatchRepository;
+import com.ecommerce.project.backend.repository.CartRepository;
+import com.ecommerce.project.backend.repository.MemberRepository;
+import com.ecommerce.project.backend.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * 장바구니 한 줄을 여러 스레드가 동시에 바꿀 때 버전 비교(CAS) 갱신이 변경을 잃지 않는지 확인 (MySQL)
+ * - 실제 UPDATE ... WHERE version = ? 와 시도마다 새 트랜잭션(CartWriter) + 재시도(CartService) 로 실행
+ * - 성공한 변경은 모두 반영되고, 재시도를 다 쓰고 실패한 변경은 하나도 반영되지 않아야 함
+ */
+@Import({CartService.class, CartWriter.class, CartBatchRepository.class, GuestCartStore.class})
+class CartConcurrencyTest extends MySqlDataJpaTest {
+
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 10;
+
+    @Autowired
+    private CartService cartService;
+    @Autowired
+    private CartRepository cartRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ProductRepository productRepository;
+
+    @MockitoBean
+    private MusinsaConfig musinsaConfig;
+    @MockitoBean
+    private CatalogService catalogService;
+    @MockitoBean
+    private CartCache cartCache;
+    @MockitoBean
+    private ProductOptionIndexCache productOptionIndexCache;
+
+    private Member member;
+    private Product product;
+    private Cart line;
+
+    @BeforeEach
+    void setUp() {
+        when(musinsaConfig.getImageBaseUrl()).thenReturn("https://image.msscdn.net");
+
+        member = memberRepository.save(Member.builder().email("cas@test.com").name("동시성").build());
+        product = productRepository.save(Product.builder()
+                .productName("동시성 테스트 상품")
+                .consumerPrice(BigDecimal.valueOf(39000))
+                .sellPrice(BigDecimal.valueOf(29000))
+                .stock(1_000_000)
+                .isOption(false)
+                .mainImg("/main/cas.jpg")
+                .productStatus(10)
+                .isShow(true)
+                .build());
+        line = cartRepository.save(Cart.builder()
+                .member(member).product(product).optionValue("").quantity(1)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void concurrentAddsToSameLineLoseNoIncrements() throws Exception {
+        CartAddRequestDto req = new CartAddRequestDto();
+        req.setProductId(product.getProductId());
+        req.setQuantity(1);
+
+        Result result = hammer(() -> cartService.addToCart(member.getId(), req));
+
+        Cart committed = cartRepository.findById(line.getCartId()).orElseThrow();
+        assertThat(result.succeeded()).isGreaterThan(0);
+        assertThat(result.succeeded() + result.failed()).isEqualTo(THREADS * OPS_PER_THREAD);
+        assertThat(committed.getQuantity()).isEqualTo(1 + result.succeeded());
+        assertThat(committed.getVersion()).isEqualTo(line.getVersion() + result.succeeded());
+        // 새 줄이 생기지 않고 같은 줄만 증가
+        assertThat(cartRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void everySuccessfulQuantityUpdateBumpsVersionExactlyOnce() throws Exception {
+        Set<Integer> written = ConcurrentHashMap.newKeySet();
+
+        Result result = hammer(() -> {
+            int quantity = ThreadLocalRandom.current().nextInt(2, 100);
+            cartService.updateQuantity(member.getId(), line.getCartId(), quantity);
+            written.add(quantity);
+        });
+
+        Cart committed = cartRepository.findById(line.getCartId()).orElseThrow();
+        assertThat(result.succeeded()).isGreaterThan(0);
+        // 같은 버전을 읽은 두 변경이 모두 커밋되면 버전 증가가 성공 수보다 작아짐
+        assertThat(committed.getVersion()).isEqualTo(line.getVersion() + result.succeeded());
+        assertThat(written).contains(committed.getQuantity());
+    }
+
+    /** THREADS 개 스레드가 동시에 시작해 각자 OPS_PER_THREAD 번 실행 */
+    private Result hammer(Runnable op) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    try {
+                        op.run();
+                        succeeded.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> f : futures) f.get(120, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        return new Result(succeeded.get(), failed.get());
+    }
+
+    private record Result(int succeeded, int failed) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.config.MusinsaConfig;
+import com.ecommerce.project.backend.domain.Cart;
+import com.ecommerce.project.backend.domain.Member;
+import com.ecommerce.project.backend.domain.Product;
+import com.ecommerce.project.backend.domain.ProductOption;
+import com.ecommerce.project.backend.repository.CartRepository;
+import com.ecommerce.project.backend.repository.MemberRepository;
+import com.ecommerce.project.backend.repository.ProductOptionRepository;
+import com.ecommerce.project.backend.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * 장바구니 캐시 미스 로딩이 줄 수와 관계없이 SQL 1번인지, 조인 결과로 옵션명/재고가 채워지는지 확인 (MySQL)
+ * - 이전 구현은 줄마다 상품 + 옵션 목록을 지연 로딩 (100줄이면 200번 이상)
+ */
+@Import(CartLoader.class)
+class CartLoaderQueryCountTest extends MySqlDataJpaTest {
+
+    @Autowired
+    private CartLoader cartLoader;
+    @Autowired
+    private CartRepository cartRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductOptionRepository optionRepository;
+
+    @MockitoBean
+    private MusinsaConfig musinsaConfig;
+
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        when(musinsaConfig.getImageBaseUrl()).thenReturn("https://image.msscdn.net");
+        member = memberRepository.save(Member.builder().email("cart@test.com").name("장바구니").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartRepository.deleteAllInBatch();
+        optionRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        memberRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void loadSendsOneStatementForAnyCartSize(int lines) {
+        List<Cart> carts = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            Product p = (i % 2 == 0) ? optionProduct("상품 " + i, "Black", 3) : singleProduct("상품 " + i, 10);
+            carts.add(Cart.builder().member(member).product(p)
+                    .optionValue(p.getIsOption() ? "Black" : "").quantity(1).build());
+        }
+        cartRepository.saveAll(carts);
+        statistics().clear();
+
+        List<CartLine> loaded = cartLoader.load(member.getId());
+
+        assertThat(loaded).hasSize(lines);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void joinedRowsFillOptionTitleAndStock() {
+        Product optionProduct = optionProduct("옵션 상품", "Black", 3);
+        Product single = singleProduct("단품", 10);
+        cartRepository.saveAll(List.of(
+                Cart.builder().member(member).product(optionProduct).optionValue("Black").quantity(2).build(),
+                Cart.builder().member(member).product(single).optionValue("").quantity(1).build(),
+                // 담은 뒤 옵션이 없어진 줄 → 재고 0
+                Cart.builder().member(member).product(optionProduct).optionValue("Khaki").quantity(1).build()));
+
+        List<CartLine> lines = cartLoader.load(member.getId());
+
+        assertThat(lines).hasSize(3);
+
+        CartLine option = lines.get(0);
+        assertThat(option.optionValue()).isEqualTo("Black");
+        assertThat(option.optionTitle()).isEqualTo("색상");
+        assertThat(option.stock()).isEqualTo(3);
+        assertThat(option.quantity()).isEqualTo(2);
+        assertThat(option.thumbnail()).isEqualTo("https://image.msscdn.net/main/옵션 상품.jpg");
+
+        CartLine singleLine = lines.get(1);
+        assertThat(singleLine.optionValue()).isEmpty();
+        assertThat(singleLine.optionTitle()).isEmpty();
+        assertThat(singleLine.stock()).isEqualTo(10);
+
+        CartLine missing = lines.get(2);
+        assertThat(missing.optionTitle()).isEmpty();
+        assertThat(missing.stock()).isZero();
+    }
+
+    @Test
+    void sameValueUnderTwoOptionTitlesYieldsOneLine() {
+        // "색상 Free" 와 "사이즈 Free" 처럼 옵션명만 다르고 값이 같은 옵션
+        Product p = product("프리 사이즈", true, 7);
+        p.getProductOptions().add(option(p, "Free", 3));
+        p.getProductOptions().add(ProductOption.builder()
+                .product(p).optionType("N")
+                .optionTitle("사이즈").optionValue("Free")
+                .stock(4).isShow(true)
+                .build());
+        productRepository.save(p);
+        cartRepository.save(Cart.builder().member(member).product(p).optionValue("Free").quantity(1).build());
+
+        List<CartLine> lines = cartLoader.load(member.getId());
+
+        // optionId 가 작은 옵션 (ProductOptionIndex 와 같은 규칙)
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0).optionTitle()).isEqualTo("색상");
+        assertThat(lines.get(0).stock()).isEqualTo(3);
+    }
+
+    /** 색상 옵션 Ivory(재고 5) + 지정한 옵션값(재고 stock) */
+    private Product optionProduct(String name, String value, int stock) {
+        Product p = product(name, true, 5 + stock);
+        p.getProductOptions().add(option(p, "Ivory", 5));
+        p.getProductOptions().add(option(p, value, stock));
+        return productRepository.save(p);
+    }
+
+    private Product singleProduct(String name, int stock) {
+        return productRepository.save(product(name, false, stock));
+    }
+
+    private static Product product(String name, boolean isOption, int stock) {
+        return Product.builder()
+                .productName(name)
+                .consumerPrice(BigDecimal.valueOf(39000))
+                .sellPrice(BigDecimal.valueOf(29000))
+                .stock(stock)
+                .isOption(isOption)
+                .mainImg("/main/" + name + ".jpg")
+                .productStatus(10)
+                .isShow(true)
+                .build();
+    }
+
+    private static ProductOption option(Product p, String value, int stock) {
+        return ProductOption.builder()
+                .product(p).optionType("C")
+                .optionTitle("색상").optionValue(value)
+                .stock(stock).isShow(true)
+                .build();
+    }
+}
@@ -0,0 +1,273 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.config.MusinsaConfig;
+import com.ecommerce.project.backend.domain.*;
+import com.ecommerce.project.backend.dto.OrderDto;
+import com.ecommerce.project.backend.dto.OrderRequestDTO;
+import com.ecommerce.project.backend.dto.VerifyPaymentRequestDto;
+import com.ecommerce.project.backend.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 포인트 주문(checkout) 의 DB 호출 수가 주문 줄 수 1 / 10 / 50 과 관계없이 고정인지 확인
+ * - 리포지토리 호출 1번 = DB 왕복 1회로 셈
+ * - 이전 구현은 줄마다 상품 / 옵션 PK 조회 + OrderItem INSERT + 옵션 / 상품 UPDATE (옵션 줄 1개 = 왕복 5회)
+ * - 파이프라인: 상품 + 옵션 IN 조회 1회, 검증은 메모리, OrderItem / 재고는 JDBC 배치 → 줄 수와 관계없이 왕복 8회 이하
+ */
+class OrderCheckoutBenchmarkTest {
+
+    private static final long MEMBER_ID = 7L;
+    private static final long ADDRESS_ID = 70L;
+    private static final int[] SIZES = {1, 10, 50};
+
+    private final AtomicInteger roundTrips = new AtomicInteger();
+    private final Map<Long, Product> products = new HashMap<>();
+
+    private OrderBatchRepository orderBatchRepository;
+    private OrderRepository orderRepository;
+    private CartRepository cartRepository;
+    private OrderLineRepository orderLineRepository;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        // 상품 ID 3000 + i, 짝수 i 는 옵션 상품 (옵션 ID = 상품 ID * 10), 홀수 i 는 단품
+        for (int i = 0; i < 50; i++) {
+            long productId = 3000 + i;
+            boolean isOption = i % 2 == 0;
+            Product p = Product.builder()
+                    .productId(productId)
+                    .productName("상품 " + productId)
+                    .sellPrice(BigDecimal.valueOf(19000))
+                    .stock(1000)
+                    .isOption(isOption)
+                    .mainImg("/main/" + productId + ".jpg")
+                    .build();
+            if (isOption) {
+                p.getProductOptions().add(ProductOption.builder()
+                        .optionId(productId * 10).product(p)
+                        .optionTitle("색상").optionValue("Black")
+                        .sellPrice(BigDecimal.valueOf(21000)).stock(1000)
+                        .build());
+            }
+            products.put(productId, p);
+        }
+
+        MemberRepository memberRepository = mock(MemberRepository.class);
+        MemberAddressRepository memberAddressRepository = mock(MemberAddressRepository.class);
+        ProductRepository productRepository = mock(ProductRepository.class);
+        ProductOptionIndexCache productOptionIndexCache = mock(ProductOptionIndexCache.class);
+        orderRepository = mock(OrderRepository.class);
+        cartRepository = mock(CartRepository.class);
+        orderBatchRepository = mock(OrderBatchRepository.class);
+        orderLineRepository = mock(OrderLineRepository.class);
+
+        when(memberRepository.findById(MEMBER_ID)).thenAnswer(inv -> {
+            roundTrip();
+            return Optional.of(Member.builder().id(MEMBER_ID).point(Integer.MAX_VALUE).build());
+        });
+        when(memberAddressRepository.findById(ADDRESS_ID)).thenAnswer(inv -> {
+            roundTrip();
+            return Optional.of(MemberAddress.builder().id(ADDRESS_ID).name("홍길동").build());
+        });
+        when(productRepository.findWithOptionsByProductIdIn(anyCollection())).thenAnswer(inv -> {
+            roundTrip();
+            Collection<Long> ids = inv.getArgument(0);
+            return ids.stream().map(products::get).filter(Objects::nonNull).toList();
+        });
+        // 옵션 목록은 fetch join 으로 이미 읽었으므로 옵션 PK 조회는 영속성 컨텍스트에서 끝남 (왕복 없음)
+        when(productOptionIndexCache.resolve(any(Product.class), any(), any())).thenAnswer(inv -> {
+            Product p = inv.getArgument(0);
+            Long optionId = inv.getArgument(1);
+            return p.getProductOptions().stream()
+                    .filter(o -> o.getOptionId().equals(optionId))
+                    .findFirst().orElse(null);
+        });
+        when(orderRepository.save(any(Order.class))).thenAnswer(inv -> {
+            roundTrip();
+            Order order = inv.getArgument(0);
+            order.setOrderId(1L);
+            return order;
+        });
+        when(orderBatchRepository.insertItems(anyLong(), anyList())).thenAnswer(inv -> {
+            roundTrip();
+            List<?> rows = inv.getArgument(1);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) ids.add(100L + i);
+            return ids;
+        });
+        // 실제 구현처럼 비어 있으면 DB 에 가지 않음
+        when(orderBatchRepository.decreaseOptionStocks(anyMap()))
+                .thenAnswer(inv -> roundTripIfNotEmpty(((Map<?, ?>) inv.getArgument(0)).isEmpty()));
+        when(orderBatchRepository.decreaseProductStocks(anyMap()))
+                .thenAnswer(inv -> roundTripIfNotEmpty(((Map<?, ?>) inv.getArgument(0)).isEmpty()));
+        doAnswer(inv -> roundTripIfNotEmpty(((Collection<?>) inv.getArgument(0)).isEmpty()))
+                .when(orderBatchRepository).syncProductStocks(anyCollection());
+
+        MusinsaConfig musinsaConfig = mock(MusinsaConfig.class);
+        when(musinsaConfig.getImageBaseUrl()).thenReturn("https://image.msscdn.net");
+
+        orderService = new OrderService(
+                cartRepository,
+                memberRepository,
+                orderRepository,
+                productRepository,
+                memberAddressRepository,
+                productOptionIndexCache,
+                orderBatchRepository,
+                orderLineRepository,
+                musinsaConfig,
+                Mockito.mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    void roundTripsStayConstantFromOneToFiftyLines() {
+        for (int size : SIZES) {
+            roundTrips.set(0);
+
+            OrderDto order = orderService.checkout(MEMBER_ID, request(size));
+
+            assertThat(order.getItems()).hasSize(size);
+            assertThat(roundTrips.get()).as("%d lines", size).isLessThanOrEqualTo(8);
+        }
+    }
+
+    @Test
+    void duplicateLinesAreMergedIntoOneStockDecrement() {
+        OrderRequestDTO req = request(2);
+        req.getItems().add(item(3000L, 3000L * 10, 4)); // 첫 줄과 같은 옵션
+
+        orderService.checkout(MEMBER_ID, req);
+
+        verify(orderBatchRepository).decreaseOptionStocks(Map.of(30000L, 5));
+        verify(orderBatchRepository).decreaseProductStocks(Map.of(3001L, 1));
+        verify(orderBatchRepository).syncProductStocks(argThat(ids -> ids.size() == 1 && ids.contains(3000L)));
+    }
+
+    @Test
+    void outOfStockIsRejectedBeforeAnyWrite() {
+        products.get(3001L).setStock(3);
+        OrderRequestDTO req = request(2);
+        req.getItems().add(item(3001L, null, 3)); // 같은 단품 합계 4 > 재고 3
+
+        assertThatThrownBy(() -> orderService.checkout(MEMBER_ID, req))
+                .hasMessage("상품 재고 부족");
+
+        verify(orderRepository, never()).save(any());
+        verifyNoInteractions(orderBatchRepository);
+    }
+
+    @Test
+    void optionProductWithoutOptionIsRejected() {
+        OrderRequestDTO req = new OrderRequestDTO();
+        req.setAddressId(ADDRESS_ID);
+        req.setItems(new ArrayList<>(List.of(item(3000L, null, 1)))); // 옵션 상품인데 옵션 미선택
+
+        assertThatThrownBy(() -> orderService.checkout(MEMBER_ID, req))
+                .hasMessage("옵션을 선택해 주세요.");
+
+        verifyNoInteractions(orderBatchRepository);
+    }
+
+    @Test
+    void lostStockRaceWritesNoItemsAndLocksRowsInIdOrder() {
+        when(orderBatchRepository.decreaseOptionStocks(anyMap())).thenReturn(false);
+        OrderRequestDTO req = new OrderRequestDTO();
+        req.setAddressId(ADDRESS_ID);
+        req.setItems(new ArrayList<>(List.of(item(3004L, 30040L, 1), item(3000L, 30000L, 1), item(3002L, 30020L, 1))));
+
+        assertThatThrownBy(() -> orderService.checkout(MEMBER_ID, req))
+                .hasMessage("옵션 재고 부족");
+
+        // 주문마다 같은 순서로 행을 잠가야 교착이 없음
+        verify(orderBatchRepository).decreaseOptionStocks(argThat(q -> List.copyOf(q.keySet()).equals(List.of(30000L, 30020L, 30040L))));
+        verify(orderBatchRepository, never()).insertItems(anyLong(), anyList());
+    }
+
+    @Test
+    void cartLinesAlreadyDeletedByAnotherOrderRollBackCheckout() {
+        Member member = Member.builder().id(MEMBER_ID).build();
+        when(cartRepository.findForCheckout(MEMBER_ID, List.of(1L, 2L))).thenReturn(List.of(
+                Cart.builder().cartId(1L).member(member).product(products.get(3001L)).optionValue("").quantity(1).build(),
+                Cart.builder().cartId(2L).member(member).product(products.get(3003L)).optionValue("").quantity(2).build()));
+        // 먼저 커밋된 같은 주문(중복 클릭)이 한 줄을 이미 지움
+        when(cartRepository.deleteOrderedLines(MEMBER_ID, List.of(1L, 2L))).thenReturn(1);
+
+        OrderRequestDTO req = new OrderRequestDTO();
+        req.setAddressId(ADDRESS_ID);
+        req.setFromCart(true);
+        req.setCartIds(List.of(1L, 2L));
+
+        assertThatThrownBy(() -> orderService.checkout(MEMBER_ID, req))
+                .hasMessage("장바구니가 이미 주문되었거나 변경되었습니다.");
+    }
+
+    @Test
+    void cardPaymentUsesStoredLinesInsteadOfRequestItems() {
+        Member member = Member.builder().id(MEMBER_ID).build();
+        Order order = Order.builder().orderId(9L).member(member).status("READY").build();
+        when(orderRepository.findById(9L)).thenReturn(Optional.of(order));
+        // 주문 때 저장한 줄: 옵션 상품 2개 (단가 21000), 장바구니 줄 5
+        when(orderLineRepository.findByOrder_OrderIdOrderByOrderLineIdAsc(9L)).thenReturn(List.of(
+                OrderLine.builder().order(order).productId(3000L).optionId(30000L)
+                        .quantity(2).price(BigDecimal.valueOf(21000)).cartId(5L).build()));
+        when(cartRepository.deleteOrderedLines(MEMBER_ID, List.of(5L))).thenReturn(1);
+
+        // 클라이언트가 다른 상품 / 수량을 보내도 무시
+        VerifyPaymentRequestDto req = new VerifyPaymentRequestDto();
+        req.setOrderId(9L);
+        req.setItems(List.of(item(3001L, null, 10)));
+
+        orderService.completeCardPayment(req);
+
+        verify(orderBatchRepository).decreaseOptionStocks(Map.of(30000L, 2));
+        verify(orderBatchRepository).decreaseProductStocks(Map.of());
+        verify(orderBatchRepository).insertItems(eq(9L), argThat(rows -> rows.size() == 1
+                && rows.get(0).productId().equals(3000L)
+                && rows.get(0).quantity() == 2
+                && rows.get(0).price().compareTo(BigDecimal.valueOf(21000)) == 0));
+        assertThat(order.getStatus()).isEqualTo("PAID");
+    }
+
+    private OrderRequestDTO request(int size) {
+        OrderRequestDTO req = new OrderRequestDTO();
+        req.setAddressId(ADDRESS_ID);
+        List<OrderRequestDTO.Item> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            long productId = 3000 + i;
+            items.add(item(productId, i % 2 == 0 ? productId * 10 : null, 1));
+        }
+        req.setItems(items);
+        return req;
+    }
+
+    private static OrderRequestDTO.Item item(Long productId, Long optionId, int quantity) {
+        OrderRequestDTO.Item it = new OrderRequestDTO.Item();
+        it.setProductId(productId);
+        it.setOptionId(optionId);
+        it.setQuantity(quantity);
+        return it;
+    }
+
+    /** 재고는 충분하다고 보고 항상 차감 성공 */
+    private boolean roundTripIfNotEmpty(boolean empty) {
+        if (!empty) roundTrip();
+        return true;
+    }
+
+    private void roundTrip() {
+        roundTrips.incrementAndGet();
+    }
+}
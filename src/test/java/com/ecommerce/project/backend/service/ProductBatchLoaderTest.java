@@ -0,0 +1,130 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.domain.CategoryLink;
+import com.ecommerce.project.backend.domain.Product;
+import com.ecommerce.project.backend.domain.ProductImage;
+import com.ecommerce.project.backend.domain.ProductOption;
+import com.ecommerce.project.backend.dto.ProductDto;
+import com.ecommerce.project.backend.dto.ProductImageDto;
+import com.ecommerce.project.backend.dto.ProductOptionDto;
+import com.ecommerce.project.backend.repository.CategoryLinkRepository;
+import com.ecommerce.project.backend.repository.ProductImageRepository;
+import com.ecommerce.project.backend.repository.ProductOptionRepository;
+import com.ecommerce.project.backend.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 목록 변환이 실제로 보내는 SQL 수가 상품 수와 무관하게 고정(컬렉션별 1번)인지, 자식이 제 상품에 붙는지 확인
+ * (MySQL + Hibernate Statistics)
+ * - 상품마다 옵션 / 이미지 개수를 다르게 넣어서 다른 상품의 자식이 섞이면 개수부터 어긋나게 함
+ */
+@Import(ProductBatchLoader.class)
+class ProductBatchLoaderTest extends MySqlDataJpaTest {
+
+    @Autowired
+    private ProductBatchLoader loader;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductOptionRepository optionRepository;
+    @Autowired
+    private ProductImageRepository imageRepository;
+    @Autowired
+    private CategoryLinkRepository linkRepository;
+
+    @AfterEach
+    void tearDown() {
+        linkRepository.deleteAllInBatch();
+        imageRepository.deleteAllInBatch();
+        optionRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 200})
+    void sendsThreeStatementsForAnyProductCount(int size) {
+        List<Product> products = saveCatalog(size);
+        statistics().clear();
+
+        List<ProductDto> dtos = loader.toDtos(products, "https://img");
+
+        assertThat(dtos).hasSize(size);
+        // 옵션 IN / 이미지 IN / 카테고리 링크 IN
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 200})
+    void childrenAreGroupedUnderTheirOwnProduct(int size) {
+        List<Product> products = saveCatalog(size);
+
+        List<ProductDto> dtos = loader.toDtos(products, "https://img");
+
+        for (int i = 0; i < size; i++) {
+            ProductDto dto = dtos.get(i);
+            assertThat(dto.getProductId()).isEqualTo(products.get(i).getProductId());
+            assertThat(dto.getOptions()).extracting(ProductOptionDto::getOptionValue)
+                    .containsExactlyElementsOf(optionValues(i));
+            assertThat(dto.getSubImages()).extracting(ProductImageDto::getImageUrl)
+                    .containsExactlyElementsOf(imageUrls(i).stream().map(url -> "https://img" + url).toList());
+            assertThat(dto.getCategoryCode()).isEqualTo(categoryCode(i));
+        }
+    }
+
+    /** 상품 i 마다 옵션 i % 3 + 1 개, 이미지 i % 2 + 1 개, 카테고리 링크 1개 (입력 순서로 반환) */
+    private List<Product> saveCatalog(int size) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Product p = Product.builder()
+                    .productName("상품 " + i)
+                    .consumerPrice(BigDecimal.valueOf(20000))
+                    .sellPrice(BigDecimal.valueOf(10000))
+                    .stock(10)
+                    .isOption(true)
+                    .mainImg("/main/" + i + ".jpg")
+                    .productStatus(10)
+                    .isShow(true)
+                    .build();
+            for (String value : optionValues(i)) {
+                p.getProductOptions().add(ProductOption.builder()
+                        .product(p).optionType("N")
+                        .optionTitle("사이즈").optionValue(value)
+                        .stock(5).isShow(true)
+                        .build());
+            }
+            List<String> urls = imageUrls(i);
+            for (int k = 0; k < urls.size(); k++) {
+                p.getImages().add(ProductImage.builder().product(p).imageUrl(urls.get(k)).sortOrder(k + 1).build());
+            }
+            p.getCategoryLinks().add(CategoryLink.builder().product(p).categoryCode(categoryCode(i)).build());
+            products.add(p);
+        }
+        return productRepository.saveAll(products);
+    }
+
+    private static List<String> optionValues(int i) {
+        List<String> values = new ArrayList<>();
+        for (int k = 0; k < i % 3 + 1; k++) values.add("V" + i + "-" + k);
+        return values;
+    }
+
+    private static List<String> imageUrls(int i) {
+        List<String> urls = new ArrayList<>();
+        for (int k = 0; k < i % 2 + 1; k++) urls.add("/sub/" + i + "-" + k + ".jpg");
+        return urls;
+    }
+
+    private static String categoryCode(int i) {
+        return String.format("0001%04d", i);
+    }
+}
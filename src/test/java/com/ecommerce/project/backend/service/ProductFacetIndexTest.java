@@ -0,0 +1,95 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.dto.ProductDto;
+import com.ecommerce.project.backend.dto.ProductFacetResponseDto;
+import com.ecommerce.project.backend.dto.ProductOptionDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 변경 상품만 반영한 인덱스(withChanges)가 전체 재생성(of) 결과와 같은지 확인
+ */
+class ProductFacetIndexTest {
+
+    @Test
+    void incrementalChangesMatchFullRebuild() {
+        List<CatalogSnapshot.Entry> entries = new ArrayList<>();
+        for (long id = 10; id < 40; id++) {
+            entries.add(entry(id, 9_000 + id * 1_000, id % 3 == 0 ? "RED" : "BLUE", id % 2 == 0 ? "00010001" : "00010002"));
+        }
+        CatalogSnapshot before = CatalogSnapshot.of(1, entries);
+        ProductFacetIndex index = ProductFacetIndex.of(before);
+        ProductFacetResponseDto beforeResult = index.query("0001", Map.of(), null, 100);
+
+        // 가격/색상/카테고리 변경 2건, 삭제 1건, 기존보다 작은 ID 로 추가 1건
+        List<CatalogSnapshot.Entry> upserts = List.of(
+                entry(12L, 120_000, "GREEN", "00010002"),
+                entry(15L, 5_000, "RED", "00010003"),
+                entry(3L, 25_000, "BLUE", "00010001"));
+        CatalogSnapshot after = before.withChanges(2, upserts, List.of(20L));
+        Set<Long> changed = Set.of(12L, 15L, 3L, 20L);
+
+        ProductFacetIndex incremental = index.withChanges(after, changed);
+        ProductFacetIndex rebuilt = ProductFacetIndex.of(after);
+
+        List<Map<String, Set<String>>> filterCases = List.of(
+                Map.of(),
+                Map.of(ProductFacetIndex.COLOR, Set.of("red")),
+                Map.of(ProductFacetIndex.PRICE, Set.of("10000-30000", "100000-")),
+                Map.of(ProductFacetIndex.SUB_CATEGORY, Set.of("00010001"), ProductFacetIndex.COLOR, Set.of("BLUE")));
+        for (Map<String, Set<String>> filters : filterCases) {
+            for (String category : Arrays.asList(null, "0001", "00010003")) {
+                assertSameResult(incremental.query(category, filters, null, 7), rebuilt.query(category, filters, null, 7));
+                assertSameResult(incremental.query(category, filters, 14L, 5), rebuilt.query(category, filters, 14L, 5));
+            }
+        }
+
+        // 이전 인덱스는 그대로 (공유 비트맵을 고치지 않음)
+        assertSameResult(index.query("0001", Map.of(), null, 100), beforeResult);
+    }
+
+    @Test
+    void freedSlotIsReusedByNextAddition() {
+        CatalogSnapshot first = CatalogSnapshot.of(1, List.of(
+                entry(1L, 10_000, "RED", "0001"),
+                entry(2L, 20_000, "RED", "0001")));
+        ProductFacetIndex index = ProductFacetIndex.of(first);
+
+        CatalogSnapshot second = first.withChanges(2, List.of(), List.of(1L));
+        CatalogSnapshot third = second.withChanges(3, List.of(entry(5L, 60_000, "BLACK", "0002")), List.of());
+        ProductFacetIndex incremental = index.withChanges(second, Set.of(1L)).withChanges(third, Set.of(5L));
+
+        assertSameResult(incremental.query(null, Map.of(), null, 10), ProductFacetIndex.of(third).query(null, Map.of(), null, 10));
+        assertThat(incremental.query("0001", Map.of(), null, 10).getFacets().get(ProductFacetIndex.COLOR))
+                .containsOnlyKeys("BLACK", "RED");
+    }
+
+    private static void assertSameResult(ProductFacetResponseDto actual, ProductFacetResponseDto expected) {
+        assertThat(actual.getTotal()).isEqualTo(expected.getTotal());
+        assertThat(ids(actual)).isEqualTo(ids(expected));
+        assertThat(actual.getProducts().getNextCursor()).isEqualTo(expected.getProducts().getNextCursor());
+        assertThat(actual.getFacets()).isEqualTo(expected.getFacets());
+    }
+
+    private static List<Long> ids(ProductFacetResponseDto result) {
+        return result.getProducts().getItems().stream().map(ProductDto::getProductId).toList();
+    }
+
+    private static CatalogSnapshot.Entry entry(long productId, long price, String color, String categoryCode) {
+        ProductDto product = ProductDto.builder()
+                .productId(productId)
+                .productName("상품 " + productId)
+                .sellPrice(BigDecimal.valueOf(price))
+                .productStatus(productId % 4 == 0 ? 2 : 1)
+                .options(List.of(ProductOptionDto.builder()
+                        .optionId(productId * 10).productId(productId)
+                        .isShow(true).colorCode(color)
+                        .build()))
+                .build();
+        return new CatalogSnapshot.Entry(product, List.of(categoryCode), List.of());
+    }
+}
@@ -0,0 +1,147 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.config.MusinsaConfig;
+import com.ecommerce.project.backend.domain.Product;
+import com.ecommerce.project.backend.domain.ProductLike;
+import com.ecommerce.project.backend.domain.ProductOption;
+import com.ecommerce.project.backend.dto.CursorPageDto;
+import com.ecommerce.project.backend.dto.LikedProductDto;
+import com.ecommerce.project.backend.dto.ProductDto;
+import com.ecommerce.project.backend.repository.ProductLikeRepository;
+import com.ecommerce.project.backend.repository.ProductOptionRepository;
+import com.ecommerce.project.backend.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * 내 좋아요 목록이 실제로 보내는 SQL 수가 좋아요 개수와 무관하게 고정인지 확인 (MySQL + Hibernate Statistics)
+ * - 이전 구현은 좋아요 1건마다 findById + countByProductId (좋아요 60건이면 120번 이상)
+ */
+@Import({ProductLikeService.class, ProductBatchLoader.class})
+class ProductLikeServiceQueryCountTest extends MySqlDataJpaTest {
+
+    private static final long MEMBER_ID = 7L;
+
+    @Autowired
+    private ProductLikeService likeService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductOptionRepository optionRepository;
+    @Autowired
+    private ProductLikeRepository likeRepository;
+
+    @MockitoBean
+    private MusinsaConfig musinsaConfig;
+    @MockitoBean
+    private ProductStatsService productStatsService;
+
+    @BeforeEach
+    void setUp() {
+        when(musinsaConfig.getImageBaseUrl()).thenReturn("https://image.msscdn.net");
+        when(productStatsService.getLikeCount(anyLong())).thenReturn(3L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        likeRepository.deleteAllInBatch();
+        optionRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 60})
+    void fullListSendsFiveStatementsForAnyLikeCount(int likes) {
+        likeProducts(likes);
+        statistics().clear();
+
+        List<ProductDto> result = likeService.getMyLikeProducts(MEMBER_ID);
+
+        assertThat(result).hasSize(likes);
+        assertThat(result).allMatch(ProductDto::getUserLiked);
+        assertThat(result).allSatisfy(p -> assertThat(p.getOptions()).hasSize(1));
+        // 좋아요 / 상품 IN / 옵션 IN / 이미지 IN / 카테고리 링크 IN
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(5);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 60})
+    void pageSendsOneJoinStatementForAnyLikeCount(int likes) {
+        likeProducts(likes);
+        statistics().clear();
+
+        CursorPageDto<LikedProductDto> page = likeService.getMyLikeProductsPage(MEMBER_ID, null, 20);
+
+        assertThat(page.getItems()).hasSize(Math.min(likes, 20));
+        assertThat(page.isHasNext()).isEqualTo(likes > 20);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void pageIsNewestFirstWithLikeIdCursor() {
+        List<Long> likeIds = likeProducts(30);
+
+        CursorPageDto<LikedProductDto> first = likeService.getMyLikeProductsPage(MEMBER_ID, null, 20);
+
+        LikedProductDto top = first.getItems().get(0);
+        assertThat(top.getLikeId()).isEqualTo(likeIds.get(29));
+        assertThat(top.getLikeCount()).isEqualTo(3L);
+        assertThat(top.getMainImg()).startsWith("https://image.msscdn.net/main/");
+        assertThat(first.getNextCursor()).isEqualTo(likeIds.get(10));
+
+        List<Long> rest = new ArrayList<>(likeIds.subList(0, 10));
+        Collections.reverse(rest);
+
+        CursorPageDto<LikedProductDto> second = likeService.getMyLikeProductsPage(MEMBER_ID, first.getNextCursor(), 20);
+        assertThat(second.getItems()).extracting(LikedProductDto::getLikeId).containsExactlyElementsOf(rest);
+        assertThat(second.isHasNext()).isFalse();
+    }
+
+    /** 옵션 1개짜리 상품 count 개를 만들고 모두 좋아요 (likeId 오름차순으로 반환) */
+    private List<Long> likeProducts(int count) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product p = Product.builder()
+                    .productName("상품 " + i)
+                    .consumerPrice(BigDecimal.valueOf(39000))
+                    .sellPrice(BigDecimal.valueOf(29000))
+                    .stock(10)
+                    .isOption(true)
+                    .mainImg("/main/" + i + ".jpg")
+                    .productStatus(10)
+                    .isShow(true)
+                    .build();
+            p.getProductOptions().add(ProductOption.builder()
+                    .product(p).optionType("C")
+                    .optionTitle("색상").optionValue("Black")
+                    .stock(10).isShow(true)
+                    .build());
+            products.add(p);
+        }
+        productRepository.saveAll(products);
+
+        List<Long> likeIds = new ArrayList<>();
+        for (Product p : products) {
+            likeIds.add(likeRepository.save(ProductLike.builder()
+                    .memberId(MEMBER_ID)
+                    .productId(p.getProductId())
+                    .build()).getLikeId());
+        }
+        return likeIds;
+    }
+}
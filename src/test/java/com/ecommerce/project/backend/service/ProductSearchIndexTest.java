@@ -0,0 +1,79 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.dto.ProductDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 검색 인덱스의 빈 검색어 / 상품 ID 커서 / 카테고리명 변경 반영 확인
+ */
+class ProductSearchIndexTest {
+
+    private static final Map<String, String> TITLES = Map.of(
+            "0001", "상의",
+            "00010001", "반소매 티셔츠",
+            "0002", "하의");
+
+    private final CatalogSnapshot snapshot = CatalogSnapshot.of(1, List.of(
+            entry(1L, "오버핏티셔츠", "00010001"),
+            entry(2L, "티셔츠 세트", "0001"),
+            entry(3L, "데님 팬츠", "0002"),
+            entry(4L, "베이직티셔츠", "00010001")));
+
+    @Test
+    void blankKeywordReturnsEveryProductInIdOrder() {
+        ProductSearchIndex index = ProductSearchIndex.of(snapshot, TITLES);
+
+        assertThat(index.search("")).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(index.search("  ")).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(index.search("!!")).isEmpty();
+    }
+
+    @Test
+    void productIdCursorResolvesToItsCurrentRank() {
+        ProductSearchIndex index = ProductSearchIndex.of(snapshot, TITLES);
+        long[] keys = index.rankKeys("티셔츠");
+
+        // "티셔츠 세트" 만 단어가 검색어로 시작해서 1위, 나머지는 포함 점수로 상품 ID 순
+        assertThat(index.search("티셔츠")).containsExactly(2L, 1L, 4L);
+        for (long key : keys) {
+            assertThat(index.rankKeyOf("티셔츠", ProductSearchIndex.productIdOf(key))).isEqualTo(key);
+        }
+        assertThat(index.rankKeyOf("티셔츠", 3L)).isEqualTo(-1);
+        assertThat(index.rankKeyOf("", 3L)).isEqualTo(3L);
+    }
+
+    @Test
+    void renamedCategoryReindexesOnlyItsProducts() {
+        ProductSearchIndex index = ProductSearchIndex.of(snapshot, TITLES);
+        assertThat(index.search("반소매")).containsExactly(1L, 4L);
+
+        Map<String, String> renamed = Map.of(
+                "0001", "상의",
+                "00010001", "숏슬리브",
+                "0002", "하의");
+        ProductSearchIndex updated = index.withCategoryTitles(renamed, Set.of("00010001"));
+
+        assertThat(updated.search("반소매")).isEmpty();
+        assertThat(updated.search("숏슬리브")).containsExactly(1L, 4L);
+        // 상위 카테고리명은 그대로
+        assertThat(updated.search("상의")).containsExactly(1L, 2L, 4L);
+        assertThat(index.search("반소매")).containsExactly(1L, 4L);
+    }
+
+    private static CatalogSnapshot.Entry entry(long productId, String name, String categoryCode) {
+        ProductDto product = ProductDto.builder()
+                .productId(productId)
+                .productName(name)
+                .sellPrice(BigDecimal.valueOf(19000))
+                .options(List.of())
+                .build();
+        return new CatalogSnapshot.Entry(product, List.of(categoryCode), List.of());
+    }
+}
@@ -0,0 +1,138 @@
+package com.ecommerce.project.backend.service;
+
+import com.ecommerce.project.backend.domain.Product;
+import com.ecommerce.project.backend.domain.ProductOption;
+import com.ecommerce.project.backend.repository.OrderBatchRepository;
+import com.ecommerce.project.backend.repository.ProductOptionRepository;
+import com.ecommerce.project.backend.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 재고보다 많은 차감이 동시에 들어와도 초과 판매가 없는지 확인 (MySQL)
+ * - 실제 조건부 UPDATE (stock = stock - ? WHERE ... AND stock >= ?) 를 여러 스레드가 동시에 실행
+ * - 정확히 STOCK 번만 성공하고 재고는 0 에서 멈춰야 함
+ */
+@Import({OrderBatchRepository.class, StockService.class})
+class StockOversellTest extends MySqlDataJpaTest {
+
+    private static final int STOCK = 10;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 4;
+
+    @Autowired
+    private OrderBatchRepository orderBatchRepository;
+    @Autowired
+    private StockService stockService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductOptionRepository optionRepository;
+
+    @AfterEach
+    void tearDown() {
+        optionRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void concurrentOptionDecrementsNeverOversell() throws Exception {
+        Product product = productRepository.save(product(true));
+        ProductOption option = optionRepository.save(ProductOption.builder()
+                .product(product).optionType("N")
+                .optionTitle("사이즈").optionValue("M")
+                .stock(STOCK).isShow(true)
+                .build());
+
+        Result result = hammer(() -> {
+            if (!orderBatchRepository.decreaseOptionStocks(Map.of(option.getOptionId(), 1))) {
+                throw new RuntimeException("옵션 재고 부족");
+            }
+        });
+
+        assertThat(result.succeeded()).isEqualTo(STOCK);
+        assertThat(result.failed()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD - STOCK);
+        assertThat(optionRepository.findById(option.getOptionId()).orElseThrow().getStock()).isZero();
+    }
+
+    @Test
+    void concurrentProductDecrementsNeverOversell() throws Exception {
+        Product product = productRepository.save(product(false));
+
+        Result result = hammer(() -> {
+            if (!orderBatchRepository.decreaseProductStocks(Map.of(product.getProductId(), 1))) {
+                throw new RuntimeException("상품 재고 부족");
+            }
+        });
+
+        assertThat(result.succeeded()).isEqualTo(STOCK);
+        assertThat(productRepository.findById(product.getProductId()).orElseThrow().getStock()).isZero();
+    }
+
+    @Test
+    void concurrentStockApiDecrementsNeverOversell() throws Exception {
+        Product product = productRepository.save(product(false));
+
+        Result result = hammer(() -> stockService.decreaseStock(product.getProductId(), 1));
+
+        assertThat(result.succeeded()).isEqualTo(STOCK);
+        assertThat(productRepository.findById(product.getProductId()).orElseThrow().getStock()).isZero();
+    }
+
+    private static Product product(boolean isOption) {
+        return Product.builder()
+                .productName("한정 상품")
+                .consumerPrice(BigDecimal.valueOf(49000))
+                .sellPrice(BigDecimal.valueOf(39000))
+                .stock(STOCK)
+                .isOption(isOption)
+                .mainImg("/main/limited.jpg")
+                .productStatus(10)
+                .isShow(true)
+                .build();
+    }
+
+    /** THREADS 개 스레드가 동시에 시작해 각자 ATTEMPTS_PER_THREAD 번 실행 */
+    private Result hammer(Runnable op) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        op.run();
+                        succeeded.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> f : futures) f.get(120, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        return new Result(succeeded.get(), failed.get());
+    }
+
+    private record Result(int succeeded, int failed) {
+    }
+}